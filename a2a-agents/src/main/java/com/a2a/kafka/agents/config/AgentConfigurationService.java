@@ -3,6 +3,9 @@ package com.a2a.kafka.agents.config;
 import com.a2a.kafka.core.config.A2ASystemProperties;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Service
 public class AgentConfigurationService {
 
@@ -35,4 +38,17 @@ public class AgentConfigurationService {
     public int llmMaxConcurrent() {
         return properties.getAgents().getLlm().getMaxConcurrent();
     }
+
+    /**
+     * @return the {@code max-concurrent} of every enabled agent, keyed by agent name
+     */
+    public Map<String, Integer> maxConcurrentByAgent() {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        properties.getAgents().byName().forEach((agent, settings) -> {
+            if (settings.isEnabled()) {
+                limits.put(agent, settings.getMaxConcurrent());
+            }
+        });
+        return limits;
+    }
 }
@@ -0,0 +1,56 @@
+package com.a2a.kafka.agents.core;
+
+/**
+ * Caps retries at a fraction of the calls they retry. Each first attempt deposits {@code percent / 100} of a
+ * retry, and each retry withdraws a whole one; the balance starts at, and never exceeds, {@code reserve}.
+ * While a dependency fails outright, retries therefore add at most {@code percent} to its load after the
+ * reserve is spent, instead of multiplying it by the attempt count.
+ */
+public final class RetryBudget {
+
+    // In hundredths of a retry, so that deposits add up exactly
+    private final long depositPerCall;
+    private final long capacity;
+    private long balance;
+
+    /**
+     * @param percent retries allowed per 100 calls, 0 to 100
+     * @param reserve at least 1; retries available before any call has been made, and the most that can be saved up
+     */
+    public RetryBudget(int percent, int reserve) {
+        if (percent < 0 || percent > 100) {
+            throw new IllegalArgumentException("percent must be between 0 and 100");
+        }
+        if (reserve < 1) {
+            throw new IllegalArgumentException("reserve must be at least 1");
+        }
+        this.depositPerCall = percent;
+        this.capacity = reserve * 100L;
+        this.balance = capacity;
+    }
+
+    /**
+     * Records a first attempt.
+     */
+    public synchronized void called() {
+        balance = Math.min(capacity, balance + depositPerCall);
+    }
+
+    /**
+     * @return whether a retry may be made; if so, it is withdrawn
+     */
+    public synchronized boolean tryRetry() {
+        if (balance < 100) {
+            return false;
+        }
+        balance -= 100;
+        return true;
+    }
+
+    /**
+     * @return whole retries currently available
+     */
+    public synchronized long available() {
+        return balance / 100;
+    }
+}
@@ -2,9 +2,18 @@ package com.a2a.kafka.agents.core;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 public final class RetryUtils {
@@ -12,6 +21,35 @@ public final class RetryUtils {
 
     private RetryUtils() {}
 
+    /**
+     * Exponential backoff with full jitter: the delay before retry {@code n} is drawn uniformly from
+     * {@code [0, min(max, initial * multiplier^(n-1))]}, so callers that failed together do not retry together.
+     */
+    public record Backoff(Duration initial, Duration max, double multiplier) {
+
+        public Backoff {
+            if (initial == null || initial.isNegative() || initial.isZero()) {
+                initial = Duration.ofMillis(100);
+            }
+            if (max == null || max.compareTo(initial) < 0) {
+                max = initial;
+            }
+            if (multiplier < 1.0) multiplier = 1.0;
+        }
+
+        /**
+         * @param retry  1 for the first retry
+         * @param random uniform in {@code [0, 1)}
+         */
+        public long delayMillis(int retry, double random) {
+            double ceiling = Math.min(max.toMillis(), initial.toMillis() * Math.pow(multiplier, retry - 1));
+            return (long) (ceiling * random);
+        }
+    }
+
+    /**
+     * Blocks the calling thread between attempts; prefer {@link #runWithRetryAsync} on listener threads.
+     */
     public static <T> T runWithRetry(Supplier<T> supplier, int maxAttempts, Duration initialBackoff, double multiplier) {
         Objects.requireNonNull(supplier, "supplier");
         if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be >= 1");
@@ -48,4 +86,75 @@ public final class RetryUtils {
     public static void runWithRetry(Runnable runnable, int maxAttempts, Duration initialBackoff, double multiplier) {
         runWithRetry(() -> { runnable.run(); return null; }, maxAttempts, initialBackoff, multiplier);
     }
+
+    /**
+     * Runs {@code supplier} on {@code executor}, retrying failures that {@link #isRetryable} accepts. The wait
+     * before a retry is scheduled on the shared timer of {@link CompletableFuture#delayedExecutor}, so no thread
+     * sleeps while it elapses. Each call counts against {@code budget}, and a retry is only made if the budget
+     * allows it.
+     *
+     * @return completes with the first successful result; otherwise exceptionally with the fatal failure, or
+     * with a {@link RuntimeException} wrapping the last failure once attempts or budget run out
+     */
+    public static <T> CompletableFuture<T> runWithRetryAsync(Supplier<T> supplier, int maxAttempts, Backoff backoff,
+                                                             RetryBudget budget, Executor executor) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(backoff, "backoff");
+        Objects.requireNonNull(budget, "budget");
+        Objects.requireNonNull(executor, "executor");
+        if (maxAttempts < 1) throw new IllegalArgumentException("maxAttempts must be >= 1");
+
+        budget.called();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(supplier, 1, maxAttempts, backoff, budget, executor, executor, result);
+        return result;
+    }
+
+    private static <T> void attempt(Supplier<T> supplier, int attempt, int maxAttempts, Backoff backoff,
+                                    RetryBudget budget, Executor runOn, Executor executor, CompletableFuture<T> result) {
+        Executor guarded = task -> {
+            try {
+                runOn.execute(task);
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        CompletableFuture.supplyAsync(supplier, guarded).whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            if (!isRetryable(cause)) {
+                result.completeExceptionally(cause);
+            } else if (attempt >= maxAttempts) {
+                result.completeExceptionally(new RuntimeException("All retry attempts failed", cause));
+            } else if (!budget.tryRetry()) {
+                result.completeExceptionally(new RuntimeException("Retry budget exhausted", cause));
+            } else {
+                long delay = backoff.delayMillis(attempt, ThreadLocalRandom.current().nextDouble());
+                log.warn("Retry attempt {}/{} failed: {}; retrying in {} ms", attempt, maxAttempts, cause.toString(), delay);
+                attempt(supplier, attempt + 1, maxAttempts, backoff, budget,
+                        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor), executor, result);
+            }
+        });
+    }
+
+    /**
+     * Classifies a failure by the Spring AI exception types: {@link TransientAiException} (server errors) and
+     * I/O failures reaching the model are retryable; {@link NonTransientAiException} (client errors) and
+     * anything else is fatal.
+     */
+    public static boolean isRetryable(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof NonTransientAiException) {
+                return false;
+            }
+            if (t instanceof TransientAiException || t instanceof ResourceAccessException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,91 @@
+package com.a2a.kafka.agents.dispatch;
+
+import com.a2a.kafka.agents.gp.GeneralPurposeAgent;
+import com.a2a.kafka.agents.summarizer.SummarizerAgent;
+import com.a2a.kafka.agents.translator.TranslatorAgent;
+import com.a2a.kafka.core.payload.SummarizationRequest;
+import com.a2a.kafka.core.payload.TextPayload;
+import com.a2a.kafka.core.payload.TranslationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Builds the task dispatch table from the agent beans that are present: {@code translator/translate},
+ * {@code summarizer/summarize} and {@code llm/respond}. Requests may be the typed payload records or
+ * plain maps with the same property names. Handlers return the agents' asynchronous results, so no task
+ * thread waits on the model or on its retries.
+ */
+@Configuration
+public class AgentDispatchConfig {
+
+    public static final String TRANSLATE = "translate";
+    public static final String SUMMARIZE = "summarize";
+    public static final String RESPOND = "respond";
+
+    private static final Logger log = LoggerFactory.getLogger(AgentDispatchConfig.class);
+
+    @Bean
+    public TaskDispatcher a2aTaskDispatcher(ObjectProvider<TranslatorAgent> translator,
+                                            ObjectProvider<SummarizerAgent> summarizer,
+                                            ObjectProvider<GeneralPurposeAgent> generalPurpose) {
+        TaskDispatcher.Builder builder = TaskDispatcher.builder();
+        translator.ifAvailable(agent -> translatorRoutes(builder, agent));
+        summarizer.ifAvailable(agent -> summarizerRoutes(builder, agent));
+        generalPurpose.ifAvailable(agent -> generalPurposeRoutes(builder, agent));
+        TaskDispatcher dispatcher = builder.build();
+        log.info("Task dispatch routes: {}", dispatcher.getRoutes());
+        return dispatcher;
+    }
+
+    static void translatorRoutes(TaskDispatcher.Builder builder, TranslatorAgent agent) {
+        builder.route(agent.getAgentName(), TRANSLATE, task -> {
+            if (task.getPayload() instanceof TranslationRequest request) {
+                return agent.translateAsync(request.text(), request.targetLanguage());
+            }
+            Map<?, ?> request = mapPayload(task.getPayload());
+            return agent.translateAsync(string(request, "text"), string(request, "target_language"));
+        });
+    }
+
+    static void summarizerRoutes(TaskDispatcher.Builder builder, SummarizerAgent agent) {
+        builder.route(agent.getAgentName(), SUMMARIZE, task -> {
+            if (task.getPayload() instanceof SummarizationRequest request) {
+                return agent.summarizeAsync(request.text(), request.lengthHint());
+            }
+            Map<?, ?> request = mapPayload(task.getPayload());
+            return agent.summarizeAsync(string(request, "text"), string(request, "length_hint"));
+        });
+    }
+
+    static void generalPurposeRoutes(TaskDispatcher.Builder builder, GeneralPurposeAgent agent) {
+        builder.route(agent.getAgentName(), RESPOND, task -> {
+            if (task.getPayload() instanceof TextPayload text) {
+                return agent.respondAsync(text.content(), null, null);
+            }
+            Map<?, ?> request = mapPayload(task.getPayload());
+            Object maxTokens = request.get("max_tokens");
+            Object temperature = request.get("temperature");
+            return agent.respondAsync(string(request, "text"),
+                    maxTokens instanceof Number n ? n.intValue() : null,
+                    temperature instanceof Number n ? n.doubleValue() : null);
+        });
+    }
+
+    private static Map<?, ?> mapPayload(Object payload) {
+        if (payload instanceof Map<?, ?> map) {
+            return map;
+        }
+        throw new IllegalArgumentException("Unsupported request payload: "
+                + (payload != null ? payload.getClass().getSimpleName() : "null"));
+    }
+
+    private static String string(Map<?, ?> request, String name) {
+        Object value = request.get(name);
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.a2a.kafka.agents.dispatch;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable dispatch table from a command's {@code to} and {@code method} to the agent handler serving it,
+ * built once at startup. Finding the handler for a task is a single hash lookup.
+ */
+public final class TaskDispatcher {
+
+    /**
+     * Key of the table; a record so that lookups need no string concatenation.
+     */
+    record Route(String to, String method) {
+    }
+
+    private final Map<Route, TaskHandler> handlers;
+
+    private TaskDispatcher(Map<Route, TaskHandler> handlers) {
+        this.handlers = Map.copyOf(handlers);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the handler for the command's target and method, or null if none is registered
+     */
+    public TaskHandler handlerFor(A2AMessageEnvelope task) {
+        return handlerFor(task.getTo(), task.getMethod());
+    }
+
+    public TaskHandler handlerFor(String to, String method) {
+        if (to == null || method == null) {
+            return null;
+        }
+        return handlers.get(new Route(to, method));
+    }
+
+    /**
+     * @return the registered routes, as {@code to/method}
+     */
+    public Set<String> getRoutes() {
+        Set<String> routes = new TreeSet<>();
+        for (Route route : handlers.keySet()) {
+            routes.add(route.to() + "/" + route.method());
+        }
+        return routes;
+    }
+
+    public static final class Builder {
+        private final Map<Route, TaskHandler> handlers = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @throws IllegalStateException if the route is already registered
+         */
+        public Builder route(String to, String method, TaskHandler handler) {
+            if (handlers.putIfAbsent(new Route(to, method), handler) != null) {
+                throw new IllegalStateException("Duplicate task route " + to + "/" + method);
+            }
+            return this;
+        }
+
+        public TaskDispatcher build() {
+            return new TaskDispatcher(handlers);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.a2a.kafka.agents.dispatch;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+/**
+ * Handles one task command addressed to an agent method.
+ */
+@FunctionalInterface
+public interface TaskHandler {
+
+    /**
+     * @param task the command
+     * @return the result, sent back as a success reply payload; a {@link java.util.concurrent.CompletionStage}
+     * is awaited without blocking and the reply is sent when it completes
+     * @throws IllegalArgumentException if the task payload is not a valid request for the method
+     */
+    Object handle(A2AMessageEnvelope task) throws Exception;
+}
@@ -8,6 +8,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class GeneralPurposeAgent extends AbstractBaseAgent {
 
@@ -33,21 +34,29 @@ public class GeneralPurposeAgent extends AbstractBaseAgent {
     }
 
     public String respond(String text) {
-        String cleaned = sanitize(text);
-        if (cleaned.isBlank()) {
-            throw new IllegalArgumentException("text must not be blank");
-        }
-        String safe = applySafetyFilter(cleaned);
-        return chat.chat("general", Map.of("text", safe));
+        return chat.chat("general", Map.of("text", safeText(text)));
     }
 
     public String respond(String text, Integer maxTokensOverride, Double temperatureOverride) {
+        return chat.chat("general", Map.of("text", safeText(text)), null, temperatureOverride, maxTokensOverride);
+    }
+
+    /**
+     * Like {@link #respond(String, Integer, Double)}, without blocking on the model call; null overrides use
+     * the defaults.
+     *
+     * @throws IllegalArgumentException if the text is blank
+     */
+    public CompletableFuture<String> respondAsync(String text, Integer maxTokensOverride, Double temperatureOverride) {
+        return chat.chatAsync("general", Map.of("text", safeText(text)), null, temperatureOverride, maxTokensOverride);
+    }
+
+    private String safeText(String text) {
         String cleaned = sanitize(text);
         if (cleaned.isBlank()) {
             throw new IllegalArgumentException("text must not be blank");
         }
-        String safe = applySafetyFilter(cleaned);
-        return chat.chat("general", Map.of("text", safe), null, temperatureOverride, maxTokensOverride);
+        return applySafetyFilter(cleaned);
     }
 
     private String sanitize(String text) {
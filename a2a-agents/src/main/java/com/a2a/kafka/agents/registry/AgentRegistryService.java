@@ -1,9 +1,11 @@
 package com.a2a.kafka.agents.registry;
 
+import com.a2a.kafka.core.batch.EnvelopeBatcher;
 import com.a2a.kafka.core.builder.A2AMessageBuilder;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
@@ -19,9 +21,11 @@ public class AgentRegistryService {
     private static final Logger log = LoggerFactory.getLogger(AgentRegistryService.class);
 
     private final StreamBridge streamBridge;
+    private final ObjectProvider<EnvelopeBatcher> registryBatcher;
 
-    public AgentRegistryService(StreamBridge streamBridge) {
+    public AgentRegistryService(StreamBridge streamBridge, ObjectProvider<EnvelopeBatcher> registryBatcher) {
         this.streamBridge = streamBridge;
+        this.registryBatcher = registryBatcher;
     }
 
     public void publishMetadata(String agentName, Map<String, Object> metadata) {
@@ -32,12 +36,22 @@ public class AgentRegistryService {
                 .event("registry", payload)
                 .build();
 
+        EnvelopeBatcher batcher = registryBatcher.getIfAvailable();
+        if (batcher != null) {
+            try {
+                batcher.add(agentName, envelope);
+            } catch (Exception ex) {
+                log.warn("Failed to batch registry metadata for agent {}: {}", agentName, ex.toString());
+            }
+            return;
+        }
+
         Message<A2AMessageEnvelope> message = MessageBuilder.withPayload(envelope)
                 .setHeader("contentType", "application/json")
                 .setHeader("kafka_messageKey", agentName.getBytes(StandardCharsets.UTF_8))
                 .build();
         try {
-            boolean sent = streamBridge.send("registryUpdates-out-0", message);
+            boolean sent = streamBridge.send(RegistryProcessorsConfig.REGISTRY_OUTPUT_BINDING, message);
             if (!sent) {
                 log.warn("Failed to send registry metadata for agent {} (send returned false)", agentName);
             }
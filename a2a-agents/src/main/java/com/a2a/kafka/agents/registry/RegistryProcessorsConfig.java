@@ -1,11 +1,25 @@
 package com.a2a.kafka.agents.registry;
 
+import com.a2a.kafka.core.batch.EnvelopeBatcher;
+import com.a2a.kafka.core.config.A2ASystemProperties;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.validation.ValidationPipeline;
+import com.a2a.kafka.core.validation.ValidationPipelines;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.header.Header;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -15,10 +29,46 @@ public class RegistryProcessorsConfig {
 
     private static final Logger log = LoggerFactory.getLogger(RegistryProcessorsConfig.class);
 
+    static final String REGISTRY_INPUT_BINDING = "registryUpdates-in-0";
+    static final String REGISTRY_OUTPUT_BINDING = "registryUpdates-out-0";
+
     private final AgentRegistryRepository repository;
+    private final ValidationPipeline validation;
 
-    public RegistryProcessorsConfig(AgentRegistryRepository repository) {
+    public RegistryProcessorsConfig(AgentRegistryRepository repository,
+                                    ObjectProvider<ValidationPipelines> validationPipelines) {
         this.repository = repository;
+        ValidationPipelines pipelines = validationPipelines.getIfAvailable();
+        this.validation = pipelines != null ? pipelines.forBinding(REGISTRY_INPUT_BINDING) : ValidationPipeline.NONE;
+    }
+
+    /**
+     * Packs registry updates into batch records when {@code a2a.batching.enabled} is set.
+     * Updates are batched per agent and keyed by the agent name, as unbatched updates are, so that the
+     * updates of one agent stay in order on one partition.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "a2a.batching", name = "enabled", havingValue = "true")
+    public EnvelopeBatcher registryEnvelopeBatcher(A2ASystemProperties properties, A2AEnvelopeMessageConverter converter,
+                                                   StreamBridge streamBridge,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        A2ASystemProperties.BatchingConfiguration batching = properties.getBatching();
+        EnvelopeBatcher batcher = new EnvelopeBatcher(converter::serialize, (key, value, headers) -> {
+            MessageBuilder<byte[]> builder = MessageBuilder.withPayload(value)
+                    .setHeader(KafkaHeaders.KEY, key.getBytes(StandardCharsets.UTF_8));
+            for (Header header : headers) {
+                builder.setHeader(header.key(), header.value());
+            }
+            if (!streamBridge.send(REGISTRY_OUTPUT_BINDING, builder.build())) {
+                throw new IllegalStateException("Failed to send registry batch for agent " + key
+                        + " (send returned false)");
+            }
+        }, batching.getMaxCount(), batching.getMaxBytes(), batching.getLinger());
+        meterRegistry.ifAvailable(registry ->
+                FunctionCounter.builder("a2a.batching.failed", batcher, EnvelopeBatcher::getFailedSends)
+                        .description("Registry updates lost because their batch failed to send after the linger time")
+                        .register(registry));
+        return batcher;
     }
 
     @Bean
@@ -27,6 +77,9 @@ public class RegistryProcessorsConfig {
             if (envelope == null || envelope.getPayload() == null) {
                 return;
             }
+            if (!validation.validate(envelope).isValid()) {
+                return;
+            }
             try {
                 Object payloadObj = envelope.getPayload();
                 if (payloadObj instanceof Map<?, ?> map) {
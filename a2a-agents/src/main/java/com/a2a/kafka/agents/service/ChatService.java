@@ -1,5 +1,6 @@
 package com.a2a.kafka.agents.service;
 
+import com.a2a.kafka.agents.core.RetryBudget;
 import com.a2a.kafka.agents.core.RetryUtils;
 import com.a2a.kafka.core.config.OpenAIProperties;
 import org.slf4j.Logger;
@@ -8,23 +9,35 @@ import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class ChatService implements ChatServiceClient {
+public class ChatService implements ChatServiceClient, AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(ChatService.class);
 
     private final ChatClient chatClient;
     private final PromptTemplateService templates;
     private final OpenAIProperties openAIProperties;
+    private final RetryUtils.Backoff backoff;
+    // One budget per prompt template, which is one per agent
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
+    // Model calls block on HTTP; virtual threads keep that off the listener threads
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     public ChatService(ChatClient chatClient, PromptTemplateService templates, OpenAIProperties openAIProperties) {
         this.chatClient = chatClient;
         this.templates = templates;
         this.openAIProperties = openAIProperties;
+        this.backoff = new RetryUtils.Backoff(openAIProperties.getRetryInitialBackoff(),
+                openAIProperties.getRetryMaxBackoff(), openAIProperties.getRetryMultiplier());
     }
 
     @Override
@@ -34,6 +47,23 @@ public class ChatService implements ChatServiceClient {
 
     @Override
     public String chat(String templateName, Map<String, Object> variables, String modelOverride, Double temperatureOverride, Integer maxTokensOverride) {
+        try {
+            return chatAsync(templateName, variables, modelOverride, temperatureOverride, maxTokensOverride).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Calls the model on a virtual thread. Retries wait on a timer rather than a sleeping thread, with
+     * full-jitter exponential backoff, and are capped by the retry budget of the template.
+     */
+    @Override
+    public CompletableFuture<String> chatAsync(String templateName, Map<String, Object> variables, String modelOverride,
+                                               Double temperatureOverride, Integer maxTokensOverride) {
         Objects.requireNonNull(templateName, "templateName");
         String prompt = templates.render(templateName, variables);
         prompt = truncateForTokenBudget(prompt, maxTokensOverride != null ? maxTokensOverride : openAIProperties.getMaxTokens());
@@ -53,10 +83,10 @@ public class ChatService implements ChatServiceClient {
         final String promptInput = prompt;
 
         int maxAttempts = Math.max(1, openAIProperties.getMaxRetries());
-        Duration initialBackoff = Duration.ofMillis(200);
-        double multiplier = 2.0;
+        RetryBudget budget = retryBudgets.computeIfAbsent(templateName, name -> new RetryBudget(
+                openAIProperties.getRetryBudgetPercent(), openAIProperties.getRetryBudgetReserve()));
 
-        return RetryUtils.runWithRetry(() ->
+        return RetryUtils.runWithRetryAsync(() ->
                 chatClient
                         .prompt()
                         .user(promptInput)
@@ -64,11 +94,24 @@ public class ChatService implements ChatServiceClient {
                         .call()
                         .content(),
             maxAttempts,
-            initialBackoff,
-            multiplier
+            backoff,
+            budget,
+            executor
         );
     }
 
+    /**
+     * Stops accepting model calls and waits up to the model call timeout for the running ones, then
+     * interrupts them.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(openAIProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
     private String truncateForTokenBudget(String text, int maxTokens) {
         // Very naive heuristic: assume 4 chars per token; keep some margin for system overhead
         int approxMaxChars = Math.max(256, (int) (maxTokens * 4 * 0.9));
@@ -1,10 +1,30 @@
 package com.a2a.kafka.agents.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface ChatServiceClient {
     String chat(String templateName, Map<String, Object> variables);
 
     String chat(String templateName, Map<String, Object> variables,
                 String modelOverride, Double temperatureOverride, Integer maxTokensOverride);
+
+    default CompletableFuture<String> chatAsync(String templateName, Map<String, Object> variables) {
+        return chatAsync(templateName, variables, null, null, null);
+    }
+
+    /**
+     * Non-blocking variant of {@link #chat(String, Map, String, Double, Integer)}; the default runs it on the
+     * calling thread.
+     */
+    default CompletableFuture<String> chatAsync(String templateName, Map<String, Object> variables,
+                                                String modelOverride, Double temperatureOverride,
+                                                Integer maxTokensOverride) {
+        try {
+            return CompletableFuture.completedFuture(
+                    chat(templateName, variables, modelOverride, temperatureOverride, maxTokensOverride));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
 }
@@ -0,0 +1,227 @@
+package com.a2a.kafka.agents.stream;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Enforces each agent's {@code max-concurrent} limit on the tasks topic. Tasks are counted per agent from
+ * dispatch until their result is available. When an agent reaches its limit, the attached listener
+ * containers are paused; they are resumed once every agent that hit its limit has drained to its low-water
+ * mark, {@code resumePercent} of the limit. A paused container keeps polling without fetching records, so
+ * a slow LLM neither fills the heap with queued tasks nor exceeds {@code max.poll.interval.ms}.
+ *
+ * <p>Every partition of the tasks topic can carry commands for every agent, so pausing the partitions that
+ * feed one agent means pausing the whole container. Tasks already fetched still run; dispatching them through
+ * {@link #admit} queues those over the limit until a slot of their agent frees up, so the limit also holds for
+ * the records of a poll that were fetched before the pause, such as a whole batch in batch mode, without the
+ * listener thread ever waiting for a slot.
+ */
+public class BackpressureController {
+
+    private static final Logger log = LoggerFactory.getLogger(BackpressureController.class);
+
+    public static final String IN_FLIGHT_GAUGE = "a2a.agent.tasks.in-flight";
+
+    public static final String PAUSED_GAUGE = "a2a.tasks.paused";
+
+    public static final String QUEUED_GAUGE = "a2a.agent.tasks.queued";
+
+    /**
+     * What gets paused; normally a listener container.
+     */
+    public interface Valve {
+        void pause();
+
+        void resume();
+
+        static Valve of(MessageListenerContainer container) {
+            return new Valve() {
+                @Override
+                public void pause() {
+                    container.pause();
+                }
+
+                @Override
+                public void resume() {
+                    container.resume();
+                }
+            };
+        }
+
+        /**
+         * Shares a valve between several controllers: it stays paused while any of them has it paused.
+         * Each controller must pair its pause and resume calls.
+         */
+        static Valve shared(Valve valve) {
+            return new Valve() {
+                private int holds;
+
+                @Override
+                public synchronized void pause() {
+                    if (holds++ == 0) {
+                        valve.pause();
+                    }
+                }
+
+                @Override
+                public synchronized void resume() {
+                    if (holds > 0 && --holds == 0) {
+                        valve.resume();
+                    }
+                }
+            };
+        }
+    }
+
+    private final Map<String, Integer> limits;
+    private final Map<String, Integer> lowWaterMarks = new HashMap<>();
+    private final Map<String, Integer> inFlight = new HashMap<>();
+    private final Map<String, Queue<CompletableFuture<Void>>> queued = new HashMap<>();
+    private final Set<String> saturated = new HashSet<>();
+    private final List<Valve> valves = new CopyOnWriteArrayList<>();
+    private boolean paused;
+
+    /**
+     * @param limits        maximum concurrent tasks per agent name; other agents are not limited
+     * @param resumePercent low-water mark as a percentage of each limit
+     * @param meterRegistry registry for the in-flight and paused gauges, or null
+     */
+    public BackpressureController(Map<String, Integer> limits, int resumePercent, MeterRegistry meterRegistry) {
+        if (resumePercent < 0 || resumePercent > 100) {
+            throw new IllegalArgumentException("resumePercent must be between 0 and 100");
+        }
+        this.limits = Map.copyOf(limits);
+        this.limits.forEach((agent, limit) -> {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Concurrency limit of " + agent + " must be positive");
+            }
+            lowWaterMarks.put(agent, limit * resumePercent / 100);
+            inFlight.put(agent, 0);
+            queued.put(agent, new ArrayDeque<>());
+        });
+        if (meterRegistry != null) {
+            this.limits.keySet().forEach(agent -> {
+                Gauge.builder(IN_FLIGHT_GAUGE, this, c -> c.inFlight(agent))
+                        .description("Tasks dispatched to an agent whose result is not yet available")
+                        .tag("agent", agent)
+                        .register(meterRegistry);
+                Gauge.builder(QUEUED_GAUGE, this, c -> c.queued(agent))
+                        .description("Fetched tasks waiting for a free slot of their agent")
+                        .tag("agent", agent)
+                        .register(meterRegistry);
+            });
+            Gauge.builder(PAUSED_GAUGE, this, c -> c.isPaused() ? 1 : 0)
+                    .description("Whether task consumption is paused because an agent is at its concurrency limit")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Adds a valve to pause and resume; a valve attached while paused is paused at once.
+     */
+    public void attach(Valve valve) {
+        synchronized (this) {
+            valves.add(valve);
+            if (!paused) {
+                return;
+            }
+        }
+        valve.pause();
+    }
+
+    /**
+     * Counts a task dispatched to {@code agent}, pausing consumption if that reaches its limit.
+     */
+    public void started(String agent) {
+        Integer limit = limits.get(agent);
+        if (limit == null) {
+            return;
+        }
+        synchronized (this) {
+            int count = inFlight.merge(agent, 1, Integer::sum);
+            if (count < limit || !saturated.add(agent) || paused) {
+                return;
+            }
+            paused = true;
+            log.info("Agent {} reached its limit of {} concurrent tasks; pausing task consumption", agent, limit);
+            valves.forEach(Valve::pause);
+        }
+    }
+
+    /**
+     * Takes a slot of {@code agent} for a task without blocking. The returned future is already complete if the
+     * agent has a free slot, the task then being counted as {@link #started} counts it; otherwise the task is
+     * queued and the future completes, in dispatch order, once a finishing task hands its slot over. It is
+     * completed on the thread calling {@link #finished}, outside the controller's lock.
+     */
+    public CompletableFuture<Void> admit(String agent) {
+        Integer limit = limits.get(agent);
+        if (limit == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (this) {
+            if (inFlight.get(agent) < limit) {
+                started(agent);
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            queued.get(agent).add(slot);
+            return slot;
+        }
+    }
+
+    /**
+     * Counts a task of {@code agent} as finished. Its slot goes to the first task {@link #admit queued} for the
+     * agent if there is one; otherwise consumption resumes once every saturated agent has drained.
+     */
+    public void finished(String agent) {
+        if (!limits.containsKey(agent)) {
+            return;
+        }
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            next = queued.get(agent).poll();
+            if (next == null) {
+                release(agent);
+                return;
+            }
+        }
+        next.complete(null);
+    }
+
+    private void release(String agent) {
+        int count = inFlight.merge(agent, -1, Integer::sum);
+        if (count > lowWaterMarks.get(agent) || !saturated.remove(agent) || !saturated.isEmpty() || !paused) {
+            return;
+        }
+        paused = false;
+        log.info("Agent {} drained to {} concurrent tasks; resuming task consumption", agent, count);
+        valves.forEach(Valve::resume);
+    }
+
+    public synchronized int inFlight(String agent) {
+        return inFlight.getOrDefault(agent, 0);
+    }
+
+    public synchronized int queued(String agent) {
+        Queue<CompletableFuture<Void>> waiting = queued.get(agent);
+        return waiting != null ? waiting.size() : 0;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+}
@@ -0,0 +1,111 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.record.RecordBatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+/**
+ * Sheds expired task records before the binder deserializes them, so no decoding, validation or agent
+ * work is spent on tasks nobody is waiting for any more. A record is expired when its
+ * {@link A2AKafkaHeaders#TTL} header (milliseconds) has elapsed since the Kafka record timestamp.
+ * Records without the header or without a timestamp continue unchanged; the envelope TTL is still checked
+ * by validation after deserialization.
+ *
+ * <p>Expired records are dropped, or re-published unchanged to a dead-letter destination with an
+ * {@link A2AKafkaHeaders#DLQ_REASON} header. Each is counted in {@value #EXPIRED_COUNTER}, tagged with
+ * {@code topic} and {@code action}.
+ */
+public class ExpiredRecordInterceptor implements RecordInterceptor<Object, Object> {
+
+    public static final String EXPIRED_COUNTER = "a2a.records.expired";
+
+    static final String DLQ_REASON_EXPIRED = "expired";
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiredRecordInterceptor.class);
+
+    private final String dlqDestination;
+    private final StreamBridge streamBridge;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    /**
+     * @param dlqDestination destination for expired records, or null to drop them
+     * @param streamBridge   used to publish to {@code dlqDestination}
+     * @param meterRegistry  registry for the expired record counter, or null
+     */
+    public ExpiredRecordInterceptor(String dlqDestination, StreamBridge streamBridge, MeterRegistry meterRegistry,
+                                    Clock clock) {
+        this.dlqDestination = dlqDestination;
+        this.streamBridge = streamBridge;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        if (!isExpired(record.headers(), record.timestamp(), clock.millis())) {
+            return record;
+        }
+        if (dlqDestination != null) {
+            deadLetter(record);
+        } else {
+            log.debug("Dropping expired record {}-{}@{} (ttl {} ms)", record.topic(), record.partition(),
+                    record.offset(), A2AKafkaHeaders.get(record.headers(), A2AKafkaHeaders.TTL));
+        }
+        if (meterRegistry != null) {
+            Counter.builder(EXPIRED_COUNTER)
+                    .description("Records shed before deserialization because their TTL had elapsed")
+                    .tag("topic", record.topic())
+                    .tag("action", dlqDestination != null ? "dlq" : "drop")
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return null;
+    }
+
+    /**
+     * @param headers         record headers
+     * @param recordTimestamp Kafka record timestamp in epoch milliseconds, negative if absent
+     * @param nowMillis       current time in epoch milliseconds
+     * @return whether the record carries a TTL that has elapsed since the record timestamp
+     */
+    static boolean isExpired(Headers headers, long recordTimestamp, long nowMillis) {
+        if (recordTimestamp == RecordBatch.NO_TIMESTAMP || recordTimestamp < 0) {
+            return false;
+        }
+        Long ttl = A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.TTL);
+        return ttl != null && ttl >= 0 && nowMillis - recordTimestamp > ttl;
+    }
+
+    private void deadLetter(ConsumerRecord<Object, Object> record) {
+        // The value is handed over as-is, like a forwarded record
+        MessageBuilder<Object> builder = MessageBuilder.withPayload(record.value());
+        for (Header header : record.headers()) {
+            builder.setHeader(header.key(), header.value());
+        }
+        builder.setHeader(A2AKafkaHeaders.DLQ_REASON, DLQ_REASON_EXPIRED.getBytes(StandardCharsets.UTF_8));
+        if (record.key() != null) {
+            builder.setHeader(KafkaHeaders.KEY, record.key());
+        }
+        if (!streamBridge.send(dlqDestination, builder.build())) {
+            throw new IllegalStateException("Failed to dead-letter expired record " + record.topic() + "-"
+                    + record.partition() + "@" + record.offset() + " to " + dlqDestination);
+        }
+        log.debug("Dead-lettered expired record {}-{}@{} to {}", record.topic(), record.partition(), record.offset(),
+                dlqDestination);
+    }
+}
@@ -0,0 +1,77 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.config.A2ASystemProperties;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.common.header.Headers;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides what to do with a tasks record by looking only at its {@code a2a_*} routing headers.
+ * The record value is never decoded here, so dropped and forwarded records cost no deserialization.
+ *
+ * <p>Records without an {@link A2AKafkaHeaders#TO} header (e.g. from producers that predate the
+ * routing headers) are always accepted and left to the regular processing path. When a pass-through
+ * destination is set, records whose {@link A2AKafkaHeaders#TYPE} is not a command are forwarded there.
+ */
+public class HeaderRoutingFilter {
+
+    public enum Action {
+        ACCEPT, DROP, FORWARD
+    }
+
+    /**
+     * Routing decision; {@code destination} is only set for {@link Action#FORWARD}.
+     */
+    public record Decision(Action action, String destination) {
+
+        static final Decision ACCEPT = new Decision(Action.ACCEPT, null);
+        static final Decision DROP = new Decision(Action.DROP, null);
+
+        static Decision forward(String destination) {
+            return new Decision(Action.FORWARD, destination);
+        }
+    }
+
+    private final Set<String> acceptTargets;
+    private final Map<String, String> forwardTargets;
+    private final Decision passThrough;
+
+    public HeaderRoutingFilter(A2ASystemProperties.RoutingConfiguration routing, String passThroughDestination) {
+        this(Set.copyOf(routing.getAcceptTargets()), Map.copyOf(routing.getForward()),
+                routing.isPassThroughNonCommands() ? passThroughDestination : null);
+    }
+
+    public HeaderRoutingFilter(Set<String> acceptTargets, Map<String, String> forwardTargets) {
+        this(acceptTargets, forwardTargets, null);
+    }
+
+    public HeaderRoutingFilter(Set<String> acceptTargets, Map<String, String> forwardTargets, String passThroughDestination) {
+        this.acceptTargets = Set.copyOf(acceptTargets);
+        this.forwardTargets = Map.copyOf(forwardTargets);
+        this.passThrough = passThroughDestination == null ? null : Decision.forward(passThroughDestination);
+    }
+
+    public Decision decide(Headers headers) {
+        if (passThrough != null) {
+            String type = A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TYPE);
+            if (type != null && !MessageType.COMMAND.getValue().equals(type)) {
+                return passThrough;
+            }
+        }
+        String to = A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TO);
+        if (to == null) {
+            return Decision.ACCEPT;
+        }
+        String destination = forwardTargets.get(to);
+        if (destination != null) {
+            return Decision.forward(destination);
+        }
+        if (acceptTargets.isEmpty() || acceptTargets.contains(to)) {
+            return Decision.ACCEPT;
+        }
+        return Decision.DROP;
+    }
+}
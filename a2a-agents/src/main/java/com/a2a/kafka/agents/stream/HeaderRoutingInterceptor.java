@@ -0,0 +1,133 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import com.a2a.kafka.core.serialization.RawEnvelopeForwarder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Applies {@link HeaderRoutingFilter} decisions before the record reaches the binder's message
+ * conversion: dropped records are skipped and forwarded records are re-published with their original
+ * key, value bytes and headers plus the {@link RawEnvelopeForwarder} metadata. Accepted records continue
+ * to the function unchanged.
+ *
+ * <p>A record that has reached the forwarder's hop limit, most likely caught in a routing loop, is
+ * re-published unchanged to a dead-letter destination with an {@link A2AKafkaHeaders#DLQ_REASON} header
+ * instead, and counted in {@value #HOP_LIMIT_COUNTER}, tagged with {@code topic} and {@code destination}.
+ */
+public class HeaderRoutingInterceptor implements RecordInterceptor<Object, Object> {
+
+    public static final String HOP_LIMIT_COUNTER = "a2a.records.hop-limit";
+
+    static final String DLQ_REASON_HOP_LIMIT = "hop-limit";
+
+    private static final Logger log = LoggerFactory.getLogger(HeaderRoutingInterceptor.class);
+
+    private final HeaderRoutingFilter filter;
+    private final RawEnvelopeForwarder forwarder;
+    private final StreamBridge streamBridge;
+    private final String dlqDestination;
+    private final MeterRegistry meterRegistry;
+
+    public HeaderRoutingInterceptor(HeaderRoutingFilter filter, RawEnvelopeForwarder forwarder, StreamBridge streamBridge) {
+        this(filter, forwarder, streamBridge, null, null);
+    }
+
+    /**
+     * @param dlqDestination destination for records that reached the hop limit, or null to drop them
+     * @param meterRegistry  registry for the hop limit counter, or null
+     */
+    public HeaderRoutingInterceptor(HeaderRoutingFilter filter, RawEnvelopeForwarder forwarder, StreamBridge streamBridge,
+                                    String dlqDestination, MeterRegistry meterRegistry) {
+        this.filter = filter;
+        this.forwarder = forwarder;
+        this.streamBridge = streamBridge;
+        this.dlqDestination = dlqDestination;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        HeaderRoutingFilter.Decision decision = filter.decide(record.headers());
+        switch (decision.action()) {
+            case DROP -> {
+                log.debug("Dropping record {}-{}@{} addressed to {}", record.topic(), record.partition(), record.offset(),
+                        A2AKafkaHeaders.get(record.headers(), A2AKafkaHeaders.TO));
+                return null;
+            }
+            case FORWARD -> {
+                forward(record, decision.destination());
+                return null;
+            }
+            default -> {
+                return record;
+            }
+        }
+    }
+
+    private void forward(ConsumerRecord<Object, Object> record, String destination) {
+        RecordHeaders headers = new RecordHeaders(record.headers().toArray());
+        if (!forwarder.stamp(headers)) {
+            hopLimitReached(record, destination);
+            return;
+        }
+        // The value is handed over as-is; the envelope is never decoded or re-encoded on this path
+        Message<Object> message = copyOf(record, headers).build();
+        if (!streamBridge.send(destination, message)) {
+            throw new IllegalStateException("Failed to forward record " + record.topic() + "-" + record.partition()
+                    + "@" + record.offset() + " to " + destination);
+        }
+        log.debug("Forwarded record {}-{}@{} to {}", record.topic(), record.partition(), record.offset(), destination);
+    }
+
+    private void hopLimitReached(ConsumerRecord<Object, Object> record, String destination) {
+        log.warn("Not forwarding record {}-{}@{} to {}: hop limit reached", record.topic(), record.partition(),
+                record.offset(), destination);
+        if (meterRegistry != null) {
+            Counter.builder(HOP_LIMIT_COUNTER)
+                    .description("Records not forwarded because they reached the hop limit")
+                    .tag("topic", record.topic())
+                    .tag("destination", destination)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (dlqDestination == null) {
+            return;
+        }
+        // The original headers, without this forwarder's stamp, so the record can be replayed as received
+        Message<Object> message = copyOf(record, record.headers())
+                .setHeader(A2AKafkaHeaders.DLQ_REASON, DLQ_REASON_HOP_LIMIT.getBytes(StandardCharsets.UTF_8))
+                .build();
+        if (!streamBridge.send(dlqDestination, message)) {
+            throw new IllegalStateException("Failed to dead-letter record " + record.topic() + "-" + record.partition()
+                    + "@" + record.offset() + " that reached the hop limit to " + dlqDestination);
+        }
+        log.debug("Dead-lettered record {}-{}@{} to {}", record.topic(), record.partition(), record.offset(),
+                dlqDestination);
+    }
+
+    private static MessageBuilder<Object> copyOf(ConsumerRecord<Object, Object> record, Headers headers) {
+        MessageBuilder<Object> builder = MessageBuilder.withPayload(record.value());
+        for (Header header : headers) {
+            builder.setHeader(header.key(), header.value());
+        }
+        if (record.key() != null) {
+            builder.setHeader(KafkaHeaders.KEY, record.key());
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,118 @@
+package com.a2a.kafka.agents.stream;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on virtual threads, one after another for the same key and concurrently across keys.
+ * With a {@code maxInFlight} bound, at most that many tasks are queued or running and {@link #submit} and
+ * {@link #submitAsync} block the caller until a slot frees up; without one they never block, and the caller
+ * limits what it submits. Tasks without a key are not ordered.
+ */
+public class KeyOrderedExecutor implements AutoCloseable {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    // Null without an in-flight bound
+    private final Semaphore slots;
+    private final Duration shutdownTimeout;
+
+    /**
+     * Creates an executor without an in-flight bound.
+     *
+     * @param shutdownTimeout how long {@link #close()} waits for queued and running tasks
+     */
+    public KeyOrderedExecutor(Duration shutdownTimeout) {
+        this.slots = null;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * @param maxInFlight     upper bound on queued and running tasks
+     * @param shutdownTimeout how long {@link #close()} waits for them
+     */
+    public KeyOrderedExecutor(int maxInFlight, Duration shutdownTimeout) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.slots = new Semaphore(maxInFlight);
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    /**
+     * @param key  ordering key, or null
+     * @param task must handle its own failures; a failed task does not stop later tasks of its key
+     * @return completes when the task has run
+     * @throws InterruptedException if interrupted while waiting for a slot
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) throws InterruptedException {
+        return submitAsync(key, () -> {
+            task.run();
+            return DONE;
+        });
+    }
+
+    /**
+     * Submits a task that finishes asynchronously. The task is started on a virtual thread; its slot, and
+     * the turn of its key, are held until the stage it returns completes.
+     *
+     * @param key  ordering key, or null
+     * @param task starts the work; a failed stage does not stop later tasks of its key
+     * @return completes when the returned stage has completed
+     * @throws InterruptedException if interrupted while waiting for a slot
+     */
+    public CompletableFuture<Void> submitAsync(String key, Supplier<? extends CompletionStage<?>> task)
+            throws InterruptedException {
+        if (slots != null) {
+            slots.acquire();
+        }
+        CompletableFuture<Void> next;
+        try {
+            if (key == null) {
+                next = after(DONE, task);
+            } else {
+                next = tails.compute(key, (k, tail) -> after(tail != null ? tail : DONE, task));
+                CompletableFuture<Void> submitted = next;
+                submitted.whenComplete((v, e) -> tails.remove(key, submitted));
+            }
+        } catch (RuntimeException e) {
+            if (slots != null) {
+                slots.release();
+            }
+            throw e;
+        }
+        if (slots != null) {
+            next.whenComplete((v, e) -> slots.release());
+        }
+        return next;
+    }
+
+    private CompletableFuture<Void> after(CompletableFuture<Void> previous, Supplier<? extends CompletionStage<?>> task) {
+        return previous.exceptionally(e -> null)
+                .thenComposeAsync(v -> task.get().thenApply(result -> (Void) null), executor);
+    }
+
+    /**
+     * @return the number of keys with queued or running tasks
+     */
+    public int activeKeys() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
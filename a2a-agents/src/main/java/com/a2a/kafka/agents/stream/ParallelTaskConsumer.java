@@ -0,0 +1,215 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.batch.EnvelopeBatchProcessor;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Parallel-mode {@code processAgentTasks}: hands each record to a virtual thread and returns to the poll
+ * loop, so one listener thread keeps up to {@code maxInFlight} slow tasks (LLM calls) running. The listener
+ * thread never waits for a task: once {@code maxInFlight} tasks are running, the container is paused until
+ * they drain to a low-water mark, and the records of the current poll still run. Each reply
+ * is sent as soon as its task completes, in whatever order tasks finish. Records
+ * are ordered per key instead of per partition: the {@link A2AKafkaHeaders#TASK_ID} header, else
+ * {@link A2AKafkaHeaders#CORRELATION_ID}, else the record key. Records without any of these run unordered.
+ *
+ * <p>The container runs with manual acknowledgment. A record is acknowledged only once it and every earlier
+ * record of its partition have completed (see {@link PartitionOffsetTracker}), so a restart never skips an
+ * unfinished record; the completed records after the gap are redelivered, and answered by deduplication.
+ * When a partition is revoked its pending records are discarded, and tasks of that partition that complete
+ * afterwards acknowledge nothing. A record that fails and cannot be dead-lettered either leaves a gap that
+ * would hold back its partition until the next rebalance, so the listener container is stopped and started
+ * again after {@code restartDelay}; it then resumes from the committed offsets and redelivers the record.
+ */
+public class ParallelTaskConsumer implements Consumer<Message<byte[]>>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelTaskConsumer.class);
+
+    private final EnvelopeBatchProcessor<TaskBatchConsumer.TaskRecord> processor;
+    private final KeyOrderedExecutor executor;
+    private final PartitionOffsetTracker<Acknowledgment> offsets = new PartitionOffsetTracker<>();
+    private final Duration restartDelay;
+    private final AtomicBoolean restarting = new AtomicBoolean();
+    private volatile MessageListenerContainer container;
+    private final int maxInFlight;
+    private final int resumeInFlight;
+    // Guarded by this
+    private int inFlight;
+    private boolean paused;
+    private BackpressureController.Valve valve;
+
+    /**
+     * @param processor     decodes, handles and replies to one record, dead-lettering it on failure
+     * @param executor      runs the records; should not bound them itself, or the listener thread waits for it
+     * @param maxInFlight   running tasks at which the container is paused
+     * @param resumePercent low-water mark, as a percentage of {@code maxInFlight}, at which it resumes
+     * @param restartDelay  how long the container stays stopped after a record could not be dead-lettered
+     */
+    ParallelTaskConsumer(EnvelopeBatchProcessor<TaskBatchConsumer.TaskRecord> processor, KeyOrderedExecutor executor,
+                         int maxInFlight, int resumePercent, Duration restartDelay) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        this.processor = processor;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.resumeInFlight = maxInFlight * resumePercent / 100;
+        this.restartDelay = restartDelay;
+    }
+
+    /**
+     * Hooks the consumer into the listener container of the tasks topic, so revoked partitions are discarded
+     * and the container can be paused and restarted.
+     *
+     * @param valve pauses and resumes the container; shared with other controllers of the same container
+     */
+    void attach(MessageListenerContainer container, BackpressureController.Valve valve) {
+        attach(valve);
+        this.container = container;
+        ContainerProperties properties = container.getContainerProperties();
+        properties.setConsumerRebalanceListener(
+                new PartitionRevocationListener(properties.getConsumerRebalanceListener(), this::revoked));
+    }
+
+    synchronized void attach(BackpressureController.Valve valve) {
+        this.valve = valve;
+        if (paused) {
+            valve.pause();
+        }
+    }
+
+    void revoked(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            offsets.revoke(partition.partition());
+        }
+    }
+
+    @Override
+    public void accept(Message<byte[]> message) {
+        MessageHeaders headers = message.getHeaders();
+        Integer partition = headers.get(KafkaHeaders.RECEIVED_PARTITION, Integer.class);
+        Long offset = headers.get(KafkaHeaders.OFFSET, Long.class);
+        Acknowledgment ack = headers.get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+        if (partition == null || offset == null || ack == null) {
+            throw new IllegalStateException("Parallel task processing needs a Kafka record with manual acknowledgment");
+        }
+        TaskBatchConsumer.TaskRecord record = new TaskBatchConsumer.TaskRecord(
+                message.getPayload(), headers.get(KafkaHeaders.RECEIVED_KEY), headers);
+
+        long generation = offsets.register(partition, offset, ack);
+        started();
+        try {
+            executor.submitAsync(orderingKey(record), () -> processor.processAsync(record)
+                    .whenComplete((replied, failure) -> {
+                        if (failure != null) {
+                            // Not even dead-lettered: leave the offset uncommitted and restart to redeliver it
+                            log.error("Task record {}-{} failed and could not be dead-lettered: {}", partition,
+                                    offset, failure.toString(), failure);
+                            restart();
+                            return;
+                        }
+                        offsets.complete(partition, generation, offset, Acknowledgment::acknowledge);
+                    })).whenComplete((v, e) -> finished());
+        } catch (InterruptedException e) {
+            finished();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free task slot", e);
+        } catch (RuntimeException e) {
+            finished();
+            throw e;
+        }
+    }
+
+    private synchronized void started() {
+        inFlight++;
+        if (inFlight < maxInFlight || paused) {
+            return;
+        }
+        paused = true;
+        log.debug("{} task records in flight; pausing the tasks listener container", inFlight);
+        if (valve != null) {
+            valve.pause();
+        }
+    }
+
+    private synchronized void finished() {
+        inFlight--;
+        if (inFlight > resumeInFlight || !paused) {
+            return;
+        }
+        paused = false;
+        log.debug("{} task records in flight; resuming the tasks listener container", inFlight);
+        if (valve != null) {
+            valve.resume();
+        }
+    }
+
+    /**
+     * @return the number of task records queued or running
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Stops the container, which commits the completed prefixes and revokes its partitions, and starts it
+     * again after the restart delay. Failures while a restart is under way share that restart.
+     */
+    void restart() {
+        MessageListenerContainer target = container;
+        if (target == null || !restarting.compareAndSet(false, true)) {
+            return;
+        }
+        log.warn("Restarting the tasks listener container in {} to redeliver records that were not dead-lettered",
+                restartDelay);
+        target.stop(() -> CompletableFuture.delayedExecutor(restartDelay.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> {
+                    restarting.set(false);
+                    target.start();
+                }));
+    }
+
+    static String orderingKey(TaskBatchConsumer.TaskRecord record) {
+        String key = header(record, A2AKafkaHeaders.TASK_ID);
+        if (key == null) {
+            key = header(record, A2AKafkaHeaders.CORRELATION_ID);
+        }
+        if (key == null && record.key() != null) {
+            key = record.key() instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : record.key().toString();
+        }
+        return key;
+    }
+
+    private static String header(TaskBatchConsumer.TaskRecord record, String name) {
+        Object value = record.headers().get(name);
+        if (value instanceof byte[] bytes) {
+            return bytes.length > 0 ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.close();
+    }
+}
@@ -0,0 +1,101 @@
+package com.a2a.kafka.agents.stream;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Tracks records that complete out of order and reports, per partition, the last record of the contiguous
+ * completed prefix, i.e. the highest offset that can be committed without skipping an unfinished record.
+ * Records must be registered in offset order per partition; an offset at or below the last registered one
+ * (a rebalance or seek replaying the partition) discards the partition's pending records, as does
+ * {@link #revoke(int)}. Each discard starts a new generation of the partition, and completions reported
+ * for an earlier generation are ignored, so a task that finishes after its partition was revoked never
+ * acknowledges a record delivered again since.
+ *
+ * @param <T> a value attached to each record and handed back when the prefix reaches it, e.g. its acknowledgment
+ */
+public class PartitionOffsetTracker<T> {
+
+    private static final class Slot<T> {
+        final T attachment;
+        boolean done;
+
+        Slot(T attachment) {
+            this.attachment = attachment;
+        }
+    }
+
+    private static final class Partition<T> {
+        final TreeMap<Long, Slot<T>> pending = new TreeMap<>();
+        long generation;
+
+        void discard() {
+            pending.clear();
+            generation++;
+        }
+    }
+
+    private final Map<Integer, Partition<T>> partitions = new HashMap<>();
+
+    /**
+     * @return the partition's generation, to be passed back to {@link #complete}
+     */
+    public synchronized long register(int partition, long offset, T attachment) {
+        Partition<T> state = partitions.computeIfAbsent(partition, p -> new Partition<>());
+        if (!state.pending.isEmpty() && offset <= state.pending.lastKey()) {
+            state.discard();
+        }
+        state.pending.put(offset, new Slot<>(attachment));
+        return state.generation;
+    }
+
+    /**
+     * Marks a record complete. If that extends the completed prefix, {@code onAdvance} is called with the
+     * attachment of its new last record before this method returns, under the tracker lock, so successive
+     * advances of a partition are reported in offset order.
+     *
+     * @param generation as returned by {@link #register} for the record
+     * @return whether the completed prefix advanced
+     */
+    public synchronized boolean complete(int partition, long generation, long offset, Consumer<T> onAdvance) {
+        Partition<T> state = partitions.get(partition);
+        if (state == null || state.generation != generation) {
+            // Discarded by a replay or a revocation
+            return false;
+        }
+        Slot<T> slot = state.pending.get(offset);
+        if (slot == null) {
+            return false;
+        }
+        slot.done = true;
+        Slot<T> last = null;
+        while (!state.pending.isEmpty() && state.pending.firstEntry().getValue().done) {
+            last = state.pending.pollFirstEntry().getValue();
+        }
+        if (last == null) {
+            return false;
+        }
+        onAdvance.accept(last.attachment);
+        return true;
+    }
+
+    /**
+     * Discards the partition's pending records, when it is revoked or lost.
+     */
+    public synchronized void revoke(int partition) {
+        Partition<T> state = partitions.get(partition);
+        if (state != null) {
+            state.discard();
+        }
+    }
+
+    /**
+     * @return the number of registered records not yet committable in the partition
+     */
+    public synchronized int pending(int partition) {
+        Partition<T> state = partitions.get(partition);
+        return state != null ? state.pending.size() : 0;
+    }
+}
@@ -0,0 +1,77 @@
+package com.a2a.kafka.agents.stream;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.util.Collection;
+
+/**
+ * Rebalance listener reporting revoked and lost partitions, wrapped around the listener the binder may
+ * already have set on the container. Revocations are reported after the container has committed the
+ * pending acknowledgments of the revoked partitions.
+ */
+class PartitionRevocationListener implements ConsumerAwareRebalanceListener {
+
+    /**
+     * Called on the consumer thread with the partitions the container no longer owns.
+     */
+    @FunctionalInterface
+    interface OnRevoked {
+        void revoked(Collection<TopicPartition> partitions);
+    }
+
+    private final ConsumerRebalanceListener delegate;
+    private final OnRevoked onRevoked;
+
+    /**
+     * @param delegate the container's existing rebalance listener, or null
+     */
+    PartitionRevocationListener(ConsumerRebalanceListener delegate, OnRevoked onRevoked) {
+        this.delegate = delegate;
+        this.onRevoked = onRevoked;
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (delegate instanceof ConsumerAwareRebalanceListener aware) {
+            aware.onPartitionsRevokedBeforeCommit(consumer, partitions);
+        } else if (delegate != null) {
+            delegate.onPartitionsRevoked(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        try {
+            if (delegate instanceof ConsumerAwareRebalanceListener aware) {
+                aware.onPartitionsRevokedAfterCommit(consumer, partitions);
+            }
+        } finally {
+            onRevoked.revoked(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        try {
+            if (delegate instanceof ConsumerAwareRebalanceListener aware) {
+                aware.onPartitionsLost(consumer, partitions);
+            } else if (delegate != null) {
+                delegate.onPartitionsLost(partitions);
+            }
+        } finally {
+            onRevoked.revoked(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (delegate instanceof ConsumerAwareRebalanceListener aware) {
+            aware.onPartitionsAssigned(consumer, partitions);
+        } else if (delegate != null) {
+            delegate.onPartitionsAssigned(partitions);
+        }
+    }
+}
@@ -1,12 +1,37 @@
 package com.a2a.kafka.agents.stream;
 
+import com.a2a.kafka.agents.dispatch.TaskDispatcher;
+import com.a2a.kafka.agents.dispatch.TaskHandler;
 import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.config.A2ASystemProperties;
+import com.a2a.kafka.core.dedup.MessageDeduplicator;
+import com.a2a.kafka.core.id.MessageIds;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.validation.A2AMessageValidator;
+import com.a2a.kafka.core.validation.ValidationPipeline;
+import com.a2a.kafka.core.validation.ValidationPipelines;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 @Configuration
@@ -14,32 +39,282 @@ public class ProcessorsConfig {
 
     private static final Logger log = LoggerFactory.getLogger(ProcessorsConfig.class);
 
+    static final String TASKS_FUNCTION = "processAgentTasks";
+
+    static final String TASKS_INPUT_BINDING = TASKS_FUNCTION + "-in-0";
+
+    private static final Duration PARALLEL_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Duration PARALLEL_RESTART_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * Runs tasks that waited for a free slot of their agent, each on a virtual thread of its own.
+     */
+    private static final Executor QUEUED_TASKS = task -> Thread.ofVirtual().name("a2a-queued-task").start(task);
+
+    private final ValidationPipeline validation;
+    private final MessageDeduplicator deduplicator;
+    private final TaskDispatcher dispatcher;
+    private final BackpressureController backpressure;
+    private final TaskRetryTopics retryTopics;
+
+    public ProcessorsConfig() {
+        this(ValidationPipeline.NONE);
+    }
+
+    /**
+     * Validates task input with the rule set configured for {@value #TASKS_INPUT_BINDING}, skips
+     * messages whose ID was already processed when a {@link MessageDeduplicator} is available, and hands
+     * commands to the agent method they address when a {@link TaskDispatcher} is available, counting them
+     * against the agent's concurrency limit when a {@link BackpressureController} is available. Tasks that fail
+     * with a retryable error move to the retry topics when {@link TaskRetryTopics} are available.
+     */
+    @Autowired
+    public ProcessorsConfig(ObjectProvider<ValidationPipelines> validationPipelines,
+                            ObjectProvider<MessageDeduplicator> deduplicator,
+                            ObjectProvider<TaskDispatcher> dispatcher,
+                            ObjectProvider<BackpressureController> backpressure,
+                            ObjectProvider<TaskRetryTopics> retryTopics) {
+        this(tasksValidation(validationPipelines.getIfAvailable()), deduplicator.getIfAvailable(),
+                dispatcher.getIfAvailable(), backpressure.getIfAvailable(), retryTopics.getIfAvailable());
+    }
+
+    ProcessorsConfig(ValidationPipeline validation) {
+        this(validation, null);
+    }
+
+    ProcessorsConfig(ValidationPipeline validation, MessageDeduplicator deduplicator) {
+        this(validation, deduplicator, null);
+    }
+
+    /**
+     * @param dispatcher routes commands to agents, or null to echo command payloads back
+     */
+    ProcessorsConfig(ValidationPipeline validation, MessageDeduplicator deduplicator, TaskDispatcher dispatcher) {
+        this(validation, deduplicator, dispatcher, null);
+    }
+
+    /**
+     * @param backpressure counts dispatched tasks per agent, or null
+     */
+    ProcessorsConfig(ValidationPipeline validation, MessageDeduplicator deduplicator, TaskDispatcher dispatcher,
+                     BackpressureController backpressure) {
+        this(validation, deduplicator, dispatcher, backpressure, null);
+    }
+
+    /**
+     * @param retryTopics re-publishes tasks that failed with a retryable error, or null to reply with an error
+     */
+    ProcessorsConfig(ValidationPipeline validation, MessageDeduplicator deduplicator, TaskDispatcher dispatcher,
+                     BackpressureController backpressure, TaskRetryTopics retryTopics) {
+        this.validation = validation;
+        this.deduplicator = deduplicator;
+        this.dispatcher = dispatcher;
+        this.backpressure = backpressure;
+        this.retryTopics = retryTopics;
+    }
+
+    private static ValidationPipeline tasksValidation(ValidationPipelines pipelines) {
+        return pipelines != null ? pipelines.forBinding(TASKS_INPUT_BINDING) : ValidationPipeline.NONE;
+    }
+
+    /**
+     * Record-at-a-time task processing, the default. The message is taken whole for the record key, which
+     * a retried task keeps. This mode stays synchronous: the listener thread waits for the agent call and
+     * returns the reply, so asynchronous completion needs batch or parallel mode.
+     */
     @Bean
-    public Function<A2AMessageEnvelope, A2AMessageEnvelope> processAgentTasks() {
-        return input -> {
-            try {
-                if (input == null) {
-                    return null;
-                }
-                if (input.isCommand()) {
-                    // Minimal echo reply preserving original message id as taskId and correlationId
-                    return A2AMessageBuilder.reply("processor", input.getId(), A2AMessageBuilder.Payloads.success(input.getPayload()))
-                            .correlationId(input.getCorrelationId())
-                            .build();
-                } else {
-                    log.debug("Received non-command message; passing through as event");
-                    return A2AMessageBuilder.event("processor", input.getPayload())
-                            .correlationId(input.getCorrelationId())
-                            .build();
-                }
-            } catch (Exception ex) {
-                log.error("Error processing message {}: {}", input != null ? input.getId() : "null", ex.toString(), ex);
-                String taskId = (input != null && input.getId() != null) ? input.getId() : "unknown";
-                String correlationId = input != null ? input.getCorrelationId() : null;
-                return A2AMessageBuilder.reply("processor", taskId, A2AMessageBuilder.Payloads.error("PROCESSING_ERROR", ex.getMessage()))
-                        .correlationId(correlationId)
-                        .build();
+    @ConditionalOnExpression("!${a2a.processing.batch-mode:false} && !${a2a.processing.parallel-mode:false}")
+    public Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks() {
+        return message -> process(message.getPayload(), message.getHeaders().get(KafkaHeaders.RECEIVED_KEY),
+                validation.getClock().millis(), 1);
+    }
+
+    /**
+     * Batch task processing under the same binding names, with {@code a2a.processing.batch-mode}.
+     * Replies are sent through {@link StreamBridge}; failing records go to the processing dead-letter destination.
+     * Failed tasks are routed on the listener thread once their agent call has completed, so that with
+     * {@code a2a.processing.transaction-id-prefix} their retries are published in the batch's transaction.
+     */
+    @Bean(TASKS_FUNCTION)
+    @ConditionalOnProperty(prefix = "a2a.processing", name = "batch-mode", havingValue = "true")
+    public Consumer<Message<List<byte[]>>> processAgentTaskBatches(A2ASystemProperties properties,
+                                                                 A2AEnvelopeMessageConverter converter,
+                                                                 StreamBridge streamBridge) {
+        return new TaskBatchConsumer(this::startAsync,
+                (record, input, cause) -> failed(input, record.key(), 1, cause), converter, streamBridge, properties.getProcessing().getDlqDestination(), validation.getClock());
+    }
+
+    /**
+     * Parallel task processing under the same binding names, with {@code a2a.processing.parallel-mode}.
+     * Records run on virtual threads, ordered per task or correlation ID; offsets are acknowledged up to the
+     * last record completed without gaps.
+     */
+    @Bean(TASKS_FUNCTION)
+    @ConditionalOnProperty(prefix = "a2a.processing", name = "parallel-mode", havingValue = "true")
+    public ParallelTaskConsumer processAgentTasksInParallel(A2ASystemProperties properties,
+                                                            A2AEnvelopeMessageConverter converter,
+                                                            StreamBridge streamBridge) {
+        A2ASystemProperties.ProcessingConfiguration processing = properties.getProcessing();
+        return new ParallelTaskConsumer(
+                TaskBatchConsumer.recordProcessor(this::startAsync,
+                        (record, input, cause) -> failed(input, record.key(), 1, cause), converter, streamBridge,
+                        processing.getDlqDestination(), validation.getClock()),
+                new KeyOrderedExecutor(PARALLEL_SHUTDOWN_TIMEOUT),
+                processing.getMaxInFlight(), processing.getResumePercent(), PARALLEL_RESTART_DELAY);
+    }
+
+    /**
+     * @param nowMillis clock reading validation runs against; one per batch in batch mode
+     */
+    A2AMessageEnvelope process(A2AMessageEnvelope input, long nowMillis) {
+        return process(input, null, nowMillis, 1);
+    }
+
+    /**
+     * Blocking form of {@link #processAsync(A2AMessageEnvelope, Object, long, int)}. A failure is routed on the
+     * calling thread, so a retry is published in the listener's transaction when there is one.
+     */
+    A2AMessageEnvelope process(A2AMessageEnvelope input, Object key, long nowMillis, int attempt) {
+        try {
+            return startAsync(input, nowMillis).join();
+        } catch (CompletionException ex) {
+            return failed(input, key, attempt, unwrap(ex));
+        }
+    }
+
+    /**
+     * Non-blocking task processing. Validation runs on the calling thread; the future completes with the
+     * reply once the agent method's result, which may itself be a {@link CompletionStage}, is available.
+     * Failures complete it with an error reply, never exceptionally.
+     *
+     * @param nowMillis clock reading validation runs against; one per batch in batch mode
+     */
+    CompletableFuture<A2AMessageEnvelope> processAsync(A2AMessageEnvelope input, long nowMillis) {
+        return processAsync(input, null, nowMillis, 1);
+    }
+
+    /**
+     * @param key     key of the task record, kept by a retried task; null if it has none
+     * @param attempt 1 on the tasks topic, higher on the retry topics
+     */
+    CompletableFuture<A2AMessageEnvelope> processAsync(A2AMessageEnvelope input, Object key, long nowMillis,
+                                                       int attempt) {
+        return startAsync(input, nowMillis).exceptionally(failure -> failed(input, key, attempt, unwrap(failure)));
+    }
+
+    /**
+     * Validates the input and starts handling it; unlike {@link #processAsync}, the future completes
+     * exceptionally if the agent method fails.
+     */
+    CompletableFuture<A2AMessageEnvelope> startAsync(A2AMessageEnvelope input, long nowMillis) {
+        if (input == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            A2AMessageValidator.ValidationResult result = validation.validate(input, nowMillis);
+            if (!result.isValid()) {
+                // Rejected commands get an error reply; other invalid messages are dropped
+                return CompletableFuture.completedFuture(!input.isCommand() ? null
+                        : A2AMessageBuilder.replyTo(input, "processor",
+                                        A2AMessageBuilder.Payloads.error("VALIDATION_ERROR", result.getErrorsAsString()))
+                                .build());
+            }
+            return deduplicator != null ? deduplicator.processAsync(input, this::handle) : handle(input);
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private A2AMessageEnvelope failed(A2AMessageEnvelope input, Object key, int attempt, Throwable cause) {
+        if (retryTopics != null && retryTopics.retry(input, key, attempt, cause)) {
+            // Answered by a later attempt, or dead-lettered once the retry topics are exhausted
+            return null;
+        }
+        return processingError(input, cause);
+    }
+
+    private CompletableFuture<A2AMessageEnvelope> handle(A2AMessageEnvelope input) {
+        if (input.isCommand()) {
+            return dispatcher != null ? dispatch(input) : CompletableFuture.completedFuture(echo(input));
+        } else {
+            log.debug("Received non-command message; passing through as event");
+            // With a2a.routing.pass-through-non-commands, records carrying routing headers are relayed
+            // as raw bytes by HeaderRoutingInterceptor and never reach this branch
+            // forwardAs keeps a lazily read payload undecoded so it is re-emitted verbatim
+            return CompletableFuture.completedFuture(
+                    input.forwardAs(MessageIds.next(), MessageType.EVENT, "processor", Instant.now()));
+        }
+    }
+
+    private CompletableFuture<A2AMessageEnvelope> dispatch(A2AMessageEnvelope input) {
+        TaskHandler handler = dispatcher.handlerFor(input);
+        if (handler == null) {
+            return CompletableFuture.completedFuture(A2AMessageBuilder.replyTo(input, "processor",
+                    A2AMessageBuilder.Payloads.error("UNSUPPORTED_METHOD",
+                            "No agent handles " + input.getTo() + "/" + input.getMethod())).build());
+        }
+        if (backpressure == null) {
+            return invoke(handler, input);
+        }
+        String agent = input.getTo();
+        CompletableFuture<Void> slot = backpressure.admit(agent);
+        CompletableFuture<A2AMessageEnvelope> reply = slot.isDone()
+                ? invoke(handler, input)
+                // Over the agent's limit: runs once a finishing task hands its slot over, off that task's thread
+                : slot.thenComposeAsync(free -> invoke(handler, input), QUEUED_TASKS);
+        reply.whenComplete((r, e) -> backpressure.finished(agent));
+        return reply;
+    }
+
+    private static CompletableFuture<A2AMessageEnvelope> invoke(TaskHandler handler, A2AMessageEnvelope input) {
+        Object result;
+        try {
+            result = handler.handle(input);
+        } catch (IllegalArgumentException ex) {
+            return CompletableFuture.completedFuture(invalidRequest(input, ex));
+        } catch (Exception ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        if (!(result instanceof CompletionStage<?> stage)) {
+            return CompletableFuture.completedFuture(success(input, result));
+        }
+        return stage.toCompletableFuture().handle((value, failure) -> {
+            if (failure == null) {
+                return success(input, value);
+            }
+            Throwable cause = unwrap(failure);
+            if (cause instanceof IllegalArgumentException ex) {
+                return invalidRequest(input, ex);
             }
-        };
+            throw new CompletionException(cause);
+        });
+    }
+
+    private static A2AMessageEnvelope success(A2AMessageEnvelope input, Object result) {
+        return A2AMessageBuilder.replyTo(input, input.getTo(), A2AMessageBuilder.Payloads.success(result)).build();
+    }
+
+    private static A2AMessageEnvelope invalidRequest(A2AMessageEnvelope input, IllegalArgumentException ex) {
+        return A2AMessageBuilder.replyTo(input, input.getTo(),
+                A2AMessageBuilder.Payloads.error("INVALID_REQUEST", ex.getMessage())).build();
+    }
+
+    private static A2AMessageEnvelope processingError(A2AMessageEnvelope input, Throwable ex) {
+        log.error("Error processing message {}: {}", input.getId(), ex.toString(), ex);
+        String taskId = input.getId() != null ? input.getId() : "unknown";
+        return A2AMessageBuilder.reply("processor", taskId, A2AMessageBuilder.Payloads.error("PROCESSING_ERROR", ex.getMessage()))
+                .correlationId(input.getCorrelationId())
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static A2AMessageEnvelope echo(A2AMessageEnvelope input) {
+        // Minimal echo reply preserving original message id as taskId and correlationId
+        return A2AMessageBuilder.replyTo(input, "processor", A2AMessageBuilder.Payloads.success(input.getPayload()))
+                .build();
     }
 }
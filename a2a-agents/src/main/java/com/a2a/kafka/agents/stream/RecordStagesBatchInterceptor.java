@@ -0,0 +1,53 @@
+package com.a2a.kafka.agents.stream;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies the record stages to each record of a polled batch, since batch listener containers do not call
+ * {@link RecordInterceptor}s. Records a stage filters out are removed from the batch; an empty batch is
+ * not delivered to the listener.
+ */
+class RecordStagesBatchInterceptor implements BatchInterceptor<Object, Object> {
+
+    private final RecordInterceptor<Object, Object> stages;
+
+    RecordStagesBatchInterceptor(RecordInterceptor<Object, Object> stages) {
+        this.stages = stages;
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records,
+                                                     Consumer<Object, Object> consumer) {
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> kept = new LinkedHashMap<>();
+        int dropped = 0;
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<Object, Object>> partitionRecords = records.records(partition);
+            List<ConsumerRecord<Object, Object>> survivors = new ArrayList<>(partitionRecords.size());
+            for (ConsumerRecord<Object, Object> record : partitionRecords) {
+                ConsumerRecord<Object, Object> intercepted = stages.intercept(record, consumer);
+                if (intercepted != null) {
+                    survivors.add(intercepted);
+                } else {
+                    dropped++;
+                }
+            }
+            if (!survivors.isEmpty()) {
+                kept.put(partition, survivors);
+            }
+        }
+        if (dropped == 0) {
+            return records;
+        }
+        return kept.isEmpty() ? null : new ConsumerRecords<>(kept);
+    }
+}
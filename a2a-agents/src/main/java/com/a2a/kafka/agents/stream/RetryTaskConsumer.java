@@ -0,0 +1,87 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Consumes one {@link TaskRetryTier}. A record is processed once its timestamp plus the tier's delay has
+ * passed; until then it is negatively acknowledged with the remaining time, so the container pauses the
+ * consumer, keeps polling, and redelivers the record when it is due. Due records are handled like records
+ * of the tasks topic, with the attempt number from their headers, and their replies are sent to
+ * {@value TaskListenerContainerConfig#TASKS_OUTPUT_BINDING}. The container runs with manual acknowledgment.
+ */
+public class RetryTaskConsumer implements Consumer<Message<byte[]>> {
+
+    /**
+     * Handles one attempt of a task on the listener thread, returning its reply or null; see {@link ProcessorsConfig}.
+     */
+    @FunctionalInterface
+    public interface AttemptHandler {
+        A2AMessageEnvelope handle(A2AMessageEnvelope input, Object key, long nowMillis, int attempt);
+    }
+
+    private final TaskRetryTier tier;
+    private final AttemptHandler handler;
+    private final A2AEnvelopeMessageConverter converter;
+    private final StreamBridge streamBridge;
+    private final String dlqDestination;
+    private final Clock clock;
+
+    /**
+     * @param dlqDestination destination for records that cannot be decoded or replied to
+     */
+    public RetryTaskConsumer(TaskRetryTier tier, AttemptHandler handler, A2AEnvelopeMessageConverter converter,
+                             StreamBridge streamBridge, String dlqDestination, Clock clock) {
+        this.tier = tier;
+        this.handler = handler;
+        this.converter = converter;
+        this.streamBridge = streamBridge;
+        this.dlqDestination = dlqDestination;
+        this.clock = clock;
+    }
+
+    @Override
+    public void accept(Message<byte[]> message) {
+        MessageHeaders headers = message.getHeaders();
+        Acknowledgment ack = headers.get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class);
+        if (ack == null) {
+            throw new IllegalStateException("Retry topic " + tier.topic() + " needs manual acknowledgment");
+        }
+        long now = clock.millis();
+        long wait = dueMillis(headers.get(KafkaHeaders.RECEIVED_TIMESTAMP, Long.class), now) - now;
+        if (wait > 0) {
+            ack.nack(Duration.ofMillis(wait));
+            return;
+        }
+        TaskBatchConsumer.TaskRecord record = new TaskBatchConsumer.TaskRecord(
+                message.getPayload(), headers.get(KafkaHeaders.RECEIVED_KEY), headers);
+        try {
+            A2AMessageEnvelope input = TaskBatchConsumer.decode(converter, record);
+            A2AMessageEnvelope reply = input == null ? null
+                    : handler.handle(input, record.key(), now, TaskRetryTopics.attempt(headers, tier));
+            if (reply != null) {
+                TaskBatchConsumer.reply(converter, streamBridge, record.key(), reply);
+            }
+        } catch (Exception e) {
+            TaskBatchConsumer.deadLetter(streamBridge, dlqDestination, record, e);
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * @param timestamp record timestamp in epoch milliseconds, or null
+     * @return when the record may be processed; a record without a timestamp is due at once
+     */
+    long dueMillis(Long timestamp, long nowMillis) {
+        return timestamp != null && timestamp >= 0 ? timestamp + tier.delay().toMillis() : nowMillis;
+    }
+}
@@ -0,0 +1,135 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.batch.EnvelopeBatchProcessor;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Batch-mode {@code processAgentTasks}: receives the raw values of one poll with their headers, decodes
+ * and handles them together and sends the replies to {@value TaskListenerContainerConfig#TASKS_OUTPUT_BINDING}.
+ * Values are decoded here rather than by the binder so that one undecodable record does not fail the batch;
+ * records that fail are re-published unchanged to the dead-letter destination with an
+ * {@link A2AKafkaHeaders#DLQ_REASON} header and the exception in the standard {@code kafka_dlt-exception-*}
+ * headers. Replies and dead letters keep the key of their task record, so everything produced for one task
+ * lands on one partition. Offsets are committed once the whole batch returns.
+ */
+public class TaskBatchConsumer implements Consumer<Message<List<byte[]>>> {
+
+    static final String DLQ_REASON_FAILED = "processing-failed";
+
+    private static final Logger log = LoggerFactory.getLogger(TaskBatchConsumer.class);
+
+    /**
+     * A raw record of the batch.
+     */
+    record TaskRecord(byte[] value, Object key, Map<String, Object> headers) {
+    }
+
+    private final EnvelopeBatchProcessor<TaskRecord> processor;
+
+    /**
+     * @param handler        validates one envelope against the batch clock reading and starts handling it
+     * @param recovery       turns a failed task into its reply on the listener thread, once the batch is handled
+     * @param converter      decodes record values and encodes replies
+     * @param streamBridge   used to send replies and dead letters
+     * @param dlqDestination destination for records that fail
+     */
+    public TaskBatchConsumer(EnvelopeBatchProcessor.AsyncHandler handler,
+                             EnvelopeBatchProcessor.Recovery<TaskRecord> recovery,
+                             A2AEnvelopeMessageConverter converter, StreamBridge streamBridge, String dlqDestination,
+                             Clock clock) {
+        this.processor = recordProcessor(handler, recovery, converter, streamBridge, dlqDestination, clock);
+    }
+
+    /**
+     * The decode, reply and dead-letter steps shared with {@link ParallelTaskConsumer}.
+     */
+    static EnvelopeBatchProcessor<TaskRecord> recordProcessor(EnvelopeBatchProcessor.AsyncHandler handler,
+                                                              EnvelopeBatchProcessor.Recovery<TaskRecord> recovery,
+                                                              A2AEnvelopeMessageConverter converter,
+                                                              StreamBridge streamBridge, String dlqDestination,
+                                                              Clock clock) {
+        return EnvelopeBatchProcessor.async(
+                record -> decode(converter, record),
+                handler,
+                recovery,
+                (source, reply) -> reply(converter, streamBridge, source.key(), reply),
+                (record, cause) -> deadLetter(streamBridge, dlqDestination, record, cause),
+                clock);
+    }
+
+    @Override
+    public void accept(Message<List<byte[]>> batch) {
+        EnvelopeBatchProcessor.Result result = processor.process(records(batch));
+        log.debug("Processed task batch of {} records: {} replies, {} dead-lettered", result.records(),
+                result.replies(), result.deadLettered());
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<TaskRecord> records(Message<List<byte[]>> batch) {
+        List<byte[]> values = batch.getPayload();
+        List<Map<String, Object>> headers =
+                (List<Map<String, Object>>) batch.getHeaders().get(KafkaHeaders.BATCH_CONVERTED_HEADERS);
+        List<?> keys = (List<?>) batch.getHeaders().get(KafkaHeaders.RECEIVED_KEY);
+        List<TaskRecord> records = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            records.add(new TaskRecord(values.get(i),
+                    keys != null ? keys.get(i) : null,
+                    headers != null ? headers.get(i) : Map.of()));
+        }
+        return records;
+    }
+
+    static A2AMessageEnvelope decode(A2AEnvelopeMessageConverter converter, TaskRecord record) {
+        return (A2AMessageEnvelope) converter.fromMessage(
+                new GenericMessage<>(record.value(), new MessageHeaders(record.headers())), A2AMessageEnvelope.class);
+    }
+
+    /**
+     * @param key key of the task record the reply answers, or null
+     */
+    static void reply(A2AEnvelopeMessageConverter converter, StreamBridge streamBridge, Object key,
+                      A2AMessageEnvelope reply) {
+        MessageHeaders headers = key != null ? new MessageHeaders(Map.of(KafkaHeaders.KEY, key)) : null;
+        if (!streamBridge.send(TaskListenerContainerConfig.TASKS_OUTPUT_BINDING, converter.toMessage(reply, headers))) {
+            throw new IllegalStateException("Failed to send reply " + reply.getId());
+        }
+    }
+
+    static void deadLetter(StreamBridge streamBridge, String dlqDestination, TaskRecord record,
+                                   Exception cause) {
+        log.warn("Dead-lettering task record to {}: {}", dlqDestination, cause.toString());
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(record.value());
+        for (Map.Entry<String, Object> header : record.headers().entrySet()) {
+            if (header.getKey().startsWith(A2AKafkaHeaders.PREFIX)) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        builder.setHeader(A2AKafkaHeaders.DLQ_REASON, DLQ_REASON_FAILED.getBytes(StandardCharsets.UTF_8));
+        builder.setHeader(KafkaHeaders.DLT_EXCEPTION_FQCN, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        builder.setHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE,
+                String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        if (record.key() != null) {
+            builder.setHeader(KafkaHeaders.KEY, record.key());
+        }
+        if (!streamBridge.send(dlqDestination, builder.build())) {
+            throw new IllegalStateException("Failed to dead-letter task record to " + dlqDestination, cause);
+        }
+    }
+}
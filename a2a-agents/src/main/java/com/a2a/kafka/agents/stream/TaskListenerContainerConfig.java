@@ -0,0 +1,112 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.agents.config.AgentConfigurationService;
+import com.a2a.kafka.core.config.A2ASystemProperties;
+import com.a2a.kafka.core.serialization.RawEnvelopeForwarder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.config.ListenerContainerCustomizer;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.CompositeRecordInterceptor;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.Clock;
+import java.util.List;
+
+/**
+ * Installs header-only record stages on the listener container of the tasks topic.
+ * Interceptors run on the raw Kafka record, before the binder converts the value to an envelope.
+ * With {@code a2a.processing.batch-mode} the stages run on each record of the polled batch, and offsets
+ * are committed once per batch. With {@code a2a.processing.parallel-mode} the container switches to manual
+ * acknowledgment and is paused while {@code a2a.processing.max-in-flight} records are running. With
+ * {@code a2a.processing.backpressure-enabled} the container is paused while an agent is at its concurrency limit.
+ */
+@Configuration
+public class TaskListenerContainerConfig {
+
+    /**
+     * Output binding of {@code processAgentTasks}; relayed non-command records are sent there.
+     */
+    static final String TASKS_OUTPUT_BINDING = "processAgentTasks-out-0";
+
+    /**
+     * Runs first, so expired records are neither routed nor deserialized.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnProperty(prefix = "a2a.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ExpiredRecordInterceptor expiredRecordInterceptor(A2ASystemProperties properties, StreamBridge streamBridge,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        A2ASystemProperties.ExpiryConfiguration expiry = properties.getExpiry();
+        return new ExpiredRecordInterceptor(
+                "dlq".equalsIgnoreCase(expiry.getAction()) ? expiry.getDlqDestination() : null,
+                streamBridge, meterRegistry.getIfAvailable(), Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "a2a.routing", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public HeaderRoutingInterceptor headerRoutingInterceptor(A2ASystemProperties properties, StreamBridge streamBridge,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        A2ASystemProperties.RoutingConfiguration routing = properties.getRouting();
+        return new HeaderRoutingInterceptor(
+                new HeaderRoutingFilter(routing, TASKS_OUTPUT_BINDING),
+                new RawEnvelopeForwarder(routing.getForwarderId(), routing.getMaxHops(), Clock.systemUTC()),
+                streamBridge, properties.getProcessing().getDlqDestination(), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * Limits each agent to its {@code a2a.agents.<agent>.max-concurrent}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "a2a.processing", name = "backpressure-enabled", havingValue = "true",
+            matchIfMissing = true)
+    public BackpressureController taskBackpressureController(A2ASystemProperties properties,
+                                                             AgentConfigurationService agents,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BackpressureController(agents.maxConcurrentByAgent(),
+                properties.getProcessing().getResumePercent(), meterRegistry.getIfAvailable());
+    }
+
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ListenerContainerCustomizer<AbstractMessageListenerContainer<?, ?>> taskListenerContainerCustomizer(
+            A2ASystemProperties properties, ObjectProvider<RecordInterceptor<Object, Object>> interceptors,
+            ObjectProvider<BackpressureController> backpressure, ObjectProvider<ParallelTaskConsumer> parallel) {
+        return (container, destinationName, group) -> {
+            if (!properties.getTopics().getTasks().equals(destinationName)) {
+                return;
+            }
+            // Paused while either the agent limits or the parallel in-flight limit hold it paused
+            BackpressureController.Valve valve =
+                    BackpressureController.Valve.shared(BackpressureController.Valve.of(container));
+            backpressure.ifAvailable(controller -> controller.attach(valve));
+            boolean batchMode = properties.getProcessing().isBatchMode();
+            if (batchMode) {
+                container.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+            } else if (properties.getProcessing().isParallelMode()) {
+                // ParallelTaskConsumer acknowledges each partition's completed prefix from its worker threads
+                container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+                parallel.ifAvailable(consumer -> consumer.attach(container, valve));
+            }
+            List<RecordInterceptor<Object, Object>> stages = interceptors.orderedStream().toList();
+            if (stages.isEmpty()) {
+                return;
+            }
+            CompositeRecordInterceptor<Object, Object> composite =
+                    new CompositeRecordInterceptor<>(stages.toArray(RecordInterceptor[]::new));
+            if (batchMode) {
+                ((AbstractMessageListenerContainer) container)
+                        .setBatchInterceptor(new RecordStagesBatchInterceptor(composite));
+            } else {
+                ((AbstractMessageListenerContainer) container).setRecordInterceptor(composite);
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.config.A2ASystemProperties;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+
+import java.time.Clock;
+import java.util.function.Consumer;
+
+/**
+ * Retry topics of {@code processAgentTasks}, with {@code a2a.processing.retry-topics-enabled}: tasks that fail
+ * with a retryable error are re-published to the {@link TaskRetryTier} topics, each consumed by its own
+ * function ({@code retryAgentTasks1s}, {@code retryAgentTasks10s}, {@code retryAgentTasks60s}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "a2a.processing", name = "retry-topics-enabled", havingValue = "true",
+        matchIfMissing = true)
+public class TaskRetryConfig {
+
+    @Bean
+    public TaskRetryTopics taskRetryTopics(A2ASystemProperties properties, A2AEnvelopeMessageConverter converter,
+                                           StreamBridge streamBridge) {
+        return new TaskRetryTopics(converter, streamBridge::send, properties.getTopics().getTasks(),
+                properties.getProcessing().getDlqDestination());
+    }
+
+    @Bean
+    public Consumer<Message<byte[]>> retryAgentTasks1s(ProcessorsConfig processors, A2ASystemProperties properties,
+                                                       A2AEnvelopeMessageConverter converter,
+                                                       StreamBridge streamBridge) {
+        return retryConsumer(TaskRetryTier.ONE_SECOND, processors, properties, converter, streamBridge);
+    }
+
+    @Bean
+    public Consumer<Message<byte[]>> retryAgentTasks10s(ProcessorsConfig processors, A2ASystemProperties properties,
+                                                        A2AEnvelopeMessageConverter converter,
+                                                        StreamBridge streamBridge) {
+        return retryConsumer(TaskRetryTier.TEN_SECONDS, processors, properties, converter, streamBridge);
+    }
+
+    @Bean
+    public Consumer<Message<byte[]>> retryAgentTasks60s(ProcessorsConfig processors, A2ASystemProperties properties,
+                                                        A2AEnvelopeMessageConverter converter,
+                                                        StreamBridge streamBridge) {
+        return retryConsumer(TaskRetryTier.SIXTY_SECONDS, processors, properties, converter, streamBridge);
+    }
+
+    private static RetryTaskConsumer retryConsumer(TaskRetryTier tier, ProcessorsConfig processors,
+                                                   A2ASystemProperties properties,
+                                                   A2AEnvelopeMessageConverter converter, StreamBridge streamBridge) {
+        return new RetryTaskConsumer(tier, processors::process, converter, streamBridge,
+                properties.getProcessing().getDlqDestination(), Clock.systemUTC());
+    }
+}
@@ -0,0 +1,47 @@
+package com.a2a.kafka.agents.stream;
+
+import java.time.Duration;
+
+/**
+ * Retry topics of the tasks topic, in the order a failing task passes through them. A record on a tier is
+ * not processed before its timestamp plus the tier's delay.
+ */
+public enum TaskRetryTier {
+
+    ONE_SECOND("a2a.tasks.retry.1s", Duration.ofSeconds(1)),
+    TEN_SECONDS("a2a.tasks.retry.10s", Duration.ofSeconds(10)),
+    SIXTY_SECONDS("a2a.tasks.retry.60s", Duration.ofSeconds(60));
+
+    private final String topic;
+    private final Duration delay;
+
+    TaskRetryTier(String topic, Duration delay) {
+        this.topic = topic;
+        this.delay = delay;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    public Duration delay() {
+        return delay;
+    }
+
+    /**
+     * @return the attempt tasks on this tier are processed as; the first attempt is on the tasks topic
+     */
+    public int attempt() {
+        return ordinal() + 2;
+    }
+
+    /**
+     * @param attempt attempt number, 1 on the tasks topic
+     * @return the tier that attempt runs on, or null for the first attempt and once every tier has been tried
+     */
+    public static TaskRetryTier forAttempt(int attempt) {
+        TaskRetryTier[] tiers = values();
+        int index = attempt - 2;
+        return index >= 0 && index < tiers.length ? tiers[index] : null;
+    }
+}
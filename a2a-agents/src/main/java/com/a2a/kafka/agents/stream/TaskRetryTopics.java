@@ -0,0 +1,112 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.agents.core.RetryUtils;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Moves tasks that failed with a retryable error (see {@link RetryUtils#isRetryable}) off the tasks topic:
+ * each failed attempt is re-published to the {@link TaskRetryTier} of the next attempt, and once every tier
+ * has been tried to the dead-letter destination. The partition the task came from carries on with the next
+ * record instead of waiting out the backoff. Tasks carry their attempt number in
+ * {@link A2AKafkaHeaders#RETRY_ATTEMPT} and the tasks topic in {@link A2AKafkaHeaders#ORIGINAL_TOPIC}, and
+ * keep the key of their task record, so every attempt and the dead letter land on one partition.
+ */
+public class TaskRetryTopics {
+
+    static final String DLQ_REASON_EXHAUSTED = "retries-exhausted";
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRetryTopics.class);
+
+    /**
+     * Publishes a message to a destination, e.g. {@code StreamBridge::send}.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        boolean send(String destination, Message<?> message);
+    }
+
+    private final A2AEnvelopeMessageConverter converter;
+    private final Sender sender;
+    private final String originalTopic;
+    private final String dlqDestination;
+
+    /**
+     * @param converter      encodes the task
+     * @param sender         publishes it
+     * @param originalTopic  the tasks topic
+     * @param dlqDestination destination for tasks whose retries are exhausted
+     */
+    public TaskRetryTopics(A2AEnvelopeMessageConverter converter, Sender sender, String originalTopic,
+                           String dlqDestination) {
+        this.converter = converter;
+        this.sender = sender;
+        this.originalTopic = originalTopic;
+        this.dlqDestination = dlqDestination;
+    }
+
+    /**
+     * @param task    the task whose attempt failed
+     * @param key     key of the task record, or null if it has none
+     * @param attempt the failed attempt, 1 on the tasks topic
+     * @param cause   why it failed
+     * @return whether the task was re-published; false if the failure is not retryable
+     * @throws IllegalStateException if the task could not be re-published
+     */
+    public boolean retry(A2AMessageEnvelope task, Object key, int attempt, Throwable cause) {
+        if (!RetryUtils.isRetryable(cause)) {
+            return false;
+        }
+        TaskRetryTier tier = TaskRetryTier.forAttempt(attempt + 1);
+        MessageHeaders headers = key != null ? new MessageHeaders(Map.of(KafkaHeaders.KEY, key)) : null;
+        MessageBuilder<?> builder = MessageBuilder.fromMessage(converter.toMessage(task, headers))
+                .setHeader(A2AKafkaHeaders.RETRY_ATTEMPT, bytes(String.valueOf(attempt + 1)))
+                .setHeader(A2AKafkaHeaders.ORIGINAL_TOPIC, bytes(originalTopic));
+        String destination;
+        if (tier != null) {
+            destination = tier.topic();
+            log.info("Task {} failed attempt {}: {}; retrying from {}", task.getId(), attempt, cause.toString(),
+                    destination);
+        } else {
+            destination = dlqDestination;
+            log.warn("Task {} failed attempt {}: {}; retries exhausted, dead-lettering to {}", task.getId(), attempt,
+                    cause.toString(), destination);
+            builder.setHeader(A2AKafkaHeaders.DLQ_REASON, bytes(DLQ_REASON_EXHAUSTED))
+                    .setHeader(KafkaHeaders.DLT_EXCEPTION_FQCN, bytes(cause.getClass().getName()))
+                    .setHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE, bytes(String.valueOf(cause.getMessage())));
+        }
+        if (!sender.send(destination, builder.build())) {
+            throw new IllegalStateException("Failed to send task " + task.getId() + " to " + destination, cause);
+        }
+        return true;
+    }
+
+    /**
+     * @return the attempt a record on {@code tier} is processed as, from its {@link A2AKafkaHeaders#RETRY_ATTEMPT}
+     * header, else the tier's own
+     */
+    static int attempt(Map<String, Object> headers, TaskRetryTier tier) {
+        Object value = headers.get(A2AKafkaHeaders.RETRY_ATTEMPT);
+        String attempt = value instanceof byte[] raw ? new String(raw, StandardCharsets.UTF_8)
+                : value != null ? value.toString() : null;
+        try {
+            return attempt != null ? Integer.parseInt(attempt.trim()) : tier.attempt();
+        } catch (NumberFormatException e) {
+            return tier.attempt();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 public class SummarizerAgent extends AbstractBaseAgent {
@@ -32,22 +33,43 @@ public class SummarizerAgent extends AbstractBaseAgent {
     }
 
     public String summarize(String text, String lengthHint) {
+        String cleaned = validate(text, lengthHint);
+        // Graceful handling of very short content: if extremely short, just return as-is
+        if (cleaned.length() < 20) {
+            return cleaned;
+        }
+        return chat.chat("summarizer", variables(cleaned, lengthHint));
+    }
+
+    /**
+     * Like {@link #summarize}, without blocking on the model call.
+     *
+     * @throws IllegalArgumentException if the text is blank or the length hint is not supported
+     */
+    public CompletableFuture<String> summarizeAsync(String text, String lengthHint) {
+        String cleaned = validate(text, lengthHint);
+        if (cleaned.length() < 20) {
+            return CompletableFuture.completedFuture(cleaned);
+        }
+        return chat.chatAsync("summarizer", variables(cleaned, lengthHint));
+    }
+
+    private String validate(String text, String lengthHint) {
         String cleaned = sanitize(text);
         if (cleaned.isEmpty()) {
             throw new IllegalArgumentException("text must not be blank");
         }
-        String hint = normalizeHint(lengthHint);
-        if (!ALLOWED_HINTS.contains(hint)) {
+        if (!ALLOWED_HINTS.contains(normalizeHint(lengthHint))) {
             throw new IllegalArgumentException("Invalid length hint: " + lengthHint);
         }
-        // Graceful handling of very short content: if extremely short, just return as-is
-        if (cleaned.length() < 20) {
-            return cleaned;
-        }
+        return cleaned;
+    }
+
+    private Map<String, Object> variables(String cleaned, String lengthHint) {
         Map<String, Object> vars = new HashMap<>();
         vars.put("text", cleaned);
-        vars.put("lengthHint", hint);
-        return chat.chat("summarizer", vars);
+        vars.put("lengthHint", normalizeHint(lengthHint));
+        return vars;
     }
 
     public Stream<String> summarizeStream(String text, String lengthHint) {
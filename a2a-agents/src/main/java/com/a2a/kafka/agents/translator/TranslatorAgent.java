@@ -7,6 +7,7 @@ import com.a2a.kafka.agents.util.LanguageDetector;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 public class TranslatorAgent extends AbstractBaseAgent {
@@ -31,6 +32,21 @@ public class TranslatorAgent extends AbstractBaseAgent {
     }
 
     public TranslationResult translate(String text, String targetLanguage) {
+        Request request = request(text, targetLanguage);
+        return request.result(chat.chat("translator", request.variables()));
+    }
+
+    /**
+     * Like {@link #translate}, without blocking on the model call.
+     *
+     * @throws IllegalArgumentException if the text is blank or the target language is not supported
+     */
+    public CompletableFuture<TranslationResult> translateAsync(String text, String targetLanguage) {
+        Request request = request(text, targetLanguage);
+        return chat.chatAsync("translator", request.variables()).thenApply(request::result);
+    }
+
+    private Request request(String text, String targetLanguage) {
         String sanitized = sanitize(text);
         if (sanitized.isEmpty()) {
             throw new IllegalArgumentException("text must not be blank");
@@ -45,8 +61,13 @@ public class TranslatorAgent extends AbstractBaseAgent {
         Map<String, Object> vars = new HashMap<>();
         vars.put("text", sanitized);
         vars.put("targetLanguage", target);
-        String translated = chat.chat("translator", vars);
-        return new TranslationResult(translated, source, target, confidence);
+        return new Request(vars, source, target, confidence);
+    }
+
+    private record Request(Map<String, Object> variables, String source, String target, double confidence) {
+        TranslationResult result(String translated) {
+            return new TranslationResult(translated, source, target, confidence);
+        }
     }
 
     public Stream<String> translateStream(String text, String targetLanguage) {
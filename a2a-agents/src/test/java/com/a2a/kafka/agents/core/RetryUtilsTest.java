@@ -0,0 +1,105 @@
+package com.a2a.kafka.agents.core;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryUtilsTest {
+
+    private static final RetryUtils.Backoff FAST = new RetryUtils.Backoff(Duration.ofMillis(1), Duration.ofMillis(5), 2.0);
+
+    private final Executor direct = Runnable::run;
+
+    @Test
+    void retriesTransientFailuresWithoutHoldingTheCaller() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = RetryUtils.runWithRetryAsync(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new TransientAiException("503 Service Unavailable");
+            }
+            return "ok";
+        }, 3, FAST, new RetryBudget(10, 10), direct);
+
+        assertEquals("ok", result.join());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void fatalFailuresAreNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = RetryUtils.runWithRetryAsync(() -> {
+            attempts.incrementAndGet();
+            throw new NonTransientAiException("401 Unauthorized");
+        }, 3, FAST, new RetryBudget(10, 10), direct);
+
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(NonTransientAiException.class, failure.getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = RetryUtils.runWithRetryAsync(() -> {
+            attempts.incrementAndGet();
+            throw new TransientAiException("500 Internal Server Error");
+        }, 3, FAST, new RetryBudget(10, 10), direct);
+
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertEquals("All retry attempts failed", failure.getCause().getMessage());
+        assertInstanceOf(TransientAiException.class, failure.getCause().getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void retriesStopWhenTheBudgetIsSpent() {
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<String> result = RetryUtils.runWithRetryAsync(() -> {
+            attempts.incrementAndGet();
+            throw new TransientAiException("500 Internal Server Error");
+        }, 5, FAST, new RetryBudget(0, 1), direct);
+
+        CompletionException failure = assertThrows(CompletionException.class, result::join);
+        assertEquals("Retry budget exhausted", failure.getCause().getMessage());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void classifiesFailuresBySpringAiExceptionType() {
+        assertTrue(RetryUtils.isRetryable(new TransientAiException("503")));
+        assertTrue(RetryUtils.isRetryable(new IllegalStateException("wrapped", new TransientAiException("503"))));
+        assertFalse(RetryUtils.isRetryable(new NonTransientAiException("400")));
+        assertFalse(RetryUtils.isRetryable(new IllegalArgumentException("bad prompt")));
+    }
+
+    @Test
+    void backoffIsFullyJitteredUpToTheCappedExponential() {
+        RetryUtils.Backoff backoff = new RetryUtils.Backoff(Duration.ofMillis(100), Duration.ofSeconds(1), 2.0);
+
+        assertEquals(0, backoff.delayMillis(1, 0.0));
+        assertEquals(50, backoff.delayMillis(1, 0.5));
+        assertEquals(200, backoff.delayMillis(3, 0.5));
+        assertEquals(500, backoff.delayMillis(10, 0.5));
+    }
+
+    @Test
+    void budgetAllowsAFractionOfCallsOnceTheReserveIsSpent() {
+        RetryBudget budget = new RetryBudget(10, 1);
+
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        for (int i = 0; i < 10; i++) {
+            budget.called();
+        }
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+}
@@ -0,0 +1,98 @@
+package com.a2a.kafka.agents.dispatch;
+
+import com.a2a.kafka.agents.gp.GeneralPurposeAgent;
+import com.a2a.kafka.agents.service.ChatServiceClient;
+import com.a2a.kafka.agents.summarizer.SummarizerAgent;
+import com.a2a.kafka.agents.translator.TranslationResult;
+import com.a2a.kafka.agents.translator.TranslatorAgent;
+import com.a2a.kafka.agents.util.LanguageDetector;
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskDispatcherTest {
+
+    static class StubChat implements ChatServiceClient {
+        @Override
+        public String chat(String templateName, Map<String, Object> variables) {
+            return templateName + ":" + variables.get("text");
+        }
+
+        @Override
+        public String chat(String templateName, Map<String, Object> variables, String modelOverride,
+                           Double temperatureOverride, Integer maxTokensOverride) {
+            return chat(templateName, variables);
+        }
+    }
+
+    private final StubChat chat = new StubChat();
+
+    private TaskDispatcher dispatcher() {
+        TaskDispatcher.Builder builder = TaskDispatcher.builder();
+        AgentDispatchConfig.translatorRoutes(builder, new TranslatorAgent(chat, new LanguageDetector()));
+        AgentDispatchConfig.summarizerRoutes(builder, new SummarizerAgent(chat));
+        AgentDispatchConfig.generalPurposeRoutes(builder, new GeneralPurposeAgent(chat));
+        return builder.build();
+    }
+
+    private static Object result(TaskDispatcher dispatcher, A2AMessageEnvelope task) throws Exception {
+        return ((CompletionStage<?>) dispatcher.handlerFor(task).handle(task)).toCompletableFuture().join();
+    }
+
+    private static A2AMessageEnvelope command(String to, String method, Object payload) {
+        return A2AMessageBuilder.command("orchestrator", to, method, payload).build();
+    }
+
+    @Test
+    void buildsOneRoutePerAgentMethod() {
+        assertEquals(Set.of("translator/translate", "summarizer/summarize", "llm/respond"), dispatcher().getRoutes());
+    }
+
+    @Test
+    void routesTypedAndMapPayloadsToTheAgentsAsynchronously() throws Exception {
+        TaskDispatcher dispatcher = dispatcher();
+
+        A2AMessageEnvelope translate = command("translator", "translate",
+                A2AMessageBuilder.Payloads.translationRequest("Hello world", "de"));
+        TranslationResult translation = (TranslationResult) result(dispatcher, translate);
+        assertEquals("translator:Hello world", translation.getTranslatedText());
+        assertEquals("de", translation.getTargetLanguage());
+
+        String longText = "A document that is long enough to be summarized by the agent.";
+        A2AMessageEnvelope summarize = command("summarizer", "summarize", Map.of("text", longText, "length_hint", "short"));
+        assertEquals("summarizer:" + longText, result(dispatcher, summarize));
+
+        A2AMessageEnvelope respond = command("llm", "respond", A2AMessageBuilder.Payloads.text("What is Kafka?"));
+        assertEquals("general:What is Kafka?", result(dispatcher, respond));
+    }
+
+    @Test
+    void unknownTargetsAndMethodsHaveNoHandler() {
+        TaskDispatcher dispatcher = dispatcher();
+
+        assertNull(dispatcher.handlerFor(command("translator", "summarize", Map.of())));
+        assertNull(dispatcher.handlerFor(command("agent-x", "translate", Map.of())));
+        assertNull(dispatcher.handlerFor(null, "translate"));
+    }
+
+    @Test
+    void rejectsDuplicateRoutes() {
+        TaskDispatcher.Builder builder = TaskDispatcher.builder().route("translator", "translate", task -> null);
+
+        assertThrows(IllegalStateException.class, () -> builder.route("translator", "translate", task -> null));
+    }
+
+    @Test
+    void invalidRequestsFailWithIllegalArgument() {
+        TaskDispatcher dispatcher = dispatcher();
+        A2AMessageEnvelope translate = command("translator", "translate", Map.of("text", "Hello", "target_language", "xx"));
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.handlerFor(translate).handle(translate));
+    }
+}
@@ -0,0 +1,56 @@
+package com.a2a.kafka.agents.service;
+
+import com.a2a.kafka.core.config.OpenAIProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ChatServiceTest {
+
+    private final ChatClient chatClient = mock(ChatClient.class, RETURNS_DEEP_STUBS);
+    private final ChatService service = new ChatService(chatClient, new PromptTemplateService(), properties());
+
+    private static OpenAIProperties properties() {
+        OpenAIProperties properties = new OpenAIProperties();
+        properties.setMaxRetries(3);
+        properties.setRetryInitialBackoff(Duration.ofMillis(1));
+        return properties;
+    }
+
+    private ChatClient.CallResponseSpec call() {
+        return chatClient.prompt().user(anyString()).options(any(OpenAiChatOptions.class)).call();
+    }
+
+    @AfterEach
+    void close() throws InterruptedException {
+        service.close();
+    }
+
+    @Test
+    void synchronousChatRetriesServerErrors() {
+        when(call().content()).thenThrow(new TransientAiException("503 Service Unavailable")).thenReturn("Hallo");
+
+        assertEquals("Hallo", service.chat("translator", Map.of("targetLanguage", "de", "text", "Hello")));
+        verify(call(), times(2)).content();
+    }
+
+    @Test
+    void synchronousChatNoLongerRetriesOtherRuntimeExceptions() {
+        when(call().content()).thenThrow(new IllegalStateException("Unexpected response"));
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class,
+                () -> service.chat("translator", Map.of("targetLanguage", "de", "text", "Hello")));
+        assertEquals("Unexpected response", failure.getMessage());
+        verify(call(), times(1)).content();
+    }
+}
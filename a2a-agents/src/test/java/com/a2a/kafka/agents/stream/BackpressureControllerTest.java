@@ -0,0 +1,138 @@
+package com.a2a.kafka.agents.stream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackpressureControllerTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private final BackpressureController.Valve valve = new BackpressureController.Valve() {
+        @Override
+        public void pause() {
+            events.add("pause");
+        }
+
+        @Override
+        public void resume() {
+            events.add("resume");
+        }
+    };
+
+    @Test
+    void pausesAtTheLimitAndResumesAtTheLowWaterMark() {
+        BackpressureController controller = new BackpressureController(Map.of("translator", 4), 50, null);
+        controller.attach(valve);
+
+        for (int i = 0; i < 3; i++) {
+            controller.started("translator");
+        }
+        assertTrue(events.isEmpty());
+        controller.started("translator");
+        assertEquals(List.of("pause"), events);
+        assertTrue(controller.isPaused());
+
+        controller.finished("translator");
+        assertTrue(controller.isPaused());
+        controller.finished("translator");
+        assertFalse(controller.isPaused());
+        assertEquals(List.of("pause", "resume"), events);
+        assertEquals(2, controller.inFlight("translator"));
+    }
+
+    @Test
+    void sharedValveResumesOnlyWhenEveryHolderHasResumed() {
+        BackpressureController.Valve shared = BackpressureController.Valve.shared(valve);
+
+        shared.pause();
+        shared.pause();
+        shared.resume();
+        assertEquals(List.of("pause"), events);
+
+        shared.resume();
+        shared.resume();
+        assertEquals(List.of("pause", "resume"), events);
+    }
+
+    @Test
+    void resumesOnlyOnceEverySaturatedAgentHasDrained() {
+        BackpressureController controller = new BackpressureController(Map.of("translator", 1, "llm", 1), 0, null);
+        controller.attach(valve);
+
+        controller.started("translator");
+        controller.started("llm");
+        controller.finished("translator");
+        assertTrue(controller.isPaused());
+
+        controller.finished("llm");
+        assertFalse(controller.isPaused());
+        assertEquals(List.of("pause", "resume"), events);
+    }
+
+    @Test
+    void admitQueuesTasksOverTheLimitUntilASlotIsHandedOver() {
+        BackpressureController controller = new BackpressureController(Map.of("llm", 1), 0, null);
+        controller.attach(valve);
+        assertTrue(controller.admit("llm").isDone());
+
+        CompletableFuture<Void> second = controller.admit("llm");
+        CompletableFuture<Void> third = controller.admit("llm");
+        assertFalse(second.isDone());
+        assertEquals(2, controller.queued("llm"));
+        assertEquals(1, controller.inFlight("llm"));
+
+        controller.finished("llm");
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        assertEquals(1, controller.inFlight("llm"));
+        assertTrue(controller.isPaused());
+
+        controller.finished("llm");
+        assertTrue(third.isDone());
+        controller.finished("llm");
+        assertEquals(0, controller.inFlight("llm"));
+        assertEquals(0, controller.queued("llm"));
+        assertEquals(List.of("pause", "resume"), events);
+    }
+
+    @Test
+    void ignoresAgentsWithoutALimit() {
+        BackpressureController controller = new BackpressureController(Map.of("translator", 1), 50, null);
+        controller.attach(valve);
+
+        controller.started("agent-x");
+        controller.finished("agent-x");
+
+        assertEquals(0, controller.inFlight("agent-x"));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void pausesAValveAttachedWhilePaused() {
+        BackpressureController controller = new BackpressureController(Map.of("llm", 1), 50, null);
+        controller.started("llm");
+
+        controller.attach(valve);
+
+        assertEquals(List.of("pause"), events);
+    }
+
+    @Test
+    void reportsInFlightTasksAndPauseState() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BackpressureController controller = new BackpressureController(Map.of("summarizer", 2), 50, registry);
+
+        controller.started("summarizer");
+        controller.started("summarizer");
+
+        assertEquals(2.0, registry.get(BackpressureController.IN_FLIGHT_GAUGE).tag("agent", "summarizer").gauge().value());
+        assertEquals(1.0, registry.get(BackpressureController.PAUSED_GAUGE).gauge().value());
+    }
+}
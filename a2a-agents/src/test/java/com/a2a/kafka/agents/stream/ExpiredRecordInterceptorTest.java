@@ -0,0 +1,73 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiredRecordInterceptorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExpiredRecordInterceptor interceptor =
+            new ExpiredRecordInterceptor(null, null, registry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void dropsRecordsWhoseTtlElapsedSinceTheRecordTimestamp() {
+        // The value is not a valid envelope; the gate must decide from headers and timestamp alone
+        ConsumerRecord<Object, Object> stale = record(NOW.minusSeconds(31).toEpochMilli(), 30);
+
+        assertNull(interceptor.intercept(stale, null));
+        assertEquals(1.0, registry.get(ExpiredRecordInterceptor.EXPIRED_COUNTER)
+                .tags("topic", "a2a.tasks", "action", "drop").counter().count());
+    }
+
+    @Test
+    void passesFreshRecordsAndRecordsWithoutTtlOrTimestamp() {
+        ConsumerRecord<Object, Object> fresh = record(NOW.minusSeconds(29).toEpochMilli(), 30);
+        ConsumerRecord<Object, Object> noTtl = record(NOW.minusSeconds(3600).toEpochMilli(), null);
+        ConsumerRecord<Object, Object> noTimestamp = record(-1L, 30);
+
+        assertSame(fresh, interceptor.intercept(fresh, null));
+        assertSame(noTtl, interceptor.intercept(noTtl, null));
+        assertSame(noTimestamp, interceptor.intercept(noTimestamp, null));
+        assertTrue(registry.find(ExpiredRecordInterceptor.EXPIRED_COUNTER).counters().isEmpty());
+    }
+
+    @Test
+    void readsTheTtlWrittenByTheSerializer() {
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", "translator", "translate", Map.of("text", "Hi"))
+                .ttlSeconds(10)
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.tasks", headers, command);
+        long sent = NOW.minusSeconds(11).toEpochMilli();
+
+        assertTrue(ExpiredRecordInterceptor.isExpired(headers, sent, NOW.toEpochMilli()));
+        assertFalse(ExpiredRecordInterceptor.isExpired(headers, sent, sent + 10_000L));
+    }
+
+    private static ConsumerRecord<Object, Object> record(long timestamp, Integer ttlSeconds) {
+        RecordHeaders headers = new RecordHeaders();
+        if (ttlSeconds != null) {
+            headers.add("a2a_ttl", String.valueOf(ttlSeconds * 1000L).getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] value = "not an envelope".getBytes(StandardCharsets.UTF_8);
+        return new ConsumerRecord<>("a2a.tasks", 0, 0L, timestamp, TimestampType.CREATE_TIME, 0, value.length,
+                null, value, headers, Optional.empty());
+    }
+}
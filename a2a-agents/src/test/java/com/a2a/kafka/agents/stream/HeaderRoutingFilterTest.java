@@ -0,0 +1,117 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.serialization.RawEnvelopeForwarder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class HeaderRoutingFilterTest {
+
+    private final HeaderRoutingFilter filter = new HeaderRoutingFilter(
+            Set.of("translator", "summarizer"), Map.of("billing", "a2a.tasks.billing"));
+
+    @Test
+    void decidesFromSerializerWrittenHeaders() {
+        assertEquals(HeaderRoutingFilter.Action.ACCEPT, filter.decide(headersFor("translator")).action());
+        assertEquals(HeaderRoutingFilter.Action.DROP, filter.decide(headersFor("unknown-agent")).action());
+
+        HeaderRoutingFilter.Decision forward = filter.decide(headersFor("billing"));
+        assertEquals(HeaderRoutingFilter.Action.FORWARD, forward.action());
+        assertEquals("a2a.tasks.billing", forward.destination());
+    }
+
+    @Test
+    void acceptsRecordsWithoutRoutingHeaders() {
+        assertEquals(HeaderRoutingFilter.Action.ACCEPT, filter.decide(new RecordHeaders()).action());
+    }
+
+    @Test
+    void emptyAcceptListAcceptsEveryTarget() {
+        HeaderRoutingFilter acceptAll = new HeaderRoutingFilter(Set.of(), Map.of());
+        assertEquals(HeaderRoutingFilter.Action.ACCEPT, acceptAll.decide(headersFor("anyone")).action());
+    }
+
+    @Test
+    void nonCommandsArePassedThroughWhenEnabled() {
+        HeaderRoutingFilter relay = new HeaderRoutingFilter(Set.of("translator"), Map.of(), "processAgentTasks-out-0");
+        A2AMessageEnvelope event = A2AMessageBuilder.event("tester", Map.of("status", "UP")).build();
+        RecordHeaders headers = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.tasks", headers, event);
+
+        HeaderRoutingFilter.Decision decision = relay.decide(headers);
+        assertEquals(HeaderRoutingFilter.Action.FORWARD, decision.action());
+        assertEquals("processAgentTasks-out-0", decision.destination());
+        assertEquals(HeaderRoutingFilter.Action.ACCEPT, relay.decide(headersFor("translator")).action());
+    }
+
+    @Test
+    void interceptorSkipsDroppedRecordsWithoutTouchingTheValue() {
+        HeaderRoutingInterceptor interceptor = new HeaderRoutingInterceptor(filter, new RawEnvelopeForwarder("processor"), null);
+        // The value is not a valid envelope; a header-only stage must never look at it
+        byte[] garbage = "not an envelope".getBytes(StandardCharsets.UTF_8);
+
+        ConsumerRecord<Object, Object> dropped = record(headersFor("unknown-agent"), garbage);
+        assertNull(interceptor.intercept(dropped, null));
+
+        ConsumerRecord<Object, Object> accepted = record(headersFor("translator"), garbage);
+        assertSame(accepted, interceptor.intercept(accepted, null));
+    }
+
+    @Test
+    void recordsAtTheHopLimitAreDeadLetteredAndCounted() {
+        StreamBridge streamBridge = mock(StreamBridge.class);
+        when(streamBridge.send(anyString(), any())).thenReturn(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        HeaderRoutingInterceptor interceptor = new HeaderRoutingInterceptor(filter,
+                new RawEnvelopeForwarder("processor", 2, Clock.systemUTC()), streamBridge, "a2a.tasks.dlq", registry);
+        byte[] value = "not an envelope".getBytes(StandardCharsets.UTF_8);
+        RecordHeaders headers = headersFor("billing");
+        headers.add(A2AKafkaHeaders.HOPS, "2".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(interceptor.intercept(record(headers, value), null));
+
+        ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass(Message.class);
+        verify(streamBridge).send(eq("a2a.tasks.dlq"), sent.capture());
+        assertSame(value, sent.getValue().getPayload());
+        assertArrayEquals("hop-limit".getBytes(StandardCharsets.UTF_8),
+                (byte[]) sent.getValue().getHeaders().get(A2AKafkaHeaders.DLQ_REASON));
+        assertArrayEquals("2".getBytes(StandardCharsets.UTF_8),
+                (byte[]) sent.getValue().getHeaders().get(A2AKafkaHeaders.HOPS));
+        assertEquals(1.0, registry.get(HeaderRoutingInterceptor.HOP_LIMIT_COUNTER)
+                .tags("topic", "a2a.tasks", "destination", "a2a.tasks.billing").counter().count());
+    }
+
+    private static RecordHeaders headersFor(String to) {
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", to, "do", Map.of("k", "v")).build();
+        RecordHeaders headers = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.tasks", headers, command);
+        System.out.println("[DEBUG_LOG] to=" + A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TO)
+                + " method=" + A2AKafkaHeaders.get(headers, A2AKafkaHeaders.METHOD));
+        return headers;
+    }
+
+    private static ConsumerRecord<Object, Object> record(RecordHeaders headers, byte[] value) {
+        ConsumerRecord<Object, Object> record = new ConsumerRecord<>("a2a.tasks", 0, 0L, null, value);
+        headers.forEach(header -> record.headers().add(header));
+        return record;
+    }
+}
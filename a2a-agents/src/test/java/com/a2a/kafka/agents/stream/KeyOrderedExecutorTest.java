@@ -0,0 +1,96 @@
+package com.a2a.kafka.agents.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    @Test
+    void runsTasksOfOneKeyInSubmissionOrder() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(64, Duration.ofSeconds(5))) {
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < 50; i++) {
+                int n = i;
+                last = executor.submit("task-1", () -> {
+                    if (n % 7 == 0) {
+                        sleep(2);
+                    }
+                    order.add(n);
+                });
+            }
+            last.get(5, TimeUnit.SECONDS);
+        }
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, order);
+    }
+
+    @Test
+    void runsDifferentKeysConcurrently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(8, Duration.ofSeconds(5))) {
+            Runnable awaitOther = () -> {
+                bothStarted.countDown();
+                try {
+                    assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            CompletableFuture<Void> a = executor.submit("task-a", awaitOther);
+            CompletableFuture<Void> b = executor.submit("task-b", awaitOther);
+            CompletableFuture.allOf(a, b).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void aFailedTaskDoesNotBlockItsKey() throws Exception {
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(8, Duration.ofSeconds(5))) {
+            CompletableFuture<Void> failed = executor.submit("task-1", () -> {
+                throw new IllegalStateException("boom");
+            });
+            CompletableFuture<Void> next = executor.submit("task-1", () -> { });
+
+            next.get(5, TimeUnit.SECONDS);
+            assertTrue(failed.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void asyncTasksHoldTheirKeyUntilTheirStageCompletes() throws Exception {
+        CompletableFuture<String> firstStage = new CompletableFuture<>();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        try (KeyOrderedExecutor executor = new KeyOrderedExecutor(8, Duration.ofSeconds(5))) {
+            CompletableFuture<Void> first = executor.submitAsync("task-1", () -> firstStage.thenAccept(order::add));
+            CompletableFuture<Void> second = executor.submit("task-1", () -> order.add("second"));
+            CompletableFuture<Void> other = executor.submit("task-2", () -> order.add("other"));
+
+            other.get(5, TimeUnit.SECONDS);
+            assertFalse(second.isDone());
+
+            firstStage.complete("first");
+            CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("other", "first", "second"), order);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
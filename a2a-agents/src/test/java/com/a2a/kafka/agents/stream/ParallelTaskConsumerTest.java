@@ -0,0 +1,117 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.batch.EnvelopeBatchProcessor;
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelTaskConsumerTest {
+
+    private final Map<Long, CompletableFuture<A2AMessageEnvelope>> replies = new ConcurrentHashMap<>();
+    private final List<Long> acknowledged = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private final BackpressureController.Valve valve = new BackpressureController.Valve() {
+        @Override
+        public void pause() {
+            events.add("pause");
+        }
+
+        @Override
+        public void resume() {
+            events.add("resume");
+        }
+    };
+
+    private CompletableFuture<A2AMessageEnvelope> reply(long offset) {
+        return replies.computeIfAbsent(offset, o -> new CompletableFuture<>());
+    }
+
+    private ParallelTaskConsumer consumer(int maxInFlight) {
+        EnvelopeBatchProcessor<TaskBatchConsumer.TaskRecord> processor = EnvelopeBatchProcessor.async(
+                record -> A2AMessageBuilder.command("tester", "translator", "translate", Map.of())
+                        .taskId(new String(record.value(), StandardCharsets.UTF_8))
+                        .build(),
+                (input, now) -> reply(Long.parseLong(input.getTaskId())),
+                (source, reply) -> { },
+                (record, cause) -> { },
+                Clock.systemUTC());
+        return new ParallelTaskConsumer(processor, new KeyOrderedExecutor(Duration.ofSeconds(5)), maxInFlight, 50,
+                Duration.ofSeconds(5));
+    }
+
+    private Message<byte[]> record(long offset) {
+        return MessageBuilder.withPayload(Long.toString(offset).getBytes(StandardCharsets.UTF_8))
+                .setHeader(KafkaHeaders.RECEIVED_PARTITION, 0)
+                .setHeader(KafkaHeaders.OFFSET, offset)
+                .setHeader(KafkaHeaders.RECEIVED_KEY, "key-" + offset)
+                .setHeader(KafkaHeaders.ACKNOWLEDGMENT, (Acknowledgment) () -> acknowledged.add(offset))
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5 seconds");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void pausesInsteadOfBlockingOnceMaxInFlightRecordsAreRunning() throws Exception {
+        try (ParallelTaskConsumer consumer = consumer(2)) {
+            consumer.attach(valve);
+
+            consumer.accept(record(0));
+            assertTrue(events.isEmpty());
+            consumer.accept(record(1));
+            assertEquals(List.of("pause"), events);
+            // Already fetched: accepted without waiting for a slot
+            consumer.accept(record(2));
+            assertEquals(3, consumer.inFlight());
+
+            reply(0).complete(null);
+            await(() -> consumer.inFlight() == 2);
+            assertTrue(consumer.isPaused());
+
+            reply(1).complete(null);
+            await(() -> !consumer.isPaused());
+            assertEquals(List.of("pause", "resume"), events);
+
+            reply(2).complete(null);
+            await(() -> consumer.inFlight() == 0);
+            await(() -> acknowledged.size() == 3);
+            assertEquals(List.of(0L, 1L, 2L), acknowledged);
+        }
+    }
+
+    @Test
+    void revokedPartitionsAcknowledgeNothing() throws Exception {
+        try (ParallelTaskConsumer consumer = consumer(8)) {
+            consumer.accept(record(0));
+            consumer.revoked(List.of(new TopicPartition("a2a.tasks", 0)));
+
+            reply(0).complete(null);
+            await(() -> consumer.inFlight() == 0);
+            assertTrue(acknowledged.isEmpty());
+        }
+    }
+}
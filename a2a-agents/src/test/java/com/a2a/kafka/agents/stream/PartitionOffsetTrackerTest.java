@@ -0,0 +1,74 @@
+package com.a2a.kafka.agents.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionOffsetTrackerTest {
+
+    private final PartitionOffsetTracker<String> tracker = new PartitionOffsetTracker<>();
+    private final List<String> acknowledged = new ArrayList<>();
+
+    @Test
+    void advancesOnlyOverTheContiguousCompletedPrefix() {
+        long generation = 0;
+        for (long offset = 10; offset < 14; offset++) {
+            generation = tracker.register(0, offset, "ack-" + offset);
+        }
+
+        assertFalse(tracker.complete(0, generation, 12, acknowledged::add));
+        assertFalse(tracker.complete(0, generation, 11, acknowledged::add));
+        assertTrue(tracker.complete(0, generation, 10, acknowledged::add));
+        assertEquals(List.of("ack-12"), acknowledged);
+        assertEquals(1, tracker.pending(0));
+
+        assertTrue(tracker.complete(0, generation, 13, acknowledged::add));
+        assertEquals(List.of("ack-12", "ack-13"), acknowledged);
+        assertEquals(0, tracker.pending(0));
+    }
+
+    @Test
+    void tracksPartitionsIndependently() {
+        long p0 = tracker.register(0, 5, "p0-5");
+        long p1 = tracker.register(1, 7, "p1-7");
+        tracker.register(0, 6, "p0-6");
+
+        assertTrue(tracker.complete(1, p1, 7, acknowledged::add));
+        assertFalse(tracker.complete(0, p0, 6, acknowledged::add));
+
+        assertEquals(List.of("p1-7"), acknowledged);
+        assertEquals(2, tracker.pending(0));
+    }
+
+    @Test
+    void replayedOffsetsDiscardStalePendingRecords() {
+        long old = tracker.register(0, 20, "old-20");
+        tracker.register(0, 21, "old-21");
+
+        // Partition reassigned and replayed from the last commit
+        long replayed = tracker.register(0, 20, "new-20");
+
+        assertFalse(tracker.complete(0, old, 21, acknowledged::add));
+        assertFalse(tracker.complete(0, old, 20, acknowledged::add));
+        assertTrue(tracker.complete(0, replayed, 20, acknowledged::add));
+        assertEquals(List.of("new-20"), acknowledged);
+    }
+
+    @Test
+    void completionsOfRevokedRecordsAreIgnored() {
+        long revoked = tracker.register(0, 30, "old-30");
+        tracker.revoke(0);
+        assertEquals(0, tracker.pending(0));
+
+        // Reassigned and redelivered from the same committed offset
+        long current = tracker.register(0, 30, "new-30");
+
+        assertFalse(tracker.complete(0, revoked, 30, acknowledged::add));
+        assertTrue(acknowledged.isEmpty());
+        assertTrue(tracker.complete(0, current, 30, acknowledged::add));
+        assertEquals(List.of("new-30"), acknowledged);
+    }
+}
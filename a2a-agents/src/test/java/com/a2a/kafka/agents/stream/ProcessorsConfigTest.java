@@ -1,22 +1,46 @@
 package com.a2a.kafka.agents.stream;
 
+import com.a2a.kafka.agents.dispatch.TaskDispatcher;
+import com.a2a.kafka.core.batch.EnvelopeBatchProcessor;
 import com.a2a.kafka.core.builder.A2AMessageBuilder;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
 import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.ErrorPayload;
+import com.a2a.kafka.core.payload.SuccessPayload;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.validation.ValidationPipeline;
+import com.a2a.kafka.core.validation.ValidationPipelines;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Disabled;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProcessorsConfigTest {
 
+    private static Message<A2AMessageEnvelope> message(A2AMessageEnvelope envelope) {
+        return MessageBuilder.withPayload(envelope).build();
+    }
+
     @Test
     void commandMessageProducesReplyWithOriginalIdAsTaskId() {
         ProcessorsConfig cfg = new ProcessorsConfig();
-        Function<A2AMessageEnvelope, A2AMessageEnvelope> processAgentTasks = cfg.processAgentTasks();
+        Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks = cfg.processAgentTasks();
 
         A2AMessageEnvelope input = A2AMessageBuilder
                 .command("tester", "agent-x", "do", Map.of("k", "v"))
@@ -25,7 +49,7 @@ class ProcessorsConfigTest {
 
         A2AMessageEnvelope output;
         try {
-            output = processAgentTasks.apply(input);
+            output = processAgentTasks.apply(message(input));
         } catch (Exception ex) {
             System.out.println("[DEBUG_LOG] exception in command test: " + ex);
             ex.printStackTrace(System.out);
@@ -42,7 +66,7 @@ class ProcessorsConfigTest {
     @Test
     void nonCommandMessageBecomesEvent() {
         ProcessorsConfig cfg = new ProcessorsConfig();
-        Function<A2AMessageEnvelope, A2AMessageEnvelope> processAgentTasks = cfg.processAgentTasks();
+        Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks = cfg.processAgentTasks();
 
         A2AMessageEnvelope input = A2AMessageBuilder
                 .event("tester", Map.of("hello", "world"))
@@ -51,7 +75,7 @@ class ProcessorsConfigTest {
 
         A2AMessageEnvelope output;
         try {
-            output = processAgentTasks.apply(input);
+            output = processAgentTasks.apply(message(input));
         } catch (Exception ex) {
             System.out.println("[DEBUG_LOG] exception in nonCommand test: " + ex);
             ex.printStackTrace(System.out);
@@ -67,4 +91,246 @@ class ProcessorsConfigTest {
         assertEquals("corr-2", output.getCorrelationId());
         assertEquals("world", ((Map<?,?>)output.getPayload()).get("hello"));
     }
+
+    @Test
+    void invalidCommandIsAnsweredWithValidationError() {
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipelines.defaults().getDefault());
+        Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks = cfg.processAgentTasks();
+
+        A2AMessageEnvelope invalid = A2AMessageBuilder
+                .command("tester", "agent x", "do", Map.of("k", "v"))
+                .build();
+        A2AMessageEnvelope output = processAgentTasks.apply(message(invalid));
+
+        assertEquals(MessageType.REPLY, output.getType());
+        assertEquals(invalid.getId(), output.getTaskId());
+        ErrorPayload error = (ErrorPayload) output.getPayload();
+        assertEquals("VALIDATION_ERROR", error.code());
+        assertEquals("To field contains invalid characters", error.message());
+        assertNull(processAgentTasks.apply(message(A2AMessageBuilder.event("tester", " ").build())));
+    }
+
+    @Test
+    void commandsAreDispatchedToTheAddressedAgentMethod() {
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("translator", "translate", task -> "Hallo Welt")
+                .route("translator", "detect", task -> {
+                    throw new IllegalArgumentException("text must not be blank");
+                })
+                .build();
+        Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks =
+                new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher).processAgentTasks();
+
+        A2AMessageEnvelope translated = processAgentTasks.apply(message(A2AMessageBuilder
+                .command("orchestrator", "translator", "translate",
+                        A2AMessageBuilder.Payloads.translationRequest("Hello world", "de"))
+                .build()));
+        assertEquals("translator", translated.getFrom());
+        assertEquals("Hallo Welt", ((SuccessPayload) translated.getPayload()).result());
+
+        A2AMessageEnvelope invalid = processAgentTasks.apply(message(
+                A2AMessageBuilder.command("orchestrator", "translator", "detect", Map.of()).build()));
+        assertEquals("INVALID_REQUEST", ((ErrorPayload) invalid.getPayload()).code());
+
+        A2AMessageEnvelope unsupported = processAgentTasks.apply(message(
+                A2AMessageBuilder.command("orchestrator", "agent-x", "do", Map.of()).build()));
+        assertEquals("UNSUPPORTED_METHOD", ((ErrorPayload) unsupported.getPayload()).code());
+    }
+
+    @Test
+    void asynchronousAgentResultsCompleteTheReplyLater() {
+        CompletableFuture<String> summary = new CompletableFuture<>();
+        CompletableFuture<String> rejected = new CompletableFuture<>();
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("summarizer", "summarize", task -> summary)
+                .route("summarizer", "reject", task -> rejected)
+                .build();
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher);
+
+        CompletableFuture<A2AMessageEnvelope> reply = cfg.processAsync(A2AMessageBuilder
+                .command("orchestrator", "summarizer", "summarize", Map.of("text", "long text"))
+                .build(), System.currentTimeMillis());
+        CompletableFuture<A2AMessageEnvelope> invalid = cfg.processAsync(A2AMessageBuilder
+                .command("orchestrator", "summarizer", "reject", Map.of())
+                .build(), System.currentTimeMillis());
+        assertFalse(reply.isDone());
+
+        summary.complete("short text");
+        rejected.completeExceptionally(new IllegalArgumentException("Invalid length hint"));
+
+        assertEquals("short text", ((SuccessPayload) reply.join().getPayload()).result());
+        assertEquals("INVALID_REQUEST", ((ErrorPayload) invalid.join().getPayload()).code());
+    }
+
+    @Test
+    void dispatchedTasksCountAgainstTheAgentLimitUntilTheirResultIsAvailable() {
+        CompletableFuture<String> summary = new CompletableFuture<>();
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("summarizer", "summarize", task -> summary)
+                .build();
+        BackpressureController backpressure = new BackpressureController(Map.of("summarizer", 1), 0, null);
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, backpressure);
+
+        CompletableFuture<A2AMessageEnvelope> reply = cfg.processAsync(A2AMessageBuilder
+                .command("orchestrator", "summarizer", "summarize", Map.of("text", "long text"))
+                .build(), System.currentTimeMillis());
+        assertEquals(1, backpressure.inFlight("summarizer"));
+        assertTrue(backpressure.isPaused());
+
+        summary.complete("short text");
+
+        assertEquals("short text", ((SuccessPayload) reply.join().getPayload()).result());
+        assertEquals(0, backpressure.inFlight("summarizer"));
+        assertFalse(backpressure.isPaused());
+    }
+
+    @Test
+    void dispatchQueuesTasksOverTheLimitWithoutBlockingThePollThread() throws Exception {
+        List<CompletableFuture<String>> summaries = new CopyOnWriteArrayList<>();
+        List<Boolean> onVirtualThread = new CopyOnWriteArrayList<>();
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("summarizer", "summarize", task -> {
+                    CompletableFuture<String> summary = new CompletableFuture<>();
+                    onVirtualThread.add(Thread.currentThread().isVirtual());
+                    summaries.add(summary);
+                    return summary;
+                })
+                .build();
+        BackpressureController backpressure = new BackpressureController(Map.of("summarizer", 1), 0, null);
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, backpressure);
+        long now = Clock.systemUTC().millis();
+
+        // The agent is saturated by the first task; the second must neither block nor start
+        CompletableFuture<A2AMessageEnvelope> first = cfg.startAsync(
+                A2AMessageBuilder.command("orchestrator", "summarizer", "summarize", Map.of("text", "one")).build(), now);
+        CompletableFuture<A2AMessageEnvelope> second = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> cfg.startAsync(A2AMessageBuilder.command("orchestrator", "summarizer", "summarize",
+                        Map.of("text", "two")).build(), now));
+        assertFalse(second.isDone());
+        assertEquals(1, summaries.size());
+        assertEquals(1, backpressure.inFlight("summarizer"));
+        assertEquals(1, backpressure.queued("summarizer"));
+
+        summaries.get(0).complete("1");
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (summaries.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2, summaries.size());
+        assertEquals(List.of(false, true), onVirtualThread);
+        assertEquals(1, backpressure.inFlight("summarizer"));
+        assertEquals(0, backpressure.queued("summarizer"));
+
+        summaries.get(1).complete("2");
+        assertNotNull(second.get(5, TimeUnit.SECONDS));
+        assertEquals(0, backpressure.inFlight("summarizer"));
+    }
+
+    @Test
+    void batchDispatchKeepsTheAgentLimit() throws Exception {
+        List<CompletableFuture<String>> summaries = new CopyOnWriteArrayList<>();
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("summarizer", "summarize", task -> {
+                    CompletableFuture<String> summary = new CompletableFuture<>();
+                    summaries.add(summary);
+                    return summary;
+                })
+                .build();
+        BackpressureController backpressure = new BackpressureController(Map.of("summarizer", 1), 0, null);
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, backpressure);
+        EnvelopeBatchProcessor<A2AMessageEnvelope> processor = EnvelopeBatchProcessor.async(
+                input -> input, cfg::startAsync, (source, reply) -> { }, (record, cause) -> { }, Clock.systemUTC());
+        List<A2AMessageEnvelope> batch = List.of(
+                A2AMessageBuilder.command("orchestrator", "summarizer", "summarize", Map.of("text", "one")).build(),
+                A2AMessageBuilder.command("orchestrator", "summarizer", "summarize", Map.of("text", "two")).build());
+
+        CompletableFuture<EnvelopeBatchProcessor.Result> result =
+                CompletableFuture.supplyAsync(() -> processor.process(batch));
+        Thread.sleep(50);
+        assertEquals(1, summaries.size());
+
+        summaries.get(0).complete("1");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (summaries.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(2, summaries.size());
+        assertEquals(1, backpressure.inFlight("summarizer"));
+
+        summaries.get(1).complete("2");
+        assertEquals(2, result.get(5, TimeUnit.SECONDS).replies());
+    }
+
+    @Test
+    void retryableAgentFailuresMoveToTheRetryTopicsInsteadOfReplying() {
+        List<String> destinations = new ArrayList<>();
+        TaskRetryTopics retryTopics = new TaskRetryTopics(
+                new A2AEnvelopeMessageConverter(new A2AMessageSerializer(), new A2AMessageDeserializer()),
+                (destination, message) -> destinations.add(destination), "a2a.tasks", "a2a.tasks.dlq");
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("llm", "respond", task -> CompletableFuture.failedFuture(
+                        new RuntimeException("All retry attempts failed", new TransientAiException("503"))))
+                .route("llm", "reject", task -> {
+                    throw new IllegalStateException("bug");
+                })
+                .build();
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, null, retryTopics);
+
+        A2AMessageEnvelope retried = cfg.processAsync(A2AMessageBuilder
+                .command("orchestrator", "llm", "respond", Map.of("text", "hi"))
+                .build(), "task-key", System.currentTimeMillis(), 3).join();
+        A2AMessageEnvelope failed = cfg.processAsync(A2AMessageBuilder
+                .command("orchestrator", "llm", "reject", Map.of("text", "hi"))
+                .build(), System.currentTimeMillis()).join();
+
+        assertNull(retried);
+        assertEquals(List.of("a2a.tasks.retry.60s"), destinations);
+        assertEquals("PROCESSING_ERROR", ((ErrorPayload) failed.getPayload()).code());
+    }
+
+    @Test
+    void blockingProcessingPublishesRetriesOnTheCallingThread() {
+        List<Thread> senders = new ArrayList<>();
+        TaskRetryTopics retryTopics = new TaskRetryTopics(
+                new A2AEnvelopeMessageConverter(new A2AMessageSerializer(), new A2AMessageDeserializer()),
+                (destination, message) -> senders.add(Thread.currentThread()), "a2a.tasks", "a2a.tasks.dlq");
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("llm", "respond", task -> CompletableFuture.supplyAsync(() -> {
+                    throw new TransientAiException("503");
+                }))
+                .build();
+        ProcessorsConfig cfg = new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, null, retryTopics);
+
+        A2AMessageEnvelope reply = cfg.process(A2AMessageBuilder
+                .command("orchestrator", "llm", "respond", Map.of("text", "hi"))
+                .build(), System.currentTimeMillis());
+
+        assertNull(reply);
+        assertEquals(List.of(Thread.currentThread()), senders);
+    }
+
+    @Test
+    void retriedTasksKeepTheKeyOfTheirRecord() {
+        List<Object> keys = new ArrayList<>();
+        TaskRetryTopics retryTopics = new TaskRetryTopics(
+                new A2AEnvelopeMessageConverter(new A2AMessageSerializer(), new A2AMessageDeserializer()),
+                (destination, message) -> keys.add(message.getHeaders().get(KafkaHeaders.KEY)), "a2a.tasks",
+                "a2a.tasks.dlq");
+        TaskDispatcher dispatcher = TaskDispatcher.builder()
+                .route("llm", "respond", task -> {
+                    throw new TransientAiException("503");
+                })
+                .build();
+        Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks =
+                new ProcessorsConfig(ValidationPipeline.NONE, null, dispatcher, null, retryTopics).processAgentTasks();
+
+        A2AMessageEnvelope reply = processAgentTasks.apply(MessageBuilder
+                .withPayload(A2AMessageBuilder.command("orchestrator", "llm", "respond", Map.of("text", "hi")).build())
+                .setHeader(KafkaHeaders.RECEIVED_KEY, "corr-7")
+                .build());
+
+        assertNull(reply);
+        assertEquals(List.of("corr-7"), keys);
+    }
 }
@@ -5,6 +5,8 @@ import com.a2a.kafka.core.message.A2AMessageEnvelope;
 import com.a2a.kafka.core.message.MessageType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import java.util.function.Function;
@@ -17,7 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class ProcessorsIntegrationTest {
 
     @Autowired
-    private Function<A2AMessageEnvelope, A2AMessageEnvelope> processAgentTasks;
+    private Function<Message<A2AMessageEnvelope>, A2AMessageEnvelope> processAgentTasks;
 
     @Test
     void commandFlowProducesReply() {
@@ -25,7 +27,7 @@ class ProcessorsIntegrationTest {
                 .command("tester", "agent-x", "do", A2AMessageBuilder.Payloads.text("hello"))
                 .correlationId("corr-100")
                 .build();
-        A2AMessageEnvelope out = processAgentTasks.apply(cmd);
+        A2AMessageEnvelope out = processAgentTasks.apply(MessageBuilder.withPayload(cmd).build());
         assertNotNull(out);
         assertEquals("corr-100", out.getCorrelationId());
         assertEquals(com.a2a.kafka.core.message.MessageType.REPLY, out.getType());
@@ -37,7 +39,7 @@ class ProcessorsIntegrationTest {
                 .event("tester", A2AMessageBuilder.Payloads.text("world"))
                 .correlationId("corr-200")
                 .build();
-        A2AMessageEnvelope out = processAgentTasks.apply(evt);
+        A2AMessageEnvelope out = processAgentTasks.apply(MessageBuilder.withPayload(evt).build());
         assertNotNull(out);
         assertEquals(com.a2a.kafka.core.message.MessageType.EVENT, out.getType());
         assertEquals("corr-200", out.getCorrelationId());
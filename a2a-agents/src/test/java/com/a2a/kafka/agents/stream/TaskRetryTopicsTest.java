@@ -0,0 +1,89 @@
+package com.a2a.kafka.agents.stream;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskRetryTopicsTest {
+
+    record Sent(String destination, Message<?> message) {
+        String header(String name) {
+            Object value = message.getHeaders().get(name);
+            return value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : null;
+        }
+    }
+
+    private final List<Sent> sent = new ArrayList<>();
+
+    private final A2AEnvelopeMessageConverter converter =
+            new A2AEnvelopeMessageConverter(new A2AMessageSerializer(), new A2AMessageDeserializer());
+
+    private final TaskRetryTopics retryTopics = new TaskRetryTopics(converter, (destination, message) -> {
+        sent.add(new Sent(destination, message));
+        return true;
+    }, "a2a.tasks", "a2a.tasks.dlq");
+
+    private final A2AMessageEnvelope task = A2AMessageBuilder.command("orchestrator", "llm", "respond", Map.of("text", "hi"))
+            .build();
+
+    @Test
+    void retryableFailuresMoveThroughTheTiersAndThenToTheDlq() {
+        TransientAiException failure = new TransientAiException("503 Service Unavailable");
+
+        for (int attempt = 1; attempt <= 4; attempt++) {
+            assertTrue(retryTopics.retry(task, "task-key", attempt, failure));
+        }
+
+        assertEquals(List.of("a2a.tasks.retry.1s", "a2a.tasks.retry.10s", "a2a.tasks.retry.60s", "a2a.tasks.dlq"),
+                sent.stream().map(Sent::destination).toList());
+        assertEquals(List.of("2", "3", "4", "5"), sent.stream().map(s -> s.header(A2AKafkaHeaders.RETRY_ATTEMPT)).toList());
+        assertEquals("a2a.tasks", sent.get(0).header(A2AKafkaHeaders.ORIGINAL_TOPIC));
+        assertNull(sent.get(2).header(A2AKafkaHeaders.DLQ_REASON));
+        assertEquals(TaskRetryTopics.DLQ_REASON_EXHAUSTED, sent.get(3).header(A2AKafkaHeaders.DLQ_REASON));
+        assertEquals(task.getId(),
+                ((A2AMessageEnvelope) converter.fromMessage(sent.get(0).message(), A2AMessageEnvelope.class)).getId());
+        assertEquals(List.of("task-key", "task-key", "task-key", "task-key"),
+                sent.stream().map(s -> s.message().getHeaders().get(KafkaHeaders.KEY)).toList());
+    }
+
+    @Test
+    void fatalFailuresAreNotRetried() {
+        assertFalse(retryTopics.retry(task, null, 1, new NonTransientAiException("400 Bad Request")));
+        assertFalse(retryTopics.retry(task, null, 1, new IllegalStateException("bug")));
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    void failingToPublishFailsTheRetry() {
+        TaskRetryTopics unavailable = new TaskRetryTopics(converter, (destination, message) -> false, "a2a.tasks",
+                "a2a.tasks.dlq");
+
+        assertThrows(IllegalStateException.class,
+                () -> unavailable.retry(task, null, 1, new TransientAiException("503 Service Unavailable")));
+    }
+
+    @Test
+    void readsTheAttemptFromTheHeaderOrTheTier() {
+        assertEquals(4, TaskRetryTopics.attempt(
+                Map.of(A2AKafkaHeaders.RETRY_ATTEMPT, "4".getBytes(StandardCharsets.UTF_8)), TaskRetryTier.TEN_SECONDS));
+        assertEquals(3, TaskRetryTopics.attempt(Map.of(), TaskRetryTier.TEN_SECONDS));
+        assertEquals(TaskRetryTier.ONE_SECOND, TaskRetryTier.forAttempt(2));
+        assertNull(TaskRetryTier.forAttempt(1));
+        assertNull(TaskRetryTier.forAttempt(5));
+    }
+}
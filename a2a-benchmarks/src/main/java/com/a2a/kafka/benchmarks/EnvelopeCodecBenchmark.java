@@ -0,0 +1,80 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.EnvelopeCodec;
+import com.a2a.kafka.core.serialization.EnvelopeCodecs;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and binary envelope codecs on a typical {@code a2a.events} message.
+ * The encoded size of each codec is reported as the {@code encodedBytes} secondary result so size and
+ * throughput can be read together.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnvelopeCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private EnvelopeCodec envelopeCodec;
+    private A2AMessageEnvelope envelope;
+    private byte[] encoded;
+
+    /**
+     * Encoded envelope size, reported next to the throughput.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedSize {
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void setup(EnvelopeCodecBenchmark benchmark) {
+            encodedBytes = benchmark.encoded.length;
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        envelopeCodec = EnvelopeCodecs.forName(codec);
+        envelope = A2AMessageBuilder
+                .event("translator", Map.of("agent", "translator", "status", "UP", "inFlight", 3))
+                .taskId("5d3b1f0e-8c1a-4a6e-9f0e-3f7c2b9d8a41")
+                .correlationId("0b6f9a3c-2d4e-4f1a-8b7c-6e5d4c3b2a19")
+                .ttlSeconds(30)
+                .build();
+        encoded = envelopeCodec.encode(envelope);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) throws IOException {
+        return envelopeCodec.encode(envelope);
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope decode(EncodedSize size) throws IOException {
+        return envelopeCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,92 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.id.MessageIds;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.SuccessPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envelope construction cost for the reply and forward derivations of {@code processAgentTasks}.
+ * {@code legacy*} reproduce the previous builder: a no-arg envelope (ID and clock call thrown away),
+ * a second ID and clock call in the builder, setters and an always-allocated headers map.
+ * Run with {@code -prof gc} to compare allocations per envelope.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnvelopeConstructionBenchmark {
+
+    private A2AMessageEnvelope command;
+    private SuccessPayload result;
+
+    @Setup
+    public void setup() {
+        command = A2AMessageBuilder
+                .command("orchestrator", "translator", "translate", A2AMessageBuilder.Payloads.translationRequest("Hi", "de"))
+                .correlationId("0b6f9a3c-2d4e-4f1a-8b7c-6e5d4c3b2a19")
+                .build();
+        result = A2AMessageBuilder.Payloads.success("Hallo");
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope legacyReply() {
+        String builderId = MessageIds.next();
+        Instant builderTimestamp = Instant.now();
+        Map<String, String> headers = new HashMap<>();
+        A2AMessageEnvelope envelope = new A2AMessageEnvelope();
+        envelope.setId(builderId);
+        envelope.setType(MessageType.REPLY);
+        envelope.setFrom("processor");
+        envelope.setTaskId(command.getId());
+        envelope.setPayload(result);
+        envelope.setTimestamp(builderTimestamp);
+        envelope.setHeaders(headers);
+        envelope.setCorrelationId(command.getCorrelationId());
+        return envelope;
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope builderReply() {
+        return A2AMessageBuilder.replyTo(command, "processor", result).build();
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope legacyForward() {
+        String builderId = MessageIds.next();
+        Instant builderTimestamp = Instant.now();
+        Map<String, String> headers = new HashMap<>();
+        A2AMessageEnvelope envelope = new A2AMessageEnvelope();
+        envelope.setId(builderId);
+        envelope.setType(MessageType.EVENT);
+        envelope.setFrom("processor");
+        envelope.setPayload(command.getPayload());
+        envelope.setTimestamp(builderTimestamp);
+        envelope.setHeaders(headers);
+        envelope.setCorrelationId(command.getCorrelationId());
+        return envelope;
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope forwardAs() {
+        return command.forwardAs(MessageIds.next(), MessageType.EVENT, "processor", Instant.now());
+    }
+}
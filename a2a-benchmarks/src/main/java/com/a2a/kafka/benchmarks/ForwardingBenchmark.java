@@ -0,0 +1,74 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.serialization.RawEnvelopeForwarder;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relay path cost: the previous decode, rebuild-as-event, re-encode cycle against raw byte[]
+ * pass-through that only copies and stamps the record headers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForwardingBenchmark {
+
+    private final A2AMessageSerializer serializer = new A2AMessageSerializer();
+    private final A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+    private final RawEnvelopeForwarder forwarder = new RawEnvelopeForwarder("processor");
+
+    private byte[] value;
+    private Headers headers;
+
+    @Setup
+    public void setup() {
+        A2AMessageEnvelope event = A2AMessageBuilder
+                .event("translator", Map.of("agent", "translator", "status", "UP", "inFlight", 3,
+                        "languages", List.of("en", "es", "de", "fr")))
+                .correlationId("0b6f9a3c-2d4e-4f1a-8b7c-6e5d4c3b2a19")
+                .build();
+        headers = new RecordHeaders();
+        value = serializer.serialize("a2a.events", headers, event);
+    }
+
+    @Benchmark
+    public void decodeRebuildEncode(Blackhole bh) {
+        A2AMessageEnvelope in = deserializer.deserialize("a2a.events", headers, value);
+        A2AMessageEnvelope out = A2AMessageBuilder.event("processor", in.getPayload())
+                .correlationId(in.getCorrelationId())
+                .build();
+        RecordHeaders outHeaders = new RecordHeaders();
+        bh.consume(serializer.serialize("a2a.replies", outHeaders, out));
+        bh.consume(outHeaders);
+    }
+
+    @Benchmark
+    public void rawPassThrough(Blackhole bh) {
+        RecordHeaders outHeaders = new RecordHeaders(headers.toArray());
+        bh.consume(forwarder.stamp(outHeaders));
+        bh.consume(value);
+        bh.consume(outHeaders);
+    }
+}
@@ -0,0 +1,143 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.validation.A2AMessageValidator;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message cost of each stage a task record passes through, in microseconds per message, for a tiny
+ * control message, a 4 KB translation request and a 256 KB summarization request, with each codec.
+ * {@code serialize} and {@code deserialize} go through the Kafka {@link A2AMessageSerializer} and
+ * {@link A2AMessageDeserializer} with their default configuration; {@code deserializeLazy} enables lazy
+ * payloads; {@code consumeAndReply} chains deserialize, validate, build reply and serialize as
+ * {@code processAgentTasks} does. The {@code jmh} task adds the GC profiler for allocations per message.
+ * {@code serialize} and {@code deserialize} report the encoded envelope size as {@code encodedBytes}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotPathBenchmark {
+
+    private static final String TOPIC = "a2a.tasks";
+
+    @Param({"tiny", "4kb", "256kb"})
+    public String payloadSize;
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    private final A2AMessageSerializer serializer = new A2AMessageSerializer();
+    private final A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+    private final A2AMessageDeserializer lazyDeserializer = new A2AMessageDeserializer();
+    private final A2AMessageValidator validator = new A2AMessageValidator();
+    private Object payload;
+    private A2AMessageEnvelope command;
+    private byte[] encoded;
+
+    /**
+     * Encoded envelope size, reported next to the serialize and deserialize times.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedSize {
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void setup(HotPathBenchmark benchmark) {
+            encodedBytes = benchmark.encoded.length;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        serializer.configure(Map.of(A2AMessageSerializer.CODEC_CONFIG, codec), false);
+        lazyDeserializer.configure(Map.of(A2AMessageDeserializer.LAZY_PAYLOAD_CONFIG, "true"), false);
+        payload = switch (payloadSize) {
+            case "tiny" -> A2AMessageBuilder.Payloads.text("ping");
+            case "4kb" -> A2AMessageBuilder.Payloads.translationRequest(text(4 * 1024), "de");
+            case "256kb" -> A2AMessageBuilder.Payloads.summarizationRequest(text(256 * 1024), "short");
+            default -> throw new IllegalArgumentException("Unknown payload size: " + payloadSize);
+        };
+        command = build();
+        encoded = serializer.serialize(TOPIC, command);
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope build() {
+        return A2AMessageBuilder
+                .command("orchestrator", "translator", "translate", payload)
+                .correlationId("0b6f9a3c-2d4e-4f1a-8b7c-6e5d4c3b2a19")
+                .ttlSeconds(300)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize(EncodedSize size) {
+        return serializer.serialize(TOPIC, new RecordHeaders(), command);
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope deserialize(EncodedSize size) {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+
+    @Benchmark
+    public A2AMessageEnvelope deserializeLazy() {
+        return lazyDeserializer.deserialize(TOPIC, encoded);
+    }
+
+    @Benchmark
+    public A2AMessageValidator.ValidationResult validate() {
+        return validator.validate(command);
+    }
+
+    @Benchmark
+    public byte[] consumeAndReply() {
+        A2AMessageEnvelope input = deserializer.deserialize(TOPIC, encoded);
+        if (!validator.validate(input).isValid()) {
+            throw new IllegalStateException("Benchmark command is invalid");
+        }
+        A2AMessageEnvelope reply = A2AMessageBuilder
+                .replyTo(input, "processor", A2AMessageBuilder.Payloads.success(input.getPayload()))
+                .build();
+        return serializer.serialize("a2a.replies", new RecordHeaders(), reply);
+    }
+
+    // Word-like ASCII text of exactly the given length, the same on every run
+    private static String text(int length) {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            int word = 2 + random.nextInt(9);
+            for (int i = 0; i < word; i++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+}
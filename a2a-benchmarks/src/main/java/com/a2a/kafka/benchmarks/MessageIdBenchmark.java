@@ -0,0 +1,47 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.id.MessageIdGenerator;
+import com.a2a.kafka.core.id.MessageIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares message ID generators under concurrent producers.
+ * Random UUIDs share one SecureRandom; time-ordered IDs only touch thread-local state.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class MessageIdBenchmark {
+
+    @Param({"random", "time-ordered"})
+    public String generator;
+
+    private MessageIdGenerator idGenerator;
+
+    @Setup
+    public void setup() {
+        idGenerator = MessageIds.forName(generator);
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idGenerator.nextId();
+    }
+}
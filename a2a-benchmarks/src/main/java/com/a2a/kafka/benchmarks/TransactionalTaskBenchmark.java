@@ -0,0 +1,195 @@
+package com.a2a.kafka.benchmarks;
+
+import com.a2a.kafka.core.batch.EnvelopeBatchProcessor;
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.validation.A2AMessageValidator;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch-mode task consumption against a running broker, with and without exactly-once transactions.
+ * {@code plain} handles a poll, sends the replies without waiting for them and commits the offsets
+ * synchronously, as batch mode does by default. {@code transactional} does the same work inside one
+ * producer transaction, adding the offsets with {@code sendOffsetsToTransaction}, as with
+ * {@code a2a.processing.transaction-id-prefix}; committing waits for every reply to be written. The
+ * {@code records} counter is the number of task records consumed per second; comparing it across
+ * {@code maxPollRecords} shows how far a larger batch amortizes the fixed cost of a transaction.
+ *
+ * <p>Needs a broker at {@code bootstrapServers}; the docker-compose broker is on {@code localhost:29092}.
+ * A fresh tasks topic is filled with {@code taskCount} commands for each trial and replayed from the start
+ * when it is exhausted.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionalTaskBenchmark {
+
+    @Param({"plain", "transactional"})
+    public String mode;
+
+    @Param({"10", "100", "500"})
+    public int maxPollRecords;
+
+    @Param({"localhost:29092"})
+    public String bootstrapServers;
+
+    @Param({"20000"})
+    public int taskCount;
+
+    /**
+     * Task records consumed, reported per second.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Consumed {
+        public long records;
+    }
+
+    private final A2AMessageValidator validator = new A2AMessageValidator();
+    private final A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+    private TopicPartition tasks;
+    private String repliesTopic;
+    private KafkaConsumer<String, byte[]> consumer;
+    private KafkaProducer<String, A2AMessageEnvelope> producer;
+    private EnvelopeBatchProcessor<ConsumerRecord<String, byte[]>> processor;
+    private boolean transactional;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        transactional = "transactional".equals(mode);
+        String suffix = UUID.randomUUID().toString();
+        tasks = new TopicPartition("bench.tasks." + suffix, 0);
+        repliesTopic = "bench.replies." + suffix;
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers))) {
+            admin.createTopics(List.of(new NewTopic(tasks.topic(), 1, (short) 1),
+                    new NewTopic(repliesTopic, 1, (short) 1))).all().get(30, TimeUnit.SECONDS);
+        }
+
+        try (KafkaProducer<String, A2AMessageEnvelope> loader = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.LINGER_MS_CONFIG, 5),
+                new StringSerializer(), new A2AMessageSerializer())) {
+            for (int i = 0; i < taskCount; i++) {
+                A2AMessageEnvelope command = A2AMessageBuilder
+                        .command("orchestrator", "translator", "translate",
+                                A2AMessageBuilder.Payloads.translationRequest("Hello world " + i, "de"))
+                        .ttlSeconds(3600)
+                        .build();
+                loader.send(new ProducerRecord<>(tasks.topic(), command.getId(), command));
+            }
+        }
+
+        Map<String, Object> producerConfig = new HashMap<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ProducerConfig.LINGER_MS_CONFIG, 5,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true));
+        if (transactional) {
+            producerConfig.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, "bench-tx-" + suffix);
+        }
+        producer = new KafkaProducer<>(producerConfig, new StringSerializer(), new A2AMessageSerializer());
+        if (transactional) {
+            producer.initTransactions();
+        }
+
+        consumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "bench-" + suffix,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords),
+                new StringDeserializer(), new ByteArrayDeserializer());
+        consumer.assign(List.of(tasks));
+        consumer.seekToBeginning(List.of(tasks));
+
+        processor = new EnvelopeBatchProcessor<>(
+                record -> deserializer.deserialize(record.topic(), record.headers(), record.value()),
+                (input, now) -> {
+                    if (!validator.validate(input, now).isValid()) {
+                        throw new IllegalStateException("Benchmark command is invalid");
+                    }
+                    return A2AMessageBuilder
+                            .replyTo(input, "processor", A2AMessageBuilder.Payloads.success(input.getPayload()))
+                            .build();
+                },
+                (source, reply) -> producer.send(new ProducerRecord<>(repliesTopic, source.key(), reply)),
+                (record, cause) -> {
+                    throw new IllegalStateException("Benchmark record failed", cause);
+                },
+                Clock.systemUTC());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        consumer.close();
+        producer.close();
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers))) {
+            admin.deleteTopics(List.of(tasks.topic(), repliesTopic)).all().get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * One poll, processed as one batch with or without a transaction.
+     */
+    @Benchmark
+    public void consume(Consumed consumed) {
+        ConsumerRecords<String, byte[]> records = consumer.poll(Duration.ofMillis(100));
+        if (records.isEmpty()) {
+            consumer.seekToBeginning(List.of(tasks));
+            return;
+        }
+        List<ConsumerRecord<String, byte[]>> polled = records.records(tasks);
+        Map<TopicPartition, OffsetAndMetadata> offsets =
+                Map.of(tasks, new OffsetAndMetadata(polled.get(polled.size() - 1).offset() + 1));
+        if (transactional) {
+            producer.beginTransaction();
+            processor.process(polled);
+            producer.sendOffsetsToTransaction(offsets, consumer.groupMetadata());
+            producer.commitTransaction();
+        } else {
+            processor.process(polled);
+            consumer.commitSync(offsets);
+        }
+        consumed.records += polled.size();
+    }
+}
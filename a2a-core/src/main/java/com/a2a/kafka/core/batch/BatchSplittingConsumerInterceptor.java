@@ -0,0 +1,108 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kafka consumer interceptor that expands {@link EnvelopeBatch} records into one record per envelope,
+ * before the listener container sees them. Record interceptors, message conversion, validation and the
+ * bound {@code Function}/{@code Consumer} beans therefore handle batched envelopes one at a time, exactly
+ * like envelopes produced individually.
+ *
+ * <p>Enable it with the consumer property {@code interceptor.classes}. The consumer must read record
+ * values as {@code byte[]}, which is the binder default. Split records keep the key, timestamp and
+ * non-A2A headers of the batch record and share its offset: the offset is committed once the whole poll
+ * has been processed under the default {@code BATCH} ack mode, whereas with {@code RECORD} ack mode a
+ * crash in the middle of a batch can skip its remaining envelopes. Records whose batch cannot be decoded
+ * are passed through unchanged and fail in the deserializer.
+ */
+public class BatchSplittingConsumerInterceptor implements ConsumerInterceptor<Object, Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchSplittingConsumerInterceptor.class);
+
+    @Override
+    public ConsumerRecords<Object, Object> onConsume(ConsumerRecords<Object, Object> records) {
+        if (!containsBatch(records)) {
+            return records;
+        }
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> split = new LinkedHashMap<>();
+        for (TopicPartition partition : records.partitions()) {
+            List<ConsumerRecord<Object, Object>> out = new ArrayList<>();
+            for (ConsumerRecord<Object, Object> record : records.records(partition)) {
+                if (isBatch(record)) {
+                    split(record, out);
+                } else {
+                    out.add(record);
+                }
+            }
+            split.put(partition, out);
+        }
+        return new ConsumerRecords<>(split);
+    }
+
+    private static boolean containsBatch(ConsumerRecords<Object, Object> records) {
+        for (ConsumerRecord<Object, Object> record : records) {
+            if (isBatch(record)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBatch(ConsumerRecord<Object, Object> record) {
+        return record.headers().lastHeader(A2AKafkaHeaders.BATCH) != null
+                && record.value() instanceof byte[] value && EnvelopeBatch.isBatch(value);
+    }
+
+    private static void split(ConsumerRecord<Object, Object> record, List<ConsumerRecord<Object, Object>> out) {
+        List<EnvelopeBatch.Entry> entries;
+        try {
+            entries = EnvelopeBatch.decode((byte[]) record.value());
+        } catch (IOException e) {
+            log.warn("Cannot split envelope batch {}-{}@{}: {}", record.topic(), record.partition(), record.offset(),
+                    e.getMessage());
+            out.add(record);
+            return;
+        }
+        for (EnvelopeBatch.Entry entry : entries) {
+            RecordHeaders headers = new RecordHeaders();
+            for (Header header : record.headers()) {
+                if (!header.key().startsWith(A2AKafkaHeaders.PREFIX)) {
+                    headers.add(header);
+                }
+            }
+            for (Header header : entry.headers()) {
+                headers.add(header);
+            }
+            out.add(new ConsumerRecord<>(record.topic(), record.partition(), record.offset(), record.timestamp(),
+                    record.timestampType(), record.serializedKeySize(), entry.value().length, record.key(),
+                    entry.value(), headers, record.leaderEpoch()));
+        }
+    }
+
+    @Override
+    public void onCommit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
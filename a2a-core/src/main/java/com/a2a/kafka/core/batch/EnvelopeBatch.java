@@ -0,0 +1,151 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Container format packing several serialized envelopes into one Kafka record value.
+ *
+ * <p>Layout: {@code magic(1) version(1) count(varint)} followed by {@code count} entries of
+ * {@code headerCount(varint) [keyLength(varint) key valueLength(varint) value]* length(varint) envelope}.
+ * Each entry keeps the envelope bytes exactly as the serializer produced them (any codec, compressed or
+ * claim-checked payload) together with its {@code a2a_*} record headers, so that a split entry is
+ * indistinguishable from a record produced one envelope at a time. Batch records carry the
+ * {@link A2AKafkaHeaders#BATCH} header.
+ */
+public final class EnvelopeBatch {
+
+    /**
+     * First byte of a batch value; distinct from the binary codec magic and from JSON.
+     */
+    public static final byte MAGIC = (byte) 0xA3;
+
+    static final byte VERSION = 1;
+
+    /**
+     * A serialized envelope with its record headers.
+     */
+    public record Entry(byte[] value, Headers headers) {
+    }
+
+    private EnvelopeBatch() {
+    }
+
+    /**
+     * @return whether the value is a batch container rather than a single envelope
+     */
+    public static boolean isBatch(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    /**
+     * Encodes the entries; only their {@code a2a_*} headers are kept.
+     */
+    public static byte[] encode(List<Entry> entries) {
+        int capacity = 8;
+        for (Entry entry : entries) {
+            capacity += entry.value().length + 8;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(capacity);
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, entries.size());
+        for (Entry entry : entries) {
+            List<Header> headers = new ArrayList<>();
+            if (entry.headers() != null) {
+                for (Header header : entry.headers()) {
+                    if (header.key().startsWith(A2AKafkaHeaders.PREFIX) && header.value() != null) {
+                        headers.add(header);
+                    }
+                }
+            }
+            writeVarInt(out, headers.size());
+            for (Header header : headers) {
+                writeBytes(out, header.key().getBytes(StandardCharsets.UTF_8));
+                writeBytes(out, header.value());
+            }
+            writeBytes(out, entry.value());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IOException if the value is not a well-formed batch
+     */
+    public static List<Entry> decode(byte[] data) throws IOException {
+        if (!isBatch(data)) {
+            throw new IOException("Not an A2A envelope batch (bad magic byte)");
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(data, 1, data.length - 1);
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported A2A envelope batch version: " + version);
+            }
+            int count = readLength(in);
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int headerCount = readLength(in);
+                RecordHeaders headers = new RecordHeaders();
+                for (int h = 0; h < headerCount; h++) {
+                    String key = new String(readBytes(in), StandardCharsets.UTF_8);
+                    headers.add(key, readBytes(in));
+                }
+                entries.add(new Entry(readBytes(in), headers));
+            }
+            if (in.hasRemaining()) {
+                throw new IOException("Trailing bytes after A2A envelope batch");
+            }
+            return entries;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated A2A envelope batch", e);
+        }
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] value) {
+        writeVarInt(out, value.length);
+        out.write(value, 0, value.length);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) throws IOException {
+        int length = readLength(in);
+        int start = in.position();
+        in.position(start + length);
+        return Arrays.copyOfRange(in.array(), start, start + length);
+    }
+
+    // Reads a varint that must fit in the remaining bytes, so corrupt counts cannot trigger huge allocations
+    private static int readLength(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0 || value > in.remaining()) {
+                    throw new IOException("Malformed A2A envelope batch: length " + value + " exceeds the record");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed A2A envelope batch: varint too long");
+    }
+}
@@ -0,0 +1,221 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Processes a polled batch of records as one unit: the clock is read once for the whole batch, and each
+ * record is decoded, handled and its reply handed to the sink in order. Failures are isolated per record;
+ * a record that cannot be decoded, handled or whose reply cannot be sent goes to the dead-letter sink and
+ * the rest of the batch continues. Only a failing dead-letter sink fails the batch, so that it is
+ * redelivered rather than lost.
+ *
+ * <p>With an {@link AsyncHandler}, the handlers of a whole batch are started before the first reply is
+ * awaited, and {@link #processAsync} sends a single record's reply as soon as its handler completes.
+ * A {@link Recovery} turns a failed handler into a reply; in {@link #process} it runs on the calling
+ * thread, after the handler has completed, so that anything it sends joins the caller's transaction.
+ *
+ * @param <R> the record type, e.g. a raw value with its headers
+ */
+public final class EnvelopeBatchProcessor<R> {
+
+    /**
+     * Decodes a record; null means the record carries no envelope and is skipped.
+     */
+    @FunctionalInterface
+    public interface Decoder<R> {
+        A2AMessageEnvelope decode(R record) throws Exception;
+    }
+
+    /**
+     * Handles an envelope; null means there is no reply.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        A2AMessageEnvelope handle(A2AMessageEnvelope input, long nowMillis) throws Exception;
+    }
+
+    /**
+     * Handles an envelope without blocking; the future completes with the reply, or with null for none.
+     */
+    @FunctionalInterface
+    public interface AsyncHandler {
+        CompletableFuture<A2AMessageEnvelope> handle(A2AMessageEnvelope input, long nowMillis) throws Exception;
+    }
+
+    /**
+     * Turns a failed handler into a reply, or null for none; throwing dead-letters the record. The record is
+     * passed along for what the envelope does not carry, such as its key.
+     */
+    @FunctionalInterface
+    public interface Recovery<R> {
+        A2AMessageEnvelope recover(R record, A2AMessageEnvelope input, Exception cause) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface ReplySink<R> {
+        void send(R source, A2AMessageEnvelope reply) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface DeadLetterSink<R> {
+        void send(R record, Exception cause);
+    }
+
+    /**
+     * Outcome of one batch.
+     */
+    public record Result(int records, int replies, int deadLettered) {
+    }
+
+    /**
+     * A record whose handler has been started; input is null if it did not decode.
+     */
+    private record Started(A2AMessageEnvelope input, CompletableFuture<A2AMessageEnvelope> reply) {
+    }
+
+    private static final Started NO_INPUT = new Started(null, CompletableFuture.completedFuture(null));
+
+    private final Decoder<R> decoder;
+    private final AsyncHandler handler;
+    private final Recovery<R> recovery;
+    private final ReplySink<R> replies;
+    private final DeadLetterSink<R> deadLetters;
+    private final Clock clock;
+
+    public EnvelopeBatchProcessor(Decoder<R> decoder, Handler handler, ReplySink<R> replies,
+                                  DeadLetterSink<R> deadLetters, Clock clock) {
+        this(decoder, (AsyncHandler) (input, now) -> CompletableFuture.completedFuture(handler.handle(input, now)),
+                null, replies, deadLetters, clock);
+    }
+
+    private EnvelopeBatchProcessor(Decoder<R> decoder, AsyncHandler handler, Recovery<R> recovery,
+                                   ReplySink<R> replies, DeadLetterSink<R> deadLetters, Clock clock) {
+        this.decoder = decoder;
+        this.handler = handler;
+        this.recovery = recovery;
+        this.replies = replies;
+        this.deadLetters = deadLetters;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a processor whose handler completes asynchronously.
+     */
+    public static <R> EnvelopeBatchProcessor<R> async(Decoder<R> decoder, AsyncHandler handler, ReplySink<R> replies,
+                                                      DeadLetterSink<R> deadLetters, Clock clock) {
+        return new EnvelopeBatchProcessor<>(decoder, handler, null, replies, deadLetters, clock);
+    }
+
+    /**
+     * Creates a processor whose handler completes asynchronously and whose failures are passed to {@code recovery}.
+     */
+    public static <R> EnvelopeBatchProcessor<R> async(Decoder<R> decoder, AsyncHandler handler, Recovery<R> recovery,
+                                                      ReplySink<R> replies, DeadLetterSink<R> deadLetters,
+                                                      Clock clock) {
+        return new EnvelopeBatchProcessor<>(decoder, handler, recovery, replies, deadLetters, clock);
+    }
+
+    /**
+     * @throws RuntimeException if the dead-letter sink fails
+     */
+    public Result process(List<R> records) {
+        long now = clock.millis();
+        Started[] pending = new Started[records.size()];
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = start(records.get(i), now);
+        }
+        int replied = 0;
+        int deadLettered = 0;
+        for (int i = 0; i < pending.length; i++) {
+            R record = records.get(i);
+            try {
+                A2AMessageEnvelope reply = await(record, pending[i]);
+                if (reply != null) {
+                    replies.send(record, reply);
+                    replied++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while awaiting task replies", e);
+            } catch (Exception e) {
+                deadLetters.send(record, unwrap(e));
+                deadLettered++;
+            }
+        }
+        return new Result(records.size(), replied, deadLettered);
+    }
+
+    /**
+     * Processes one record, sending its reply or dead-lettering it once its handler completes.
+     *
+     * @return completes with whether a reply was sent once the record is done; completes exceptionally only
+     * if the dead-letter sink fails
+     */
+    public CompletableFuture<Boolean> processAsync(R record) {
+        Started started = start(record, clock.millis());
+        return started.reply().handle((reply, failure) -> {
+            try {
+                if (failure != null) {
+                    reply = recover(record, started.input(), unwrap(failure));
+                }
+                if (reply == null) {
+                    return false;
+                }
+                replies.send(record, reply);
+                return true;
+            } catch (Exception e) {
+                deadLetters.send(record, unwrap(e));
+                return false;
+            }
+        });
+    }
+
+    private Started start(R record, long now) {
+        A2AMessageEnvelope input;
+        try {
+            input = decoder.decode(record);
+        } catch (Exception e) {
+            return new Started(null, CompletableFuture.failedFuture(e));
+        }
+        if (input == null) {
+            return NO_INPUT;
+        }
+        try {
+            return new Started(input, handler.handle(input, now));
+        } catch (Exception e) {
+            return new Started(input, CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private A2AMessageEnvelope await(R record, Started started) throws Exception {
+        try {
+            return started.reply().get();
+        } catch (ExecutionException e) {
+            return recover(record, started.input(), unwrap(e));
+        }
+    }
+
+    /**
+     * @throws Exception the cause if there is nothing to recover with, or the failure of the recovery
+     */
+    private A2AMessageEnvelope recover(R record, A2AMessageEnvelope input, Exception cause) throws Exception {
+        if (input == null || recovery == null) {
+            throw cause;
+        }
+        return recovery.recover(record, input, cause);
+    }
+
+    private static Exception unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception e ? e : new IllegalStateException(cause);
+    }
+}
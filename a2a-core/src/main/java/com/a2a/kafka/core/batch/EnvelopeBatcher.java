@@ -0,0 +1,219 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Producer-side accumulator packing envelopes into {@link EnvelopeBatch} records.
+ *
+ * <p>Each envelope is serialized when it is added, so per-envelope codec, compression and claim-check
+ * settings apply as usual. A batch is sent when it reaches {@code maxCount} envelopes or
+ * {@code maxBytes} serialized bytes, or {@code linger} after its first envelope was added, whichever
+ * comes first. A batch holding a single envelope is sent as a regular record, so sparse traffic is
+ * never wrapped. Envelopes are batched per record key, so every envelope of a batch record shares its
+ * key and partition; batches of one key are sent in the order their envelopes were added. The sink is
+ * called with the batcher's lock held and should hand the record off rather than wait for the broker.
+ *
+ * <p>A sink failure is thrown to the caller of {@link #add} or {@link #flush}. When a linger-time flush
+ * fails there is no caller, so the failure is logged and its envelopes are counted in
+ * {@link #getFailedSends()}.
+ */
+public class EnvelopeBatcher implements AutoCloseable {
+
+    /**
+     * Serializes an envelope, writing its record headers into {@code headers}.
+     */
+    @FunctionalInterface
+    public interface Encoder {
+        byte[] encode(A2AMessageEnvelope envelope, Headers headers);
+    }
+
+    /**
+     * Publishes one record value with its key and headers.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void send(String key, byte[] value, Headers headers);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(EnvelopeBatcher.class);
+
+    private final Encoder encoder;
+    private final Sink sink;
+    private final int maxCount;
+    private final int maxBytes;
+    private final long lingerNanos;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+
+    private final Map<String, Pending> pending = new HashMap<>();
+    private final AtomicLong failedSends = new AtomicLong();
+
+    /**
+     * Creates a batcher with its own single scheduler thread, stopped by {@link #close()}.
+     */
+    public EnvelopeBatcher(Encoder encoder, Sink sink, int maxCount, int maxBytes, Duration linger) {
+        this(encoder, sink, maxCount, maxBytes, linger, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "a2a-envelope-batcher");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * @param scheduler runs linger-time flushes; not shut down by {@link #close()}
+     */
+    public EnvelopeBatcher(Encoder encoder, Sink sink, int maxCount, int maxBytes, Duration linger,
+                           ScheduledExecutorService scheduler) {
+        this(encoder, sink, maxCount, maxBytes, linger, scheduler, false);
+    }
+
+    private EnvelopeBatcher(Encoder encoder, Sink sink, int maxCount, int maxBytes, Duration linger,
+                            ScheduledExecutorService scheduler, boolean ownsScheduler) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("Batch max count must be at least 1");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Batch max bytes must be at least 1");
+        }
+        if (linger.isNegative()) {
+            throw new IllegalArgumentException("Batch linger must not be negative");
+        }
+        this.encoder = encoder;
+        this.sink = sink;
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+        this.lingerNanos = linger.toNanos();
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+    }
+
+    /**
+     * Serializes the envelope and adds it to the current batch of records without a key.
+     */
+    public void add(A2AMessageEnvelope envelope) {
+        add(null, envelope);
+    }
+
+    /**
+     * Serializes the envelope and adds it to the current batch for the key, sending the batch if a limit
+     * is reached.
+     *
+     * @param key record key of the batch, or null for records without a key
+     */
+    public void add(String key, A2AMessageEnvelope envelope) {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] value = encoder.encode(envelope, headers);
+        synchronized (this) {
+            Pending batch = pending.get(key);
+            if (batch != null && batch.bytes + value.length > maxBytes) {
+                flush(key);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Pending();
+                pending.put(key, batch);
+            }
+            batch.entries.add(new EnvelopeBatch.Entry(value, headers));
+            batch.bytes += value.length;
+            if (batch.entries.size() >= maxCount || batch.bytes >= maxBytes || lingerNanos == 0) {
+                flush(key);
+            } else if (batch.entries.size() == 1) {
+                batch.lingerFlush = scheduler.schedule(() -> lingerFlush(key), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends the current batches of all keys.
+     */
+    public synchronized void flush() {
+        RuntimeException failure = null;
+        for (String key : new ArrayList<>(pending.keySet())) {
+            try {
+                flush(key);
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return envelopes of linger-time flushes that the sink failed to send
+     */
+    public long getFailedSends() {
+        return failedSends.get();
+    }
+
+    private synchronized void lingerFlush(String key) {
+        Pending batch = pending.get(key);
+        int count = batch == null ? 0 : batch.entries.size();
+        try {
+            flush(key);
+        } catch (RuntimeException ex) {
+            failedSends.addAndGet(count);
+            log.warn("Failed to send a batch of {} envelope(s) with key {} after the linger time: {}",
+                    count, key, ex.toString());
+        }
+    }
+
+    private void flush(String key) {
+        Pending batch = pending.remove(key);
+        if (batch == null) {
+            return;
+        }
+        if (batch.lingerFlush != null) {
+            batch.lingerFlush.cancel(false);
+        }
+        List<EnvelopeBatch.Entry> entries = batch.entries;
+        if (entries.size() == 1) {
+            sink.send(key, entries.get(0).value(), entries.get(0).headers());
+            return;
+        }
+        RecordHeaders headers = new RecordHeaders();
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.BATCH, Integer.toString(entries.size()));
+        sink.send(key, EnvelopeBatch.encode(entries), headers);
+    }
+
+    /**
+     * Sends the pending batches and stops the scheduler if the batcher created it.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            if (ownsScheduler) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final List<EnvelopeBatch.Entry> entries = new ArrayList<>();
+        private int bytes;
+        private ScheduledFuture<?> lingerFlush;
+    }
+}
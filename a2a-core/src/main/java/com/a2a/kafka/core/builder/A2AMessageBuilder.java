@@ -1,19 +1,33 @@
 package com.a2a.kafka.core.builder;
 
+import com.a2a.kafka.core.id.MessageIds;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.LazyPayload;
 import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.ErrorPayload;
+import com.a2a.kafka.core.payload.SuccessPayload;
+import com.a2a.kafka.core.payload.SummarizationRequest;
+import com.a2a.kafka.core.payload.TextPayload;
+import com.a2a.kafka.core.payload.TranslationRequest;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Builder for creating A2A message envelopes with proper defaults and validation.
  * Provides a fluent API for constructing compliant A2A messages.
+ *
+ * <p>{@link #build()} creates the envelope in one step: the ID and timestamp are generated only if they
+ * were not set, and envelopes without headers share one empty, unmodifiable headers map. The headers map is
+ * handed to the envelope without a copy; a header added after {@code build()} goes into a copy, so envelopes
+ * already built keep their headers.
  */
 public class A2AMessageBuilder {
 
+    private static final Map<String, String> NO_HEADERS = Collections.emptyMap();
+
     private String id;
     private MessageType type;
     private String from;
@@ -21,17 +35,18 @@ public class A2AMessageBuilder {
     private String taskId;
     private String method;
     private Object payload;
+    private LazyPayload lazyPayload;
     private Instant timestamp;
     private Map<String, String> headers;
+    // Whether headers was handed to a built envelope and must be copied before it is modified
+    private boolean headersBuilt;
     private String correlationId;
     private String replyTo;
     private Long ttl;
 
     private A2AMessageBuilder() {
-        // Initialize with defaults
-        this.id = UUID.randomUUID().toString();
-        this.timestamp = Instant.now();
-        this.headers = new HashMap<>();
+        // ID and timestamp default to generated values in build()
+        this.headers = NO_HEADERS;
     }
 
     /**
@@ -68,6 +83,20 @@ public class A2AMessageBuilder {
                 .payload(payload);
     }
 
+    /**
+     * Creates a new builder for a reply to the given request: the request ID becomes the task ID
+     * and its correlation ID is carried over.
+     *
+     * @param request the message being replied to
+     * @param from the sender agent name
+     * @param payload the reply payload
+     * @return a new builder instance
+     */
+    public static A2AMessageBuilder replyTo(A2AMessageEnvelope request, String from, Object payload) {
+        return reply(from, request.getId(), payload)
+                .correlationId(request.getCorrelationId());
+    }
+
     /**
      * Creates a new builder for event messages.
      * 
@@ -123,6 +152,24 @@ public class A2AMessageBuilder {
 
     public A2AMessageBuilder payload(Object payload) {
         this.payload = payload;
+        this.lazyPayload = null;
+        return this;
+    }
+
+    /**
+     * Uses the payload of another envelope without decoding it if it is still undecoded,
+     * so forwarded payloads are re-emitted verbatim.
+     *
+     * @param source the envelope whose payload is carried over
+     * @return this builder
+     */
+    public A2AMessageBuilder payloadFrom(A2AMessageEnvelope source) {
+        if (source.isPayloadUndecoded()) {
+            this.payload = null;
+            this.lazyPayload = source.getLazyPayload();
+        } else {
+            payload(source.getPayload());
+        }
         return this;
     }
 
@@ -132,23 +179,27 @@ public class A2AMessageBuilder {
     }
 
     public A2AMessageBuilder header(String key, String value) {
-        if (this.headers == null) {
-            this.headers = new HashMap<>();
-        }
-        this.headers.put(key, value);
+        writableHeaders().put(key, value);
         return this;
     }
 
     public A2AMessageBuilder headers(Map<String, String> headers) {
-        if (headers != null) {
-            if (this.headers == null) {
-                this.headers = new HashMap<>();
-            }
-            this.headers.putAll(headers);
+        if (headers != null && !headers.isEmpty()) {
+            writableHeaders().putAll(headers);
         }
         return this;
     }
 
+    private Map<String, String> writableHeaders() {
+        if (this.headers == null || this.headers == NO_HEADERS) {
+            this.headers = new HashMap<>();
+        } else if (this.headersBuilt) {
+            this.headers = new HashMap<>(this.headers);
+        }
+        this.headersBuilt = false;
+        return this.headers;
+    }
+
     public A2AMessageBuilder correlationId(String correlationId) {
         this.correlationId = correlationId;
         return this;
@@ -195,21 +246,21 @@ public class A2AMessageBuilder {
     public A2AMessageEnvelope build() {
         validateRequiredFields();
 
-        A2AMessageEnvelope envelope = new A2AMessageEnvelope();
-        envelope.setId(this.id);
-        envelope.setType(this.type);
-        envelope.setFrom(this.from);
-        envelope.setTo(this.to);
-        envelope.setTaskId(this.taskId);
-        envelope.setMethod(this.method);
-        envelope.setPayload(this.payload);
-        envelope.setTimestamp(this.timestamp);
-        envelope.setHeaders(this.headers);
-        envelope.setCorrelationId(this.correlationId);
-        envelope.setReplyTo(this.replyTo);
-        envelope.setTtl(this.ttl);
-
-        return envelope;
+        this.headersBuilt = true;
+        return new A2AMessageEnvelope(
+                this.id != null ? this.id : MessageIds.next(),
+                this.type,
+                this.from,
+                this.to,
+                this.taskId,
+                this.method,
+                this.lazyPayload != null ? null : this.payload,
+                this.lazyPayload,
+                this.timestamp != null ? this.timestamp : Instant.now(),
+                this.headers,
+                this.correlationId,
+                this.replyTo,
+                this.ttl);
     }
 
     private void validateRequiredFields() {
@@ -221,7 +272,7 @@ public class A2AMessageBuilder {
             throw new IllegalStateException("From field is required");
         }
 
-        if (this.payload == null) {
+        if (this.payload == null && this.lazyPayload == null) {
             throw new IllegalStateException("Payload is required");
         }
 
@@ -258,54 +309,36 @@ public class A2AMessageBuilder {
         /**
          * Creates a simple text payload.
          */
-        public static Map<String, Object> text(String content) {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("type", "text");
-            payload.put("content", content);
-            return payload;
+        public static TextPayload text(String content) {
+            return new TextPayload(content);
         }
 
         /**
          * Creates an error payload.
          */
-        public static Map<String, Object> error(String code, String message) {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("type", "error");
-            payload.put("code", code);
-            payload.put("message", message);
-            return payload;
+        public static ErrorPayload error(String code, String message) {
+            return new ErrorPayload(code, message);
         }
 
         /**
          * Creates a success payload.
          */
-        public static Map<String, Object> success(Object result) {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("type", "success");
-            payload.put("result", result);
-            return payload;
+        public static SuccessPayload success(Object result) {
+            return new SuccessPayload(result);
         }
 
         /**
          * Creates a translation request payload.
          */
-        public static Map<String, Object> translationRequest(String text, String targetLanguage) {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("type", "translation_request");
-            payload.put("text", text);
-            payload.put("target_language", targetLanguage);
-            return payload;
+        public static TranslationRequest translationRequest(String text, String targetLanguage) {
+            return new TranslationRequest(text, targetLanguage);
         }
 
         /**
          * Creates a summarization request payload.
          */
-        public static Map<String, Object> summarizationRequest(String text, String lengthHint) {
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("type", "summarization_request");
-            payload.put("text", text);
-            payload.put("length_hint", lengthHint);
-            return payload;
+        public static SummarizationRequest summarizationRequest(String text, String lengthHint) {
+            return new SummarizationRequest(text, lengthHint);
         }
     }
-}
\ No newline at end of file
+}
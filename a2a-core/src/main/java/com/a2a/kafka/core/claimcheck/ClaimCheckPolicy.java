@@ -0,0 +1,99 @@
+package com.a2a.kafka.core.claimcheck;
+
+import com.a2a.kafka.core.message.ClaimCheck;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Decides which payloads are offloaded to a {@link PayloadStore} and resolves claim checks back to payload bytes.
+ * Payloads whose encoded JSON reaches the threshold are stored under their SHA-256 content hash and replaced
+ * in the envelope by a {@link ClaimCheck}.
+ */
+public final class ClaimCheckPolicy {
+
+    /**
+     * Policy without a store: nothing is offloaded and claim checks cannot be resolved.
+     */
+    public static final ClaimCheckPolicy NONE = new ClaimCheckPolicy(null, Integer.MAX_VALUE);
+
+    /**
+     * Default minimum encoded payload size, in bytes, for a payload to be offloaded.
+     */
+    public static final int DEFAULT_THRESHOLD = 256 * 1024;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final PayloadStore store;
+    private final int threshold;
+
+    /**
+     * @param store     the payload store, or null to disable claim checks
+     * @param threshold minimum encoded payload size in bytes that is offloaded
+     */
+    public ClaimCheckPolicy(PayloadStore store, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Claim check threshold must not be negative");
+        }
+        this.store = store;
+        this.threshold = threshold;
+    }
+
+    public PayloadStore getStore() {
+        return store;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Stores the payload if it reaches the threshold.
+     *
+     * @param payload the encoded (JSON) payload
+     * @return the claim check replacing the payload, or null if the payload stays inline
+     */
+    public ClaimCheck offload(byte[] payload) throws IOException {
+        if (store == null || payload == null || payload.length < threshold) {
+            return null;
+        }
+        String hash = HEX.formatHex(sha256().digest(payload));
+        String reference = store.put(hash, payload, 0, payload.length);
+        return new ClaimCheck(reference, hash, payload.length);
+    }
+
+    /**
+     * Fetches the payload bytes of a claim check and verifies them against its content hash.
+     *
+     * @throws IOException if no store is configured, the payload is missing or it does not match the hash
+     */
+    public ByteBuffer fetch(ClaimCheck claimCheck) throws IOException {
+        if (store == null) {
+            throw new IOException("Received claim-checked payload " + claimCheck.getReference()
+                    + " but no payload store is configured");
+        }
+        ByteBuffer data = store.get(claimCheck.getReference());
+        MessageDigest digest = sha256();
+        digest.update(data.duplicate());
+        if (data.remaining() != claimCheck.getLength()
+                || !HEX.formatHex(digest.digest()).equals(claimCheck.getContentHash())) {
+            throw new IOException("Claim-checked payload " + claimCheck.getReference() + " does not match its content hash");
+        }
+        return data;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
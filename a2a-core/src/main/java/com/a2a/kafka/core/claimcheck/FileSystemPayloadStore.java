@@ -0,0 +1,79 @@
+package com.a2a.kafka.core.claimcheck;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * Local filesystem payload store. Payloads are kept as one file per content hash under
+ * {@code <root>/<first two hash characters>/<hash>}, written atomically and read through a
+ * read-only memory mapping, so large documents are not copied onto the heap before parsing.
+ *
+ * <p>All producers and consumers of a topic must see the same root directory (for example a shared
+ * volume). Files are never deleted by the store; clean them up externally once they are older than
+ * the retention of the topics that reference them.
+ */
+public class FileSystemPayloadStore implements PayloadStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemPayloadStore.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public FileSystemPayloadStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public String put(String contentHash, byte[] data, int offset, int length) throws IOException {
+        Path target = resolve(contentHash);
+        if (Files.exists(target)) {
+            logger.debug("Payload {} already stored, skipping write", contentHash);
+            return contentHash;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), contentHash, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp, StandardOpenOption.WRITE)) {
+                out.write(data, offset, length);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently by another producer; the content is identical
+            logger.debug("Payload {} stored concurrently", contentHash);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return contentHash;
+    }
+
+    @Override
+    public ByteBuffer get(String reference) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(reference), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private Path resolve(String contentHash) throws IOException {
+        if (contentHash == null || !HASH.matcher(contentHash).matches()) {
+            throw new IOException("Invalid payload reference: " + contentHash);
+        }
+        return root.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+}
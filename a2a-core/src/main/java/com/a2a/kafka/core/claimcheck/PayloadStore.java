@@ -0,0 +1,27 @@
+package com.a2a.kafka.core.claimcheck;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Blob store for claim-checked envelope payloads.
+ * Payloads are content addressed: storing content that is already present must not store it again,
+ * so the same document sent to several agents is kept once.
+ */
+public interface PayloadStore {
+
+    /**
+     * Stores the payload unless content with the same hash is already present.
+     *
+     * @param contentHash SHA-256 of the data, hex encoded
+     * @return the reference under which the payload can be fetched
+     */
+    String put(String contentHash, byte[] data, int offset, int length) throws IOException;
+
+    /**
+     * @param reference a reference returned by {@link #put}
+     * @return a read-only view of the payload; implementations may map it rather than copy it onto the heap
+     * @throws java.nio.file.NoSuchFileException or another IOException if the payload is not available
+     */
+    ByteBuffer get(String reference) throws IOException;
+}
@@ -1,8 +1,33 @@
 package com.a2a.kafka.core.config;
 
+import com.a2a.kafka.core.claimcheck.FileSystemPayloadStore;
+import com.a2a.kafka.core.claimcheck.PayloadStore;
+import com.a2a.kafka.core.dedup.MessageDeduplicator;
+import com.a2a.kafka.core.dedup.MessageIdWindow;
+import com.a2a.kafka.core.dedup.ReplyCache;
+import com.a2a.kafka.core.id.MessageIdGenerator;
+import com.a2a.kafka.core.id.MessageIds;
+import com.a2a.kafka.core.serialization.A2AEnvelopeMessageConverter;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import com.a2a.kafka.core.validation.ValidationPipelines;
+import com.a2a.kafka.core.validation.ValidationRule;
+import com.a2a.kafka.core.validation.ValidationRules;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Core configuration class for A2A Kafka Agent System.
  * Enables configuration properties and provides fail-fast validation.
@@ -14,4 +39,102 @@ import org.springframework.context.annotation.Configuration;
 })
 public class A2ACoreConfiguration {
     // Configuration beans will be automatically created by Spring Boot
-}
\ No newline at end of file
+
+    /**
+     * Envelope converter picked up by Spring Cloud Stream ahead of its default JSON converter,
+     * so bindings honour the configured codec and the codec record header.
+     */
+    @Bean
+    public A2AEnvelopeMessageConverter a2aEnvelopeMessageConverter(A2ASystemProperties properties,
+                                                                   ObjectProvider<PayloadStore> payloadStore) {
+        A2ASystemProperties.SerializationConfiguration serialization = properties.getSerialization();
+        Map<String, Object> claimCheck = new HashMap<>();
+        if (serialization.getClaimCheck().isEnabled()) {
+            claimCheck.put(A2AMessageSerializer.CLAIM_CHECK_STORE_CONFIG, payloadStore.getObject());
+            claimCheck.put(A2AMessageSerializer.CLAIM_CHECK_THRESHOLD_CONFIG, serialization.getClaimCheck().getThreshold());
+        }
+
+        Map<String, Object> serializerConfig = new HashMap<>(claimCheck);
+        serializerConfig.put(A2AMessageSerializer.CODEC_CONFIG, serialization.getCodec());
+        serializerConfig.put(A2AMessageSerializer.ROUTING_HEADERS_CONFIG, serialization.isRoutingHeaders());
+        serializerConfig.put(A2AMessageSerializer.PAYLOAD_COMPRESSION_CONFIG, serialization.getPayloadCompression());
+        serializerConfig.put(A2AMessageSerializer.PAYLOAD_COMPRESSION_THRESHOLD_CONFIG,
+                serialization.getPayloadCompressionThreshold());
+        A2AMessageSerializer serializer = new A2AMessageSerializer();
+        serializer.configure(serializerConfig, false);
+
+        Map<String, Object> deserializerConfig = new HashMap<>(claimCheck);
+        deserializerConfig.put(A2AMessageDeserializer.LAZY_PAYLOAD_CONFIG, serialization.isLazyPayload());
+        A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+        deserializer.configure(deserializerConfig, false);
+        return new A2AEnvelopeMessageConverter(serializer, deserializer);
+    }
+
+    /**
+     * Message ID scheme selected by {@code a2a.ids.generator}; define another {@link MessageIdGenerator} bean to replace it.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public MessageIdGenerator a2aMessageIdGenerator(A2ASystemProperties properties) {
+        return MessageIds.forName(properties.getIds().getGenerator());
+    }
+
+    /**
+     * Installs the message ID generator for envelopes and builders, which are created outside the context.
+     */
+    @Bean
+    public SmartInitializingSingleton a2aMessageIdGeneratorInstaller(MessageIdGenerator generator) {
+        return () -> MessageIds.setGenerator(generator);
+    }
+
+    /**
+     * Default claim-check payload store; define another {@link PayloadStore} bean to use a different backend.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public PayloadStore a2aPayloadStore(A2ASystemProperties properties) {
+        return new FileSystemPayloadStore(Path.of(properties.getSerialization().getClaimCheck().getDirectory()));
+    }
+
+    /**
+     * Validation pipelines compiled from {@code a2a.validation}. {@link ValidationRule} beans are available
+     * to configured rule sets under their names, next to the built-in rules.
+     */
+    @Bean
+    public ValidationPipelines a2aValidationPipelines(A2ASystemProperties properties,
+                                                      ObjectProvider<ValidationRule> customRules,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        A2ASystemProperties.ValidationConfiguration validation = properties.getValidation();
+        Map<String, ValidationRule> rules = ValidationRules.builtInRules();
+        customRules.orderedStream().forEach(rule -> rules.put(rule.name(), rule));
+        return new ValidationPipelines(rules, validation.getRuleSets(), validation.getDefaultRuleSet(),
+                validation.getBindings(), validation.isMetrics() ? meterRegistry.getIfAvailable() : null,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Message ID deduplication of task input; closed on shutdown, which writes a final checkpoint.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "a2a.dedup", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MessageDeduplicator a2aMessageDeduplicator(A2ASystemProperties properties,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        A2ASystemProperties.DedupConfiguration dedup = properties.getDedup();
+        String checkpoint = dedup.getCheckpointPath();
+        MessageDeduplicator deduplicator = new MessageDeduplicator(
+                new MessageIdWindow(dedup.getWindow(), dedup.getBuckets(), dedup.getMaxEntries()),
+                new ReplyCache(dedup.getReplyCacheSize(), dedup.getWindow().toMillis()),
+                Clock.systemUTC(),
+                checkpoint == null || checkpoint.isBlank() ? null : Path.of(checkpoint),
+                dedup.getCheckpointInterval());
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("a2a.dedup.duplicates", deduplicator, MessageDeduplicator::getDuplicates)
+                    .description("Messages skipped because their ID was already processed")
+                    .register(registry);
+            FunctionCounter.builder("a2a.dedup.overflows", deduplicator.getWindow(), MessageIdWindow::getOverflows)
+                    .description("Message IDs not remembered because the dedup window was full")
+                    .register(registry);
+        });
+        return deduplicator;
+    }
+}
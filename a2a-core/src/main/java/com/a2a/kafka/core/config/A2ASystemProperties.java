@@ -1,13 +1,22 @@
 package com.a2a.kafka.core.config;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for A2A System settings.
  * Provides validation and fail-fast behavior for system configuration.
@@ -32,6 +41,42 @@ public class A2ASystemProperties {
     @NotNull
     private OrchestratorConfiguration orchestrator = new OrchestratorConfiguration();
 
+    @Valid
+    @NotNull
+    private SerializationConfiguration serialization = new SerializationConfiguration();
+
+    @Valid
+    @NotNull
+    private RoutingConfiguration routing = new RoutingConfiguration();
+
+    @Valid
+    @NotNull
+    private IdConfiguration ids = new IdConfiguration();
+
+    @Valid
+    @NotNull
+    private BatchingConfiguration batching = new BatchingConfiguration();
+
+    @Valid
+    @NotNull
+    private ValidationConfiguration validation = new ValidationConfiguration();
+
+    @Valid
+    @NotNull
+    private ExpiryConfiguration expiry = new ExpiryConfiguration();
+
+    @Valid
+    @NotNull
+    private DedupConfiguration dedup = new DedupConfiguration();
+
+    @Valid
+    @NotNull
+    private ProcessingConfiguration processing = new ProcessingConfiguration();
+
+    @Valid
+    @NotNull
+    private ReplayConfiguration replay = new ReplayConfiguration();
+
     // Getters and setters
     public SystemInfo getSystem() {
         return system;
@@ -65,6 +110,78 @@ public class A2ASystemProperties {
         this.orchestrator = orchestrator;
     }
 
+    public SerializationConfiguration getSerialization() {
+        return serialization;
+    }
+
+    public void setSerialization(SerializationConfiguration serialization) {
+        this.serialization = serialization;
+    }
+
+    public RoutingConfiguration getRouting() {
+        return routing;
+    }
+
+    public void setRouting(RoutingConfiguration routing) {
+        this.routing = routing;
+    }
+
+    public IdConfiguration getIds() {
+        return ids;
+    }
+
+    public void setIds(IdConfiguration ids) {
+        this.ids = ids;
+    }
+
+    public BatchingConfiguration getBatching() {
+        return batching;
+    }
+
+    public void setBatching(BatchingConfiguration batching) {
+        this.batching = batching;
+    }
+
+    public ValidationConfiguration getValidation() {
+        return validation;
+    }
+
+    public void setValidation(ValidationConfiguration validation) {
+        this.validation = validation;
+    }
+
+    public ExpiryConfiguration getExpiry() {
+        return expiry;
+    }
+
+    public void setExpiry(ExpiryConfiguration expiry) {
+        this.expiry = expiry;
+    }
+
+    public DedupConfiguration getDedup() {
+        return dedup;
+    }
+
+    public void setDedup(DedupConfiguration dedup) {
+        this.dedup = dedup;
+    }
+
+    public ProcessingConfiguration getProcessing() {
+        return processing;
+    }
+
+    public void setProcessing(ProcessingConfiguration processing) {
+        this.processing = processing;
+    }
+
+    public ReplayConfiguration getReplay() {
+        return replay;
+    }
+
+    public void setReplay(ReplayConfiguration replay) {
+        this.replay = replay;
+    }
+
     /**
      * System information configuration
      */
@@ -180,6 +297,17 @@ public class A2ASystemProperties {
         public void setLlm(AgentSettings llm) {
             this.llm = llm;
         }
+
+        /**
+         * @return the settings of every agent, keyed by the agent name used as the {@code to} of its commands
+         */
+        public Map<String, AgentSettings> byName() {
+            Map<String, AgentSettings> agents = new LinkedHashMap<>();
+            agents.put("translator", translator);
+            agents.put("summarizer", summarizer);
+            agents.put("llm", llm);
+            return agents;
+        }
     }
 
     /**
@@ -259,4 +387,664 @@ public class A2ASystemProperties {
             this.maxConcurrentWorkflows = maxConcurrentWorkflows;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Message ID generation
+     */
+    public static class IdConfiguration {
+        @NotBlank(message = "ID generator cannot be blank")
+        @Pattern(regexp = "(?i)time-ordered|random", message = "ID generator must be 'time-ordered' or 'random'")
+        private String generator = "time-ordered";
+
+        public String getGenerator() {
+            return generator;
+        }
+
+        public void setGenerator(String generator) {
+            this.generator = generator;
+        }
+    }
+
+    /**
+     * Envelope serialization configuration
+     */
+    public static class SerializationConfiguration {
+        @NotBlank(message = "Serialization codec cannot be blank")
+        @Pattern(regexp = "(?i)json|binary", message = "Serialization codec must be 'json' or 'binary'")
+        private String codec = "json";
+
+        private boolean lazyPayload = false;
+
+        private boolean routingHeaders = true;
+
+        /**
+         * Compression applied to large payloads inside the envelope: none, zstd or lz4.
+         */
+        @NotBlank(message = "Payload compression cannot be blank")
+        @Pattern(regexp = "(?i)none|zstd|lz4", message = "Payload compression must be 'none', 'zstd' or 'lz4'")
+        private String payloadCompression = "none";
+
+        /**
+         * Minimum encoded payload size in bytes that gets compressed; smaller payloads are sent as-is.
+         */
+        @Min(value = 0, message = "Payload compression threshold cannot be negative")
+        private int payloadCompressionThreshold = 4096;
+
+        @Valid
+        @NotNull
+        private ClaimCheckConfiguration claimCheck = new ClaimCheckConfiguration();
+
+        public String getCodec() {
+            return codec;
+        }
+
+        public void setCodec(String codec) {
+            this.codec = codec;
+        }
+
+        public boolean isLazyPayload() {
+            return lazyPayload;
+        }
+
+        public void setLazyPayload(boolean lazyPayload) {
+            this.lazyPayload = lazyPayload;
+        }
+
+        public boolean isRoutingHeaders() {
+            return routingHeaders;
+        }
+
+        public void setRoutingHeaders(boolean routingHeaders) {
+            this.routingHeaders = routingHeaders;
+        }
+
+        public String getPayloadCompression() {
+            return payloadCompression;
+        }
+
+        public void setPayloadCompression(String payloadCompression) {
+            this.payloadCompression = payloadCompression;
+        }
+
+        public int getPayloadCompressionThreshold() {
+            return payloadCompressionThreshold;
+        }
+
+        public void setPayloadCompressionThreshold(int payloadCompressionThreshold) {
+            this.payloadCompressionThreshold = payloadCompressionThreshold;
+        }
+
+        public ClaimCheckConfiguration getClaimCheck() {
+            return claimCheck;
+        }
+
+        public void setClaimCheck(ClaimCheckConfiguration claimCheck) {
+            this.claimCheck = claimCheck;
+        }
+    }
+
+    /**
+     * Claim-check offloading of large payloads to a payload store
+     */
+    public static class ClaimCheckConfiguration {
+        private boolean enabled = false;
+
+        /**
+         * Minimum encoded payload size in bytes that is offloaded; keep it well below the topics' max.message.bytes.
+         */
+        @Min(value = 1024, message = "Claim check threshold must be at least 1024 bytes")
+        private int threshold = 256 * 1024;
+
+        /**
+         * Root directory of the default filesystem payload store; must be shared by all producers and consumers.
+         */
+        @NotBlank(message = "Claim check directory cannot be blank")
+        private String directory = System.getProperty("java.io.tmpdir") + "/a2a-payloads";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Header-only routing of records consumed from the tasks topic.
+     * Decisions are made from the {@code a2a_*} record headers without decoding the record value.
+     */
+    public static class RoutingConfiguration {
+        private boolean enabled = true;
+
+        /**
+         * Targets ({@code to}) processed locally. Empty accepts every target that is not forwarded.
+         */
+        @NotNull
+        private List<String> acceptTargets = new ArrayList<>();
+
+        /**
+         * Targets whose records are forwarded unchanged to another destination (target -> destination).
+         */
+        @NotNull
+        private Map<String, String> forward = new LinkedHashMap<>();
+
+        /**
+         * Relay non-command records to the task output binding as raw bytes instead of rebuilding them.
+         */
+        private boolean passThroughNonCommands = false;
+
+        @NotBlank(message = "Forwarder id cannot be blank")
+        private String forwarderId = "processor";
+
+        @Min(value = 1, message = "Max hops must be at least 1")
+        @Max(value = 100, message = "Max hops cannot exceed 100")
+        private int maxHops = 16;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getAcceptTargets() {
+            return acceptTargets;
+        }
+
+        public void setAcceptTargets(List<String> acceptTargets) {
+            this.acceptTargets = acceptTargets;
+        }
+
+        public Map<String, String> getForward() {
+            return forward;
+        }
+
+        public void setForward(Map<String, String> forward) {
+            this.forward = forward;
+        }
+
+        public boolean isPassThroughNonCommands() {
+            return passThroughNonCommands;
+        }
+
+        public void setPassThroughNonCommands(boolean passThroughNonCommands) {
+            this.passThroughNonCommands = passThroughNonCommands;
+        }
+
+        public String getForwarderId() {
+            return forwarderId;
+        }
+
+        public void setForwarderId(String forwarderId) {
+            this.forwarderId = forwarderId;
+        }
+
+        public int getMaxHops() {
+            return maxHops;
+        }
+
+        public void setMaxHops(int maxHops) {
+            this.maxHops = maxHops;
+        }
+    }
+
+    /**
+     * Micro-batching of chatty producers (registry updates): several envelopes per Kafka record
+     */
+    public static class BatchingConfiguration {
+        private boolean enabled = false;
+
+        @Min(value = 1, message = "Batch max count must be at least 1")
+        @Max(value = 10000, message = "Batch max count cannot exceed 10000")
+        private int maxCount = 100;
+
+        /**
+         * Serialized envelope bytes per batch; keep it below the topic's max.message.bytes.
+         */
+        @Min(value = 1024, message = "Batch max bytes must be at least 1024")
+        private int maxBytes = 256 * 1024;
+
+        /**
+         * How long the first envelope of a batch may wait for more envelopes.
+         */
+        @NotNull
+        private Duration linger = Duration.ofMillis(50);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxCount() {
+            return maxCount;
+        }
+
+        public void setMaxCount(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        public int getMaxBytes() {
+            return maxBytes;
+        }
+
+        public void setMaxBytes(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+    }
+
+    /**
+     * Envelope validation rule sets and their assignment to input bindings
+     */
+    public static class ValidationConfiguration {
+        /**
+         * Rule set for input bindings without an entry in {@code bindings}: strict, internal, none or a configured set.
+         */
+        @NotBlank(message = "Default validation rule set cannot be blank")
+        private String defaultRuleSet = "strict";
+
+        /**
+         * Additional rule sets by name, each listing rule names in the order they run.
+         */
+        @NotNull
+        private Map<String, List<String>> ruleSets = new LinkedHashMap<>();
+
+        /**
+         * Rule set by input binding name, e.g. processAgentTasks-in-0: strict.
+         */
+        @NotNull
+        private Map<String, String> bindings = new LinkedHashMap<>();
+
+        /**
+         * Whether each rule records a timer and a failure counter.
+         */
+        private boolean metrics = true;
+
+        public String getDefaultRuleSet() {
+            return defaultRuleSet;
+        }
+
+        public void setDefaultRuleSet(String defaultRuleSet) {
+            this.defaultRuleSet = defaultRuleSet;
+        }
+
+        public Map<String, List<String>> getRuleSets() {
+            return ruleSets;
+        }
+
+        public void setRuleSets(Map<String, List<String>> ruleSets) {
+            this.ruleSets = ruleSets;
+        }
+
+        public Map<String, String> getBindings() {
+            return bindings;
+        }
+
+        public void setBindings(Map<String, String> bindings) {
+            this.bindings = bindings;
+        }
+
+        public boolean isMetrics() {
+            return metrics;
+        }
+
+        public void setMetrics(boolean metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    /**
+     * Shedding of expired task records before deserialization, based on the record timestamp and TTL header
+     */
+    public static class ExpiryConfiguration {
+        private boolean enabled = true;
+
+        /**
+         * What happens to an expired record: drop it, or send it unchanged to the dead-letter destination.
+         */
+        @NotBlank(message = "Expiry action cannot be blank")
+        @Pattern(regexp = "(?i)drop|dlq", message = "Expiry action must be 'drop' or 'dlq'")
+        private String action = "drop";
+
+        @NotBlank(message = "Expiry dead-letter destination cannot be blank")
+        private String dlqDestination = "a2a.tasks.dlq";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public String getDlqDestination() {
+            return dlqDestination;
+        }
+
+        public void setDlqDestination(String dlqDestination) {
+            this.dlqDestination = dlqDestination;
+        }
+    }
+
+    /**
+     * Message ID deduplication of task input
+     */
+    public static class DedupConfiguration {
+        private boolean enabled = true;
+
+        /**
+         * How long a message ID is remembered.
+         */
+        @NotNull
+        private Duration window = Duration.ofMinutes(10);
+
+        /**
+         * Number of time slices the window is split into; IDs are forgotten one slice at a time.
+         */
+        @Min(value = 1, message = "Dedup buckets must be at least 1")
+        @Max(value = 1024, message = "Dedup buckets cannot exceed 1024")
+        private int buckets = 10;
+
+        /**
+         * Upper bound on remembered IDs; memory use is about 16 bytes per entry.
+         */
+        @Min(value = 1024, message = "Dedup max entries must be at least 1024")
+        private int maxEntries = 262_144;
+
+        /**
+         * Number of recent replies kept to answer duplicate commands.
+         */
+        @Min(value = 1, message = "Dedup reply cache size must be at least 1")
+        private int replyCacheSize = 10_000;
+
+        /**
+         * File the window is saved to and restored from; empty keeps it in memory only.
+         */
+        private String checkpointPath = "";
+
+        @NotNull
+        private Duration checkpointInterval = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public int getReplyCacheSize() {
+            return replyCacheSize;
+        }
+
+        public void setReplyCacheSize(int replyCacheSize) {
+            this.replyCacheSize = replyCacheSize;
+        }
+
+        public String getCheckpointPath() {
+            return checkpointPath;
+        }
+
+        public void setCheckpointPath(String checkpointPath) {
+            this.checkpointPath = checkpointPath;
+        }
+
+        public Duration getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        public void setCheckpointInterval(Duration checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
+    }
+
+    /**
+     * Task consumption mode of processAgentTasks
+     */
+    public static class ProcessingConfiguration {
+        /**
+         * Whether task records are consumed a poll at a time, with one offset commit per batch.
+         */
+        private boolean batchMode = false;
+
+        /**
+         * Whether task records run on virtual threads, ordered per task or correlation ID rather than per partition.
+         */
+        private boolean parallelMode = false;
+
+        /**
+         * Task records in flight per listener container at which the container is paused in parallel mode.
+         */
+        @Min(value = 1, message = "Max in-flight tasks must be at least 1")
+        private int maxInFlight = 256;
+
+        /**
+         * Destination for records that fail in batch or parallel mode, and for tasks whose retries are exhausted.
+         */
+        @NotBlank(message = "Processing dead-letter destination cannot be blank")
+        private String dlqDestination = "a2a.tasks.dlq";
+
+        /**
+         * Whether tasks failing with a retryable error are retried from the a2a.tasks.retry.* topics.
+         */
+        private boolean retryTopicsEnabled = true;
+
+        /**
+         * Whether the tasks topic is paused while an agent has max-concurrent tasks in flight.
+         */
+        private boolean backpressureEnabled = true;
+
+        /**
+         * Low-water mark, as a percentage of an agent's max-concurrent or of max-in-flight, at which a paused
+         * tasks topic resumes.
+         */
+        @Min(value = 0, message = "Backpressure resume percent cannot be negative")
+        @Max(value = 100, message = "Backpressure resume percent cannot exceed 100")
+        private int resumePercent = 50;
+
+        /**
+         * Transactional ID prefix of the binder's producers; when set, the replies, retries and dead letters of
+         * each poll of the tasks topic are sent in one Kafka transaction with its offsets. Unique per instance.
+         */
+        private String transactionIdPrefix;
+
+        @AssertTrue(message = "Batch mode and parallel mode cannot both be enabled")
+        public boolean isSingleMode() {
+            return !(batchMode && parallelMode);
+        }
+
+        @AssertTrue(message = "Parallel mode cannot be combined with transactions")
+        public boolean isTransactionCompatible() {
+            return !(parallelMode && isTransactional());
+        }
+
+        public boolean isTransactional() {
+            return transactionIdPrefix != null && !transactionIdPrefix.isBlank();
+        }
+
+        public boolean isBatchMode() {
+            return batchMode;
+        }
+
+        public void setBatchMode(boolean batchMode) {
+            this.batchMode = batchMode;
+        }
+
+        public boolean isParallelMode() {
+            return parallelMode;
+        }
+
+        public void setParallelMode(boolean parallelMode) {
+            this.parallelMode = parallelMode;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public String getDlqDestination() {
+            return dlqDestination;
+        }
+
+        public void setDlqDestination(String dlqDestination) {
+            this.dlqDestination = dlqDestination;
+        }
+
+        public boolean isRetryTopicsEnabled() {
+            return retryTopicsEnabled;
+        }
+
+        public void setRetryTopicsEnabled(boolean retryTopicsEnabled) {
+            this.retryTopicsEnabled = retryTopicsEnabled;
+        }
+
+        public boolean isBackpressureEnabled() {
+            return backpressureEnabled;
+        }
+
+        public void setBackpressureEnabled(boolean backpressureEnabled) {
+            this.backpressureEnabled = backpressureEnabled;
+        }
+
+        public int getResumePercent() {
+            return resumePercent;
+        }
+
+        public void setResumePercent(int resumePercent) {
+            this.resumePercent = resumePercent;
+        }
+
+        public String getTransactionIdPrefix() {
+            return transactionIdPrefix;
+        }
+
+        public void setTransactionIdPrefix(String transactionIdPrefix) {
+            this.transactionIdPrefix = transactionIdPrefix;
+        }
+    }
+
+    /**
+     * Replay of dead-lettered task records back onto the tasks topic
+     */
+    public static class ReplayConfiguration {
+        /**
+         * Records replayed per second for each max-concurrent slot of the agent they address.
+         */
+        @DecimalMin(value = "0.01", message = "Replay rate per slot must be at least 0.01")
+        private double ratePerSlot = 0.5;
+
+        /**
+         * How long a replay waits for records in one poll of the dead-letter topic.
+         */
+        @NotNull
+        private Duration pollTimeout = Duration.ofSeconds(1);
+
+        /**
+         * How long a replay waits for the broker to acknowledge a reinjected record.
+         */
+        @NotNull
+        private Duration sendTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Finished replays whose progress is kept; older ones are forgotten.
+         */
+        @Min(value = 1, message = "Retained replays must be at least 1")
+        private int retainedReplays = 100;
+
+        public double getRatePerSlot() {
+            return ratePerSlot;
+        }
+
+        public void setRatePerSlot(double ratePerSlot) {
+            this.ratePerSlot = ratePerSlot;
+        }
+
+        public Duration getPollTimeout() {
+            return pollTimeout;
+        }
+
+        public void setPollTimeout(Duration pollTimeout) {
+            this.pollTimeout = pollTimeout;
+        }
+
+        public Duration getSendTimeout() {
+            return sendTimeout;
+        }
+
+        public void setSendTimeout(Duration sendTimeout) {
+            this.sendTimeout = sendTimeout;
+        }
+
+        public int getRetainedReplays() {
+            return retainedReplays;
+        }
+
+        public void setRetainedReplays(int retainedReplays) {
+            this.retainedReplays = retainedReplays;
+        }
+    }
+}
@@ -38,6 +38,20 @@ public class OpenAIProperties {
     @Max(value = 10, message = "Max retries cannot exceed 10")
     private int maxRetries = 3;
 
+    private Duration retryInitialBackoff = Duration.ofMillis(200);
+
+    private Duration retryMaxBackoff = Duration.ofSeconds(10);
+
+    @DecimalMin(value = "1.0", message = "Retry multiplier must be at least 1.0")
+    private double retryMultiplier = 2.0;
+
+    @Min(value = 0, message = "Retry budget percent cannot be negative")
+    @Max(value = 100, message = "Retry budget percent cannot exceed 100")
+    private int retryBudgetPercent = 10;
+
+    @Min(value = 1, message = "Retry budget reserve must be at least 1")
+    private int retryBudgetReserve = 10;
+
     // Getters and setters
     public String getApiKey() {
         return apiKey;
@@ -86,4 +100,44 @@ public class OpenAIProperties {
     public void setMaxRetries(int maxRetries) {
         this.maxRetries = maxRetries;
     }
+
+    public Duration getRetryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    public void setRetryInitialBackoff(Duration retryInitialBackoff) {
+        this.retryInitialBackoff = retryInitialBackoff;
+    }
+
+    public Duration getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public void setRetryMaxBackoff(Duration retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    public double getRetryMultiplier() {
+        return retryMultiplier;
+    }
+
+    public void setRetryMultiplier(double retryMultiplier) {
+        this.retryMultiplier = retryMultiplier;
+    }
+
+    public int getRetryBudgetPercent() {
+        return retryBudgetPercent;
+    }
+
+    public void setRetryBudgetPercent(int retryBudgetPercent) {
+        this.retryBudgetPercent = retryBudgetPercent;
+    }
+
+    public int getRetryBudgetReserve() {
+        return retryBudgetReserve;
+    }
+
+    public void setRetryBudgetReserve(int retryBudgetReserve) {
+        this.retryBudgetReserve = retryBudgetReserve;
+    }
 }
\ No newline at end of file
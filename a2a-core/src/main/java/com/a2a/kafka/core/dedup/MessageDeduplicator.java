@@ -0,0 +1,235 @@
+package com.a2a.kafka.core.dedup;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Idempotent-consumer stage keyed on the envelope {@code id}.
+ *
+ * <p>An envelope is handled once per {@link MessageIdWindow window}. Its ID is reserved before the handler
+ * runs, so a copy arriving while it is still being handled is a duplicate too, and recorded in the window
+ * after the handler returns. A failed handler releases the reservation, so a message whose processing
+ * failed is processed again when Kafka redelivers it. A duplicate command is answered with the reply
+ * cached for its ID; other duplicates, and duplicate commands whose reply is not cached, are dropped.
+ * Envelopes without an ID are always handled.
+ *
+ * <p>With a checkpoint file, the window is restored from it on creation, written to it periodically and
+ * on {@link #close()}, so it survives restarts. Checkpoints are written to a temporary file and moved
+ * into place.
+ */
+public class MessageDeduplicator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageDeduplicator.class);
+
+    private final MessageIdWindow window;
+    private final ReplyCache replies;
+    private final Clock clock;
+    private final Path checkpoint;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong duplicates = new AtomicLong();
+    // Guarded by itself, together with the window check and record
+    private final Set<String> inFlight = new HashSet<>();
+
+    /**
+     * @param window             seen message IDs
+     * @param replies            recent replies by command ID
+     * @param clock              clock for the window and the reply cache
+     * @param checkpoint         checkpoint file, or null for an in-memory window only
+     * @param checkpointInterval time between periodic checkpoints; ignored without a checkpoint file
+     */
+    public MessageDeduplicator(MessageIdWindow window, ReplyCache replies, Clock clock, Path checkpoint,
+                               Duration checkpointInterval) {
+        this.window = window;
+        this.replies = replies;
+        this.clock = clock;
+        this.checkpoint = checkpoint;
+        if (checkpoint == null) {
+            this.scheduler = null;
+            return;
+        }
+        restore();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "a2a-dedup-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, checkpointInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Handles the envelope unless its ID was already handled within the window.
+     *
+     * @param handler produces the reply, or null for none
+     * @return the handler's reply, the cached reply to a duplicate command, or null
+     */
+    public A2AMessageEnvelope process(A2AMessageEnvelope envelope, Function<A2AMessageEnvelope, A2AMessageEnvelope> handler) {
+        String id = envelope.getId();
+        if (id == null) {
+            return handler.apply(envelope);
+        }
+        long now = clock.millis();
+        if (!reserve(id, now)) {
+            return duplicate(envelope, now);
+        }
+        A2AMessageEnvelope reply;
+        try {
+            reply = handler.apply(envelope);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        record(envelope, reply);
+        return reply;
+    }
+
+    /**
+     * Asynchronous variant of {@link #process}: the ID stays reserved while the handler's future is pending,
+     * and is recorded when it completes normally or released when it completes exceptionally.
+     *
+     * @param handler produces a future of the reply, or of null for none
+     * @return the handler's future, or a completed future of the cached reply to a duplicate command or null
+     */
+    public CompletableFuture<A2AMessageEnvelope> processAsync(
+            A2AMessageEnvelope envelope, Function<A2AMessageEnvelope, CompletableFuture<A2AMessageEnvelope>> handler) {
+        String id = envelope.getId();
+        if (id == null) {
+            return handler.apply(envelope);
+        }
+        long now = clock.millis();
+        if (!reserve(id, now)) {
+            return CompletableFuture.completedFuture(duplicate(envelope, now));
+        }
+        CompletableFuture<A2AMessageEnvelope> future;
+        try {
+            future = handler.apply(envelope);
+        } catch (RuntimeException | Error e) {
+            release(id);
+            throw e;
+        }
+        return future.whenComplete((reply, failure) -> {
+            if (failure == null) {
+                record(envelope, reply);
+            } else {
+                release(id);
+            }
+        });
+    }
+
+    /**
+     * @return false if the ID was handled within the window or is being handled
+     */
+    private boolean reserve(String id, long now) {
+        synchronized (inFlight) {
+            return !window.contains(id, now) && inFlight.add(id);
+        }
+    }
+
+    private void release(String id) {
+        synchronized (inFlight) {
+            inFlight.remove(id);
+        }
+    }
+
+    /**
+     * Caches the reply before the ID is recorded, so a duplicate seen from then on can be answered.
+     */
+    private void record(A2AMessageEnvelope envelope, A2AMessageEnvelope reply) {
+        String id = envelope.getId();
+        long now = clock.millis();
+        if (reply != null && envelope.isCommand()) {
+            replies.put(id, reply, now);
+        }
+        synchronized (inFlight) {
+            window.add(id, now);
+            inFlight.remove(id);
+        }
+    }
+
+    private A2AMessageEnvelope duplicate(A2AMessageEnvelope envelope, long now) {
+        duplicates.incrementAndGet();
+        A2AMessageEnvelope cached = envelope.isCommand() ? replies.get(envelope.getId(), now) : null;
+        logger.debug("Duplicate message {} {}", envelope.getId(),
+                cached != null ? "answered from the reply cache" : "dropped");
+        return cached;
+    }
+
+    /**
+     * @return how many duplicates were detected
+     */
+    public long getDuplicates() {
+        return duplicates.get();
+    }
+
+    public MessageIdWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Writes the window to the checkpoint file, if one is configured.
+     */
+    public void checkpoint() throws IOException {
+        if (checkpoint == null) {
+            return;
+        }
+        Path parent = checkpoint.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, checkpoint.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                window.writeCheckpoint(new BufferedOutputStream(out), clock.millis());
+            }
+            Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            checkpointQuietly();
+        }
+    }
+
+    private void restore() {
+        try (InputStream in = Files.newInputStream(checkpoint)) {
+            window.readCheckpoint(new BufferedInputStream(in), clock.millis());
+            logger.info("Restored {} message IDs from dedup checkpoint {}", window.size(), checkpoint);
+        } catch (NoSuchFileException e) {
+            logger.debug("No dedup checkpoint at {}", checkpoint);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable dedup checkpoint {}: {}", checkpoint, e.toString());
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to write dedup checkpoint {}: {}", checkpoint, e.toString());
+        }
+    }
+}
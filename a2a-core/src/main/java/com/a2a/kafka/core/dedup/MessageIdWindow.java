@@ -0,0 +1,232 @@
+package com.a2a.kafka.core.dedup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Sliding window of recently seen message IDs with bounded memory.
+ *
+ * <p>The window is split into {@code buckets} time slices of {@code window / buckets} each. An ID is
+ * recorded as a 64-bit fingerprint in the hash set of the current slice, and it counts as seen while any
+ * live slice holds it, so IDs are remembered for between {@code window - window / buckets} and
+ * {@code window}. A slice is cleared when the window moves past it. Each slice is an open-addressing
+ * {@code long[]} sized for {@code maxEntries / buckets} fingerprints, which caps memory at about
+ * 16 bytes per entry. Once a slice is full, further IDs in that slice are not recorded and
+ * {@link #getOverflows()} counts them. Fingerprint collisions are possible but negligible at 64 bits.
+ *
+ * <p>All methods are synchronized; a check and an insert cost a few array probes per live slice.
+ */
+public class MessageIdWindow {
+
+    private static final int CHECKPOINT_MAGIC = 0xA2A1D5E7;
+    private static final int CHECKPOINT_VERSION = 1;
+    private static final long EMPTY = 0L;
+
+    private final long bucketMillis;
+    private final int capacity;
+    private final long[][] tables;
+    private final long[] epochs;
+    private final int[] sizes;
+    private long overflows;
+
+    /**
+     * @param window     how long IDs are remembered
+     * @param buckets    number of time slices the window is split into
+     * @param maxEntries upper bound on the number of recorded IDs across all slices
+     */
+    public MessageIdWindow(Duration window, int buckets, int maxEntries) {
+        if (buckets < 1 || buckets > 1024) {
+            throw new IllegalArgumentException("Dedup buckets must be between 1 and 1024");
+        }
+        if (window.toMillis() < buckets) {
+            throw new IllegalArgumentException("Dedup window must be at least one millisecond per bucket");
+        }
+        if (maxEntries < buckets) {
+            throw new IllegalArgumentException("Dedup max entries must be at least the number of buckets");
+        }
+        this.bucketMillis = window.toMillis() / buckets;
+        this.capacity = maxEntries / buckets;
+        // Load factor of at most 0.75, and always at least one empty slot to end probing
+        int tableSize = Integer.highestOneBit(capacity + capacity / 3) << 1;
+        this.tables = new long[buckets][tableSize];
+        this.epochs = new long[buckets];
+        Arrays.fill(epochs, Long.MIN_VALUE);
+        this.sizes = new int[buckets];
+    }
+
+    /**
+     * @return true if the ID was recorded within the window
+     */
+    public synchronized boolean contains(String id, long nowMillis) {
+        return contains(fingerprint(id), Math.floorDiv(nowMillis, bucketMillis));
+    }
+
+    private boolean contains(long fingerprint, long epoch) {
+        for (int i = 0; i < tables.length; i++) {
+            if (isLive(epochs[i], epoch) && find(tables[i], fingerprint) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records the ID in the current slice.
+     *
+     * @return false if the ID was already recorded within the window
+     */
+    public synchronized boolean add(String id, long nowMillis) {
+        long fingerprint = fingerprint(id);
+        long epoch = Math.floorDiv(nowMillis, bucketMillis);
+        if (contains(fingerprint, epoch)) {
+            return false;
+        }
+        int bucket = (int) Math.floorMod(epoch, (long) tables.length);
+        if (epochs[bucket] != epoch) {
+            Arrays.fill(tables[bucket], EMPTY);
+            sizes[bucket] = 0;
+            epochs[bucket] = epoch;
+        }
+        if (sizes[bucket] >= capacity) {
+            overflows++;
+            return true;
+        }
+        insert(tables[bucket], fingerprint);
+        sizes[bucket]++;
+        return true;
+    }
+
+    /**
+     * @return the number of IDs currently recorded, including slices that have left the window
+     *         but were not yet reused
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (int bucketSize : sizes) {
+            size += bucketSize;
+        }
+        return size;
+    }
+
+    /**
+     * @return how many IDs were not recorded because their slice was full
+     */
+    public synchronized long getOverflows() {
+        return overflows;
+    }
+
+    /**
+     * Writes the live slices to the stream; the stream is not closed.
+     */
+    public synchronized void writeCheckpoint(OutputStream stream, long nowMillis) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        long epoch = Math.floorDiv(nowMillis, bucketMillis);
+        out.writeInt(CHECKPOINT_MAGIC);
+        out.writeInt(CHECKPOINT_VERSION);
+        out.writeLong(bucketMillis);
+        int live = 0;
+        for (long bucketEpoch : epochs) {
+            if (isLive(bucketEpoch, epoch)) {
+                live++;
+            }
+        }
+        out.writeInt(live);
+        for (int i = 0; i < tables.length; i++) {
+            if (!isLive(epochs[i], epoch)) {
+                continue;
+            }
+            out.writeLong(epochs[i]);
+            out.writeInt(sizes[i]);
+            for (long fingerprint : tables[i]) {
+                if (fingerprint != EMPTY) {
+                    out.writeLong(fingerprint);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Restores slices written by {@link #writeCheckpoint(OutputStream, long)}. Slices that have left the
+     * window since, or that do not fit this window's layout, are skipped.
+     *
+     * @throws IOException if the stream is not a checkpoint or is truncated
+     */
+    public synchronized void readCheckpoint(InputStream stream, long nowMillis) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+            throw new IOException("Not a message ID window checkpoint");
+        }
+        boolean sameLayout = in.readLong() == bucketMillis;
+        long epoch = Math.floorDiv(nowMillis, bucketMillis);
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            long bucketEpoch = in.readLong();
+            int size = in.readInt();
+            if (size < 0) {
+                throw new IOException("Invalid checkpoint slice size: " + size);
+            }
+            boolean restore = sameLayout && isLive(bucketEpoch, epoch) && size <= capacity;
+            int bucket = (int) Math.floorMod(bucketEpoch, (long) tables.length);
+            if (restore) {
+                Arrays.fill(tables[bucket], EMPTY);
+                sizes[bucket] = 0;
+                epochs[bucket] = bucketEpoch;
+            }
+            for (int j = 0; j < size; j++) {
+                long fingerprint = in.readLong();
+                if (restore && insert(tables[bucket], fingerprint)) {
+                    sizes[bucket]++;
+                }
+            }
+        }
+    }
+
+    private boolean isLive(long bucketEpoch, long epoch) {
+        return bucketEpoch <= epoch && bucketEpoch > epoch - tables.length;
+    }
+
+    private static int find(long[] table, long fingerprint) {
+        int mask = table.length - 1;
+        int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        while (table[slot] != EMPTY) {
+            if (table[slot] == fingerprint) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean insert(long[] table, long fingerprint) {
+        if (find(table, fingerprint) >= 0) {
+            return false;
+        }
+        int mask = table.length - 1;
+        int slot = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = fingerprint;
+        return true;
+    }
+
+    // FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mixer; never EMPTY
+    static long fingerprint(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+}
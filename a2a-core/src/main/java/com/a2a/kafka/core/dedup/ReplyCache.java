@@ -0,0 +1,60 @@
+package com.a2a.kafka.core.dedup;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of recent replies by the ID of the command they answer, least recently used first out.
+ * Replies are kept as built, so a duplicate command is answered with the same reply ID and downstream
+ * consumers can deduplicate the repeated reply in turn.
+ */
+public class ReplyCache {
+
+    private final Map<String, Entry> replies;
+    private final long ttlMillis;
+
+    private record Entry(A2AMessageEnvelope reply, long cachedAtMillis) {
+    }
+
+    /**
+     * @param maxEntries upper bound on cached replies
+     * @param ttlMillis  how long a reply is served from the cache
+     */
+    public ReplyCache(int maxEntries, long ttlMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Reply cache size must be at least 1");
+        }
+        this.ttlMillis = ttlMillis;
+        this.replies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized void put(String requestId, A2AMessageEnvelope reply, long nowMillis) {
+        replies.put(requestId, new Entry(reply, nowMillis));
+    }
+
+    /**
+     * @return the cached reply to the request, or null if there is none or it is older than the TTL
+     */
+    public synchronized A2AMessageEnvelope get(String requestId, long nowMillis) {
+        Entry entry = replies.get(requestId);
+        if (entry == null) {
+            return null;
+        }
+        if (nowMillis - entry.cachedAtMillis() > ttlMillis) {
+            replies.remove(requestId);
+            return null;
+        }
+        return entry.reply();
+    }
+
+    public synchronized int size() {
+        return replies.size();
+    }
+}
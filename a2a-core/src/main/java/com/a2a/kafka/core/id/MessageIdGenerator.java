@@ -0,0 +1,13 @@
+package com.a2a.kafka.core.id;
+
+/**
+ * Source of message IDs for new envelopes. Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface MessageIdGenerator {
+
+    /**
+     * @return a new, globally unique message ID
+     */
+    String nextId();
+}
@@ -0,0 +1,46 @@
+package com.a2a.kafka.core.id;
+
+/**
+ * Process-wide message ID source used by envelopes and the message builder.
+ * Defaults to {@link TimeOrderedIdGenerator}; {@link #setGenerator} installs another scheme.
+ */
+public final class MessageIds {
+
+    private static volatile MessageIdGenerator generator = new TimeOrderedIdGenerator();
+
+    private MessageIds() {
+    }
+
+    /**
+     * @return a new message ID from the installed generator
+     */
+    public static String next() {
+        return generator.nextId();
+    }
+
+    public static MessageIdGenerator getGenerator() {
+        return generator;
+    }
+
+    public static void setGenerator(MessageIdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Message ID generator cannot be null");
+        }
+        MessageIds.generator = generator;
+    }
+
+    /**
+     * @param name the generator name ("time-ordered" or "random")
+     * @return a new generator of that kind
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static MessageIdGenerator forName(String name) {
+        if (TimeOrderedIdGenerator.NAME.equalsIgnoreCase(name)) {
+            return new TimeOrderedIdGenerator();
+        }
+        if (RandomUuidGenerator.NAME.equalsIgnoreCase(name)) {
+            return new RandomUuidGenerator();
+        }
+        throw new IllegalArgumentException("Unknown message ID generator: " + name);
+    }
+}
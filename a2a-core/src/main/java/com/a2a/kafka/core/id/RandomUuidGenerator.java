@@ -0,0 +1,17 @@
+package com.a2a.kafka.core.id;
+
+import java.util.UUID;
+
+/**
+ * Random (version 4) UUID message IDs, the original ID scheme.
+ * Every call draws from the shared {@link java.security.SecureRandom}.
+ */
+public class RandomUuidGenerator implements MessageIdGenerator {
+
+    public static final String NAME = "random";
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -1,16 +1,26 @@
 package com.a2a.kafka.core.message;
 
+import com.a2a.kafka.core.id.MessageIds;
+import com.a2a.kafka.core.payload.PayloadDeserializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * A2A Message Envelope structure for standardized agent communication.
  * Based on the A2A protocol specification for message exchange.
+ *
+ * <p>The envelope is a bean so that codecs can populate it field by field. Code deriving one message
+ * from another should use the {@code withX} copy methods, which leave the source untouched and copy it
+ * in one allocation without generating a new ID or timestamp. Copies share the payload and the headers map,
+ * which is read-only: {@link #withHeader} and {@link #withHeaders} are the way to change headers.
  */
 public class A2AMessageEnvelope {
 
@@ -37,6 +47,7 @@ public class A2AMessageEnvelope {
 
     @NotNull(message = "Payload cannot be null")
     @JsonProperty("payload")
+    @JsonDeserialize(using = PayloadDeserializer.class)
     private Object payload;
 
     @NotNull(message = "Timestamp cannot be null")
@@ -55,12 +66,59 @@ public class A2AMessageEnvelope {
     @JsonProperty("ttl")
     private Long ttl;
 
+    // Undecoded payload bytes when the envelope was read in lazy payload mode
+    @JsonIgnore
+    private transient LazyPayload lazyPayload;
+
+    // When the record was reinjected from a dead-letter topic, from its a2a_replayed_at header
+    @JsonIgnore
+    private transient Instant replayedAt;
+
     // Default constructor
     public A2AMessageEnvelope() {
-        this.id = UUID.randomUUID().toString();
+        this.id = MessageIds.next();
         this.timestamp = Instant.now();
     }
 
+    /**
+     * Sets every field as given; unlike the no-arg constructor no ID or timestamp is generated.
+     * Used by {@link com.a2a.kafka.core.builder.A2AMessageBuilder} to build an envelope in one step.
+     *
+     * @param lazyPayload undecoded payload, used only when {@code payload} is null
+     */
+    public A2AMessageEnvelope(String id, MessageType type, String from, String to, String taskId, String method,
+                              Object payload, LazyPayload lazyPayload, Instant timestamp, Map<String, String> headers,
+                              String correlationId, String replyTo, Long ttl) {
+        this.id = id;
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.taskId = taskId;
+        this.method = method;
+        this.payload = payload;
+        this.lazyPayload = payload == null ? lazyPayload : null;
+        this.timestamp = timestamp;
+        this.headers = readOnly(headers);
+        this.correlationId = correlationId;
+        this.replyTo = replyTo;
+        this.ttl = ttl;
+    }
+
+    // Copy constructor for the withX methods; shares the payload state without decoding it
+    private A2AMessageEnvelope(A2AMessageEnvelope source) {
+        this(source.id, source.type, source.from, source.to, source.taskId, source.method, source.payload,
+                source.lazyPayload, source.timestamp, source.headers, source.correlationId, source.replyTo, source.ttl);
+        this.replayedAt = source.replayedAt;
+    }
+
+    /**
+     * Creates an envelope with every field unset, for decoders that fill in all fields themselves,
+     * so no ID or timestamp is generated only to be overwritten.
+     */
+    public static A2AMessageEnvelope empty() {
+        return new A2AMessageEnvelope(null, null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
     // Constructor with required fields
     public A2AMessageEnvelope(MessageType type, String from, Object payload) {
         this();
@@ -124,12 +182,53 @@ public class A2AMessageEnvelope {
         this.method = method;
     }
 
+    /**
+     * Returns the payload, decoding it on first access if the envelope was read in lazy payload mode.
+     */
     public Object getPayload() {
+        LazyPayload lazy = this.lazyPayload;
+        if (this.payload == null && lazy != null) {
+            this.payload = lazy.decode();
+        }
         return payload;
     }
 
     public void setPayload(Object payload) {
         this.payload = payload;
+        this.lazyPayload = null;
+    }
+
+    /**
+     * @return the undecoded payload, or null if the payload was set directly or read eagerly
+     */
+    @JsonIgnore
+    public LazyPayload getLazyPayload() {
+        return lazyPayload;
+    }
+
+    /**
+     * Sets an undecoded payload; it is decoded on the first call to {@link #getPayload()}.
+     */
+    @JsonIgnore
+    public void setLazyPayload(LazyPayload lazyPayload) {
+        this.lazyPayload = lazyPayload;
+        this.payload = null;
+    }
+
+    /**
+     * @return true if the payload has not been decoded yet, so its wire bytes can be re-emitted verbatim
+     */
+    @JsonIgnore
+    public boolean isPayloadUndecoded() {
+        return this.lazyPayload != null && this.payload == null;
+    }
+
+    /**
+     * Checks for a payload without decoding a lazy one.
+     */
+    @JsonIgnore
+    public boolean hasPayload() {
+        return this.payload != null || this.lazyPayload != null;
     }
 
     public Instant getTimestamp() {
@@ -140,12 +239,26 @@ public class A2AMessageEnvelope {
         this.timestamp = timestamp;
     }
 
+    /**
+     * @return the headers as a read-only map, or null if none were set
+     */
     public Map<String, String> getHeaders() {
         return headers;
     }
 
+    /**
+     * @param headers kept as a read-only view, so the caller must not modify the map afterwards
+     */
     public void setHeaders(Map<String, String> headers) {
-        this.headers = headers;
+        this.headers = readOnly(headers);
+    }
+
+    private static Map<String, String> readOnly(Map<String, String> headers) {
+        if (headers == null) {
+            return null;
+        }
+        // unmodifiableMap returns a map it already wrapped as is, so copies do not stack views
+        return headers.isEmpty() ? Map.of() : Collections.unmodifiableMap(headers);
     }
 
     public String getCorrelationId() {
@@ -172,23 +285,137 @@ public class A2AMessageEnvelope {
         this.ttl = ttl;
     }
 
+    /**
+     * @return when the record carrying this envelope was replayed from a dead-letter topic, or null if it
+     * was not; not part of the envelope, set by the deserializer from the record headers
+     */
+    @JsonIgnore
+    public Instant getReplayedAt() {
+        return replayedAt;
+    }
+
+    @JsonIgnore
+    public void setReplayedAt(Instant replayedAt) {
+        this.replayedAt = replayedAt;
+    }
+
+    // Copy methods
+    public A2AMessageEnvelope withId(String id) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.id = id;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withType(MessageType type) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.type = type;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withFrom(String from) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.from = from;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withTo(String to) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.to = to;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withTaskId(String taskId) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.taskId = taskId;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withMethod(String method) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.method = method;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withPayload(Object payload) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.setPayload(payload);
+        return copy;
+    }
+
+    public A2AMessageEnvelope withTimestamp(Instant timestamp) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.timestamp = timestamp;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withHeaders(Map<String, String> headers) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.headers = readOnly(headers);
+        return copy;
+    }
+
+    /**
+     * @return a copy with the header added; the headers map is copied, not modified
+     */
+    public A2AMessageEnvelope withHeader(String key, String value) {
+        Map<String, String> copied = this.headers == null ? new HashMap<>() : new HashMap<>(this.headers);
+        copied.put(key, value);
+        return withHeaders(copied);
+    }
+
+    public A2AMessageEnvelope withCorrelationId(String correlationId) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.correlationId = correlationId;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withReplyTo(String replyTo) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.replyTo = replyTo;
+        return copy;
+    }
+
+    public A2AMessageEnvelope withTtl(Long ttl) {
+        A2AMessageEnvelope copy = new A2AMessageEnvelope(this);
+        copy.ttl = ttl;
+        return copy;
+    }
+
+    /**
+     * Derives a new message of the given type that carries this message's payload (still undecoded if it was)
+     * and correlation ID. The copy gets its own ID and timestamp; routing fields and headers are not carried over
+     * and the headers are the shared empty map.
+     *
+     * @param id        the new message ID
+     * @param timestamp the new message timestamp
+     */
+    public A2AMessageEnvelope forwardAs(String id, MessageType type, String from, Instant timestamp) {
+        return new A2AMessageEnvelope(id, type, from, null, null, null, this.payload, this.lazyPayload, timestamp,
+                Map.of(), this.correlationId, null, null);
+    }
+
     // Utility methods
+    @JsonIgnore
     public boolean isCommand() {
         return MessageType.COMMAND.equals(this.type);
     }
 
+    @JsonIgnore
     public boolean isReply() {
         return MessageType.REPLY.equals(this.type);
     }
 
+    @JsonIgnore
     public boolean isEvent() {
         return MessageType.EVENT.equals(this.type);
     }
 
+    @JsonIgnore
     public boolean hasTaskId() {
         return this.taskId != null && !this.taskId.trim().isEmpty();
     }
 
+    @JsonIgnore
     public boolean isExpired() {
         if (this.ttl == null) {
             return false;
@@ -0,0 +1,61 @@
+package com.a2a.kafka.core.message;
+
+import java.util.Objects;
+
+/**
+ * Reference to an envelope payload that was offloaded to a payload store instead of travelling in the record.
+ * The envelope carries only this reference; the payload JSON is fetched from the store when it is decoded.
+ */
+public final class ClaimCheck {
+
+    private final String reference;
+    private final String contentHash;
+    private final int length;
+
+    /**
+     * @param reference   store-specific key of the payload
+     * @param contentHash SHA-256 of the payload JSON, hex encoded
+     * @param length      payload JSON length in bytes
+     */
+    public ClaimCheck(String reference, String contentHash, int length) {
+        this.reference = Objects.requireNonNull(reference, "reference");
+        this.contentHash = Objects.requireNonNull(contentHash, "contentHash");
+        this.length = length;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ClaimCheck that = (ClaimCheck) o;
+
+        return length == that.length && reference.equals(that.reference) && contentHash.equals(that.contentHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(reference, contentHash, length);
+    }
+
+    @Override
+    public String toString() {
+        return "ClaimCheck{" +
+                "reference='" + reference + '\'' +
+                ", contentHash='" + contentHash + '\'' +
+                ", length=" + length +
+                '}';
+    }
+}
@@ -0,0 +1,141 @@
+package com.a2a.kafka.core.message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Undecoded envelope payload retained as a slice of the received record bytes.
+ * The slice holds the payload's JSON value and is only parsed when {@link A2AMessageEnvelope#getPayload()}
+ * is first called; until then it can be re-emitted verbatim when the envelope is forwarded.
+ *
+ * <p>A compressed payload keeps its compressed bytes together with the algorithm name and the
+ * decompressed length, so it is neither decompressed nor recompressed when it is forwarded. Likewise a
+ * claim-checked payload keeps only its {@link ClaimCheck} and is fetched from the payload store on first access.
+ */
+public final class LazyPayload {
+
+    /**
+     * Parses the payload slice into its object form.
+     */
+    @FunctionalInterface
+    public interface Decoder {
+        Object decode(byte[] data, int offset, int length) throws IOException;
+    }
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final byte[] data;
+    private final int offset;
+    private final int length;
+    private final String compression;
+    private final int decompressedLength;
+    private final ClaimCheck claimCheck;
+    private final Decoder decoder;
+
+    public LazyPayload(byte[] data, int offset, int length, Decoder decoder) {
+        this(data, offset, length, null, length, decoder);
+    }
+
+    /**
+     * @param compression        the compression algorithm name, or null if the slice is plain JSON
+     * @param decompressedLength the JSON length after decompression
+     */
+    public LazyPayload(byte[] data, int offset, int length, String compression, int decompressedLength, Decoder decoder) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Payload slice out of bounds");
+        }
+        this.data = data;
+        this.offset = offset;
+        this.length = length;
+        this.compression = compression;
+        this.decompressedLength = decompressedLength;
+        this.claimCheck = null;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Creates a payload that is fetched through the claim check when decoded; the decoder receives an empty slice.
+     */
+    public LazyPayload(ClaimCheck claimCheck, Decoder decoder) {
+        this.data = EMPTY;
+        this.offset = 0;
+        this.length = 0;
+        this.compression = null;
+        this.decompressedLength = claimCheck.getLength();
+        this.claimCheck = claimCheck;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Parses the payload.
+     *
+     * @throws UncheckedIOException if the payload bytes are not valid
+     */
+    public Object decode() {
+        try {
+            return decoder.decode(data, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode A2A message payload", e);
+        }
+    }
+
+    /**
+     * @return the backing array; only the range [offset, offset + length) belongs to the payload
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    public int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return the compression algorithm name, or null if the slice is plain JSON
+     */
+    public String compression() {
+        return compression;
+    }
+
+    public boolean isCompressed() {
+        return compression != null;
+    }
+
+    /**
+     * @return the claim check of an offloaded payload, or null if the payload bytes are inline
+     */
+    public ClaimCheck claimCheck() {
+        return claimCheck;
+    }
+
+    public boolean isClaimCheck() {
+        return claimCheck != null;
+    }
+
+    /**
+     * @return the JSON length of the payload once decompressed; equals {@link #length()} when uncompressed
+     */
+    public int decompressedLength() {
+        return decompressedLength;
+    }
+
+    /**
+     * @return a copy of the payload bytes
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    /**
+     * @return true if the payload is a JSON string, which can be checked without decoding it;
+     *         always false for a compressed or claim-checked payload
+     */
+    public boolean isJsonString() {
+        return compression == null && length > 0 && data[offset] == '"';
+    }
+}
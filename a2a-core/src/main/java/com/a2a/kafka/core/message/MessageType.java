@@ -10,22 +10,24 @@ public enum MessageType {
     /**
      * Command message - represents a request for an agent to perform an action
      */
-    COMMAND("command"),
+    COMMAND("command", (byte) 1),
     
     /**
      * Reply message - represents a response to a command
      */
-    REPLY("reply"),
+    REPLY("reply", (byte) 2),
     
     /**
      * Event message - represents a notification or status update
      */
-    EVENT("event");
+    EVENT("event", (byte) 3);
 
     private final String value;
+    private final byte code;
 
-    MessageType(String value) {
+    MessageType(String value, byte code) {
         this.value = value;
+        this.code = code;
     }
 
     @JsonValue
@@ -53,6 +55,29 @@ public enum MessageType {
         throw new IllegalArgumentException("Unknown MessageType value: " + value);
     }
 
+    /**
+     * @return the single-byte wire code used by the binary envelope codec
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * Resolve a MessageType from its binary wire code
+     * @param code the wire code
+     * @return the corresponding MessageType
+     * @throws IllegalArgumentException if the code is not recognized
+     */
+    public static MessageType fromCode(byte code) {
+        for (MessageType type : MessageType.values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown MessageType code: " + code);
+    }
+
     @Override
     public String toString() {
         return value;
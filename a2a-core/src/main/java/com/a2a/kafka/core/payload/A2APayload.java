@@ -0,0 +1,45 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Map;
+
+/**
+ * Typed envelope payloads, keyed by the {@value #TYPE_PROPERTY} discriminator.
+ * Payloads are written with the discriminator first so that {@link PayloadReader} can pick the record
+ * type without buffering the rest of the object. Payloads with an unknown or missing discriminator
+ * are decoded as a generic {@code Map}.
+ */
+@JsonPropertyOrder({A2APayload.TYPE_PROPERTY})
+@JsonIgnoreProperties(value = A2APayload.TYPE_PROPERTY, allowGetters = true, ignoreUnknown = true)
+public sealed interface A2APayload
+        permits TextPayload, ErrorPayload, SuccessPayload, TranslationRequest, SummarizationRequest {
+
+    String TYPE_PROPERTY = "type";
+
+    /**
+     * @return the discriminator written to the {@value #TYPE_PROPERTY} property
+     */
+    @JsonProperty(TYPE_PROPERTY)
+    String type();
+
+    /**
+     * Every known discriminator with its payload record.
+     */
+    Map<String, Class<? extends A2APayload>> TYPES = Map.of(
+            TextPayload.TYPE, TextPayload.class,
+            ErrorPayload.TYPE, ErrorPayload.class,
+            SuccessPayload.TYPE, SuccessPayload.class,
+            TranslationRequest.TYPE, TranslationRequest.class,
+            SummarizationRequest.TYPE, SummarizationRequest.class);
+
+    /**
+     * @param type a discriminator value
+     * @return the payload record for the discriminator, or null if it is unknown
+     */
+    static Class<? extends A2APayload> classFor(String type) {
+        return type == null ? null : TYPES.get(type);
+    }
+}
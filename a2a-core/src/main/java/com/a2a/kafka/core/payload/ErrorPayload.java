@@ -0,0 +1,14 @@
+package com.a2a.kafka.core.payload;
+
+/**
+ * A processing failure reported back to the sender.
+ */
+public record ErrorPayload(String code, String message) implements A2APayload {
+
+    public static final String TYPE = "error";
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,31 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * Jackson deserializer for payload properties, such as the envelope payload when an envelope is bound
+ * by an {@code ObjectMapper}. Uses the same discriminator lookup as {@link PayloadReader}.
+ */
+public class PayloadDeserializer extends StdDeserializer<Object> {
+
+    public PayloadDeserializer() {
+        super(Object.class);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return ctxt.readValue(p, Object.class);
+        }
+        TokenBuffer buffer = ctxt.bufferForInputBuffering(p);
+        String type = PayloadReader.bufferUntilType(p, buffer);
+        Class<? extends A2APayload> payloadClass = A2APayload.classFor(type);
+        JsonParser replay = PayloadReader.replay(p, buffer, type == null);
+        return payloadClass != null ? ctxt.readValue(replay, payloadClass) : ctxt.readValue(replay, Object.class);
+    }
+}
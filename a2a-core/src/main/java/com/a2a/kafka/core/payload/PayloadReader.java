@@ -0,0 +1,93 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes standalone payload JSON into {@link A2APayload} records, falling back to the generic
+ * {@code Map}/{@code List}/scalar representation for anything else.
+ * One reader per payload type is created up front so that each decode is a table lookup on the
+ * discriminator followed by a direct bind.
+ */
+public final class PayloadReader {
+
+    private final ObjectReader untyped;
+    private final Map<String, ObjectReader> typed;
+
+    public PayloadReader(ObjectMapper objectMapper) {
+        this.untyped = objectMapper.readerFor(Object.class);
+        Map<String, ObjectReader> readers = new HashMap<>();
+        A2APayload.TYPES.forEach((type, payloadClass) -> readers.put(type, objectMapper.readerFor(payloadClass)));
+        this.typed = Map.copyOf(readers);
+    }
+
+    public Object read(byte[] data, int offset, int length) throws IOException {
+        try (JsonParser parser = untyped.createParser(data, offset, length)) {
+            return read(parser);
+        }
+    }
+
+    public Object read(InputStream in) throws IOException {
+        try (JsonParser parser = untyped.createParser(in)) {
+            return read(parser);
+        }
+    }
+
+    /**
+     * Reads one value, starting at the parser's current token or at the next one if there is none.
+     */
+    public Object read(JsonParser parser) throws IOException {
+        JsonToken token = parser.hasCurrentToken() ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            return untyped.readValue(parser);
+        }
+        TokenBuffer buffer = new TokenBuffer(parser);
+        String type = bufferUntilType(parser, buffer);
+        ObjectReader reader = type == null ? null : typed.get(type);
+        return (reader != null ? reader : untyped).readValue(replay(parser, buffer, type == null));
+    }
+
+    /**
+     * Copies object members into the buffer up to and including a string {@value A2APayload#TYPE_PROPERTY}
+     * member. The parser must be on the object's START_OBJECT token.
+     *
+     * @return the discriminator, or null if the object has none; the whole object is then buffered
+     */
+    static String bufferUntilType(JsonParser parser, TokenBuffer buffer) throws IOException {
+        buffer.writeStartObject();
+        for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            buffer.writeFieldName(field);
+            if (A2APayload.TYPE_PROPERTY.equals(field) && value == JsonToken.VALUE_STRING) {
+                String type = parser.getText();
+                buffer.writeString(type);
+                return type;
+            }
+            buffer.copyCurrentStructure(parser);
+        }
+        buffer.writeEndObject();
+        return null;
+    }
+
+    /**
+     * @param complete whether the buffer holds the whole object, or only its members up to the discriminator
+     * @return a parser over the buffered members followed by the rest of the object, on its START_OBJECT token
+     */
+    static JsonParser replay(JsonParser parser, TokenBuffer buffer, boolean complete) throws IOException {
+        JsonParser replay = complete
+                ? buffer.asParser(parser)
+                : JsonParserSequence.createFlattened(false, buffer.asParser(parser), parser);
+        replay.nextToken();
+        return replay;
+    }
+}
@@ -0,0 +1,16 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * A successful result; the result itself may be another typed payload.
+ */
+public record SuccessPayload(@JsonDeserialize(using = PayloadDeserializer.class) Object result) implements A2APayload {
+
+    public static final String TYPE = "success";
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request for the summarizer agent.
+ */
+public record SummarizationRequest(String text,
+                                   @JsonProperty("length_hint") String lengthHint) implements A2APayload {
+
+    public static final String TYPE = "summarization_request";
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+}
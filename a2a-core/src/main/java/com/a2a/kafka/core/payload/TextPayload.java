@@ -0,0 +1,14 @@
+package com.a2a.kafka.core.payload;
+
+/**
+ * Plain text content.
+ */
+public record TextPayload(String content) implements A2APayload {
+
+    public static final String TYPE = "text";
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.a2a.kafka.core.payload;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request for the translator agent.
+ */
+public record TranslationRequest(String text,
+                                 @JsonProperty("target_language") String targetLanguage) implements A2APayload {
+
+    public static final String TYPE = "translation_request";
+
+    @Override
+    public String type() {
+        return TYPE;
+    }
+}
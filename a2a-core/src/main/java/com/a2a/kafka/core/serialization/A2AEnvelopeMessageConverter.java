@@ -0,0 +1,100 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.SmartMessageConverter;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Spring Cloud Stream message converter for A2A message envelopes.
+ * Delegates to {@link A2AMessageSerializer} and {@link A2AMessageDeserializer} so that bindings
+ * using the default byte[] Kafka serdes get the same codec negotiation and record headers as
+ * native Kafka clients.
+ */
+public class A2AEnvelopeMessageConverter implements SmartMessageConverter {
+
+    private final A2AMessageSerializer serializer;
+    private final A2AMessageDeserializer deserializer;
+
+    public A2AEnvelopeMessageConverter(A2AMessageSerializer serializer, A2AMessageDeserializer deserializer) {
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Serializes an envelope as the bindings do, writing its record headers into {@code recordHeaders}.
+     * Usable as an {@link com.a2a.kafka.core.batch.EnvelopeBatcher.Encoder}.
+     */
+    public byte[] serialize(A2AMessageEnvelope envelope, Headers recordHeaders) {
+        return serializer.serialize(null, recordHeaders, envelope);
+    }
+
+    @Override
+    @Nullable
+    public Object fromMessage(Message<?> message, Class<?> targetClass) {
+        if (!(message.getPayload() instanceof byte[] data) || !A2AMessageEnvelope.class.isAssignableFrom(targetClass)) {
+            return null;
+        }
+        return deserializer.deserialize(null, toRecordHeaders(message.getHeaders()), data);
+    }
+
+    @Override
+    @Nullable
+    public Object fromMessage(Message<?> message, Class<?> targetClass, @Nullable Object conversionHint) {
+        return fromMessage(message, targetClass);
+    }
+
+    @Override
+    @Nullable
+    public Message<?> toMessage(Object payload, @Nullable MessageHeaders headers) {
+        if (!(payload instanceof A2AMessageEnvelope envelope)) {
+            return null;
+        }
+        RecordHeaders recordHeaders = new RecordHeaders();
+        byte[] bytes = serializer.serialize(null, recordHeaders, envelope);
+        MessageBuilder<byte[]> builder = MessageBuilder.withPayload(bytes);
+        if (headers != null) {
+            builder.copyHeaders(headers);
+        }
+        // Raw byte[] values are passed through to Kafka record headers as-is by the binder
+        for (Header header : recordHeaders) {
+            builder.setHeader(header.key(), header.value());
+        }
+        // The codec the serializer chose, not whatever content type the copied headers carried
+        String codec = A2AKafkaHeaders.get(recordHeaders, A2AKafkaHeaders.CODEC);
+        builder.setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.parseMimeType(codec != null
+                ? EnvelopeCodecs.forName(codec).contentType() : MimeTypeUtils.APPLICATION_JSON_VALUE));
+        return builder.build();
+    }
+
+    @Override
+    @Nullable
+    public Message<?> toMessage(Object payload, @Nullable MessageHeaders headers, @Nullable Object conversionHint) {
+        return toMessage(payload, headers);
+    }
+
+    private static RecordHeaders toRecordHeaders(MessageHeaders headers) {
+        RecordHeaders recordHeaders = new RecordHeaders();
+        for (Map.Entry<String, Object> entry : headers.entrySet()) {
+            if (!entry.getKey().startsWith(A2AKafkaHeaders.PREFIX)) {
+                continue;
+            }
+            Object value = entry.getValue();
+            if (value instanceof byte[] bytes) {
+                recordHeaders.add(entry.getKey(), bytes);
+            } else if (value != null) {
+                recordHeaders.add(entry.getKey(), value.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return recordHeaders;
+    }
+}
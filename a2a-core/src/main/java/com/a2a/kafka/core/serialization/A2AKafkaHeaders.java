@@ -0,0 +1,146 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Kafka record header names used by the A2A serialization layer.
+ * Header values are always written as raw UTF-8 bytes so that they can be read
+ * without any knowledge of the envelope codec.
+ */
+public final class A2AKafkaHeaders {
+
+    /**
+     * Prefix shared by all A2A record headers.
+     */
+    public static final String PREFIX = "a2a_";
+
+    /**
+     * Name of the envelope codec used to encode the record value (e.g. "json", "binary").
+     */
+    public static final String CODEC = PREFIX + "codec";
+
+    /**
+     * Algorithm of a compressed payload inside the record value (e.g. "zstd", "lz4"); absent when the
+     * payload is not compressed. The envelope itself also records the algorithm, so the header is informational.
+     */
+    public static final String PAYLOAD_COMPRESSION = PREFIX + "payload_compression";
+
+    /**
+     * Number of envelopes packed into a batch record value (see {@code EnvelopeBatch}); absent on single-envelope records.
+     */
+    public static final String BATCH = PREFIX + "batch";
+
+    // Routing fields mirrored from the envelope so consumers can route without decoding the value
+    public static final String ID = PREFIX + "id";
+    public static final String TYPE = PREFIX + "type";
+    public static final String FROM = PREFIX + "from";
+    public static final String TO = PREFIX + "to";
+    public static final String METHOD = PREFIX + "method";
+    public static final String TASK_ID = PREFIX + "task_id";
+    public static final String CORRELATION_ID = PREFIX + "correlation_id";
+    public static final String TTL = PREFIX + "ttl";
+
+    // Forwarding metadata added by RawEnvelopeForwarder
+    public static final String HOPS = PREFIX + "hops";
+    public static final String FORWARDED_BY = PREFIX + "forwarded_by";
+    public static final String FORWARDED_AT = PREFIX + "forwarded_at";
+
+    /**
+     * Why a record was sent to a dead-letter topic by an A2A stage, e.g. {@code expired}.
+     */
+    public static final String DLQ_REASON = PREFIX + "dlq_reason";
+
+    /**
+     * Attempt a task on a retry topic is processed as, starting at 2; absent on the first attempt.
+     */
+    public static final String RETRY_ATTEMPT = PREFIX + "retry_attempt";
+
+    /**
+     * Topic a retried or dead-lettered task was first consumed from.
+     */
+    public static final String ORIGINAL_TOPIC = PREFIX + "original_topic";
+
+    /**
+     * When a record was reinjected from a dead-letter topic, in epoch milliseconds.
+     */
+    public static final String REPLAYED_AT = PREFIX + "replayed_at";
+
+    private A2AKafkaHeaders() {
+    }
+
+    /**
+     * Replaces any existing header with the given name by a single UTF-8 encoded value, or removes it
+     * when the value is null.
+     */
+    public static void put(Headers headers, String name, String value) {
+        if (headers == null) {
+            return;
+        }
+        headers.remove(name);
+        if (value != null) {
+            headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Writes the {@link #PAYLOAD_COMPRESSION} header, or removes it when the payload was not compressed.
+     */
+    public static void putPayloadCompression(Headers headers, PayloadCompression compression) {
+        if (headers == null) {
+            return;
+        }
+        if (compression == null || compression == PayloadCompression.NONE) {
+            headers.remove(PAYLOAD_COMPRESSION);
+        } else {
+            put(headers, PAYLOAD_COMPRESSION, compression.getName());
+        }
+    }
+
+    /**
+     * Mirrors the envelope routing fields into record headers. Headers of null fields are removed, so a
+     * reused header set never carries the values of an earlier envelope.
+     */
+    public static void putRouting(Headers headers, A2AMessageEnvelope envelope) {
+        put(headers, ID, envelope.getId());
+        put(headers, TYPE, envelope.getType() == null ? null : envelope.getType().getValue());
+        put(headers, FROM, envelope.getFrom());
+        put(headers, TO, envelope.getTo());
+        put(headers, METHOD, envelope.getMethod());
+        put(headers, TASK_ID, envelope.getTaskId());
+        put(headers, CORRELATION_ID, envelope.getCorrelationId());
+        put(headers, TTL, envelope.getTtl() == null ? null : envelope.getTtl().toString());
+    }
+
+    /**
+     * @return the last value of the given header decoded as UTF-8, or null if absent
+     */
+    public static String get(Headers headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        Header header = headers.lastHeader(name);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the header value parsed as a long, or null if absent or not a number
+     */
+    public static Long getLong(Headers headers, String name) {
+        String value = get(headers, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,52 +1,84 @@
 package com.a2a.kafka.core.serialization;
 
+import com.a2a.kafka.core.batch.BatchSplittingConsumerInterceptor;
+import com.a2a.kafka.core.batch.EnvelopeBatch;
+import com.a2a.kafka.core.claimcheck.ClaimCheckPolicy;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Map;
 
 /**
  * Kafka deserializer for A2A message envelopes.
- * Converts JSON byte arrays back to A2AMessageEnvelope objects from Kafka transport.
+ * Converts byte arrays back to A2AMessageEnvelope objects from Kafka transport. The codec is chosen
+ * from the {@link A2AKafkaHeaders#CODEC} header when present, otherwise it is detected from the data,
+ * so JSON and binary records can be consumed side by side.
+ *
+ * <p>With {@link #LAZY_PAYLOAD_CONFIG} enabled only the routing fields are parsed eagerly; the payload
+ * is decoded on first access and re-emitted verbatim if the envelope is forwarded without touching it.
+ * Compressed payloads are recognised from the envelope itself and are decompressed at the same point
+ * the payload is decoded, so in lazy mode a forwarded compressed payload is never decompressed.
+ * Claim-checked payloads are fetched from the store configured under
+ * {@link A2AMessageSerializer#CLAIM_CHECK_STORE_CONFIG} in the same way.
  */
 public class A2AMessageDeserializer implements Deserializer<A2AMessageEnvelope> {
 
     private static final Logger logger = LoggerFactory.getLogger(A2AMessageDeserializer.class);
-    
-    private final ObjectMapper objectMapper;
 
-    public A2AMessageDeserializer() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        // Configure to read dates as ISO strings
-        this.objectMapper.findAndRegisterModules();
-    }
+    /**
+     * Deserializer config key enabling lazy payload decoding (default false).
+     */
+    public static final String LAZY_PAYLOAD_CONFIG = "a2a.serialization.lazy-payload";
+
+    private EnvelopeCodec jsonCodec = EnvelopeCodecs.json();
+    private EnvelopeCodec binaryCodec = EnvelopeCodecs.binary();
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No additional configuration needed
+        Object lazy = configs.get(LAZY_PAYLOAD_CONFIG);
+        boolean lazyPayload = lazy != null && Boolean.parseBoolean(lazy.toString());
+        ClaimCheckPolicy claimChecks = A2AMessageSerializer.claimCheckPolicy(configs);
+        if (lazyPayload || claimChecks.isEnabled()) {
+            this.jsonCodec = new JsonEnvelopeCodec(lazyPayload, PayloadCompressor.NONE, claimChecks);
+            this.binaryCodec = new BinaryEnvelopeCodec(lazyPayload, PayloadCompressor.NONE, claimChecks);
+        }
     }
 
     @Override
     public A2AMessageEnvelope deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public A2AMessageEnvelope deserialize(String topic, Headers headers, byte[] data) {
         if (data == null || data.length == 0) {
             logger.debug("Null or empty data received for deserialization on topic: {}", topic);
             return null;
         }
 
+        if (EnvelopeBatch.isBatch(data)) {
+            throw new SerializationException("Record from topic " + topic + " is an envelope batch; consume it through "
+                    + BatchSplittingConsumerInterceptor.class.getName());
+        }
+
         try {
-            A2AMessageEnvelope envelope = objectMapper.readValue(data, A2AMessageEnvelope.class);
-            logger.debug("Deserialized A2A message envelope with ID: {} from topic: {}", 
-                    envelope.getId(), topic);
+            EnvelopeCodec codec = resolveCodec(headers, data);
+            A2AMessageEnvelope envelope = codec.decode(data);
+            Long replayedAt = A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.REPLAYED_AT);
+            if (replayedAt != null) {
+                envelope.setReplayedAt(Instant.ofEpochMilli(replayedAt));
+            }
+            logger.debug("Deserialized A2A message envelope with ID: {} from topic: {} using codec: {}",
+                    envelope.getId(), topic, codec.name());
             return envelope;
             
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             String errorMsg = String.format("Failed to deserialize A2A message envelope from topic: %s. " +
                     "Data length: %d bytes", topic, data.length);
             logger.error(errorMsg, e);
@@ -61,8 +93,19 @@ public class A2AMessageDeserializer implements Deserializer<A2AMessageEnvelope>
         }
     }
 
+    private EnvelopeCodec resolveCodec(Headers headers, byte[] data) {
+        String codecName = A2AKafkaHeaders.get(headers, A2AKafkaHeaders.CODEC);
+        if (codecName == null) {
+            return BinaryEnvelopeCodec.isBinary(data) ? binaryCodec : jsonCodec;
+        }
+        return switch (EnvelopeCodecs.forName(codecName).name()) {
+            case BinaryEnvelopeCodec.NAME -> binaryCodec;
+            default -> jsonCodec;
+        };
+    }
+
     @Override
     public void close() {
         // No resources to close
     }
-}
\ No newline at end of file
+}
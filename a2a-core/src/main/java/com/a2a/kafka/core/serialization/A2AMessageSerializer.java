@@ -1,51 +1,148 @@
 package com.a2a.kafka.core.serialization;
 
+import com.a2a.kafka.core.claimcheck.ClaimCheckPolicy;
+import com.a2a.kafka.core.claimcheck.FileSystemPayloadStore;
+import com.a2a.kafka.core.claimcheck.PayloadStore;
 import com.a2a.kafka.core.message.A2AMessageEnvelope;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 
 /**
  * Kafka serializer for A2A message envelopes.
- * Converts A2AMessageEnvelope objects to JSON byte arrays for Kafka transport.
+ * Converts A2AMessageEnvelope objects to byte arrays for Kafka transport using the configured
+ * {@link EnvelopeCodec} (JSON by default) and names the codec in the {@link A2AKafkaHeaders#CODEC} header.
+ * The envelope routing fields are mirrored into record headers as well (see {@link A2AKafkaHeaders}),
+ * so consumers can filter and route records without decoding them.
+ *
+ * <p>Payload compression is opt-in ({@link #PAYLOAD_COMPRESSION_CONFIG}): payloads whose encoded size reaches
+ * {@link #PAYLOAD_COMPRESSION_THRESHOLD_CONFIG} are compressed inside the envelope and the algorithm is named
+ * in the {@link A2AKafkaHeaders#PAYLOAD_COMPRESSION} header. Smaller payloads are written uncompressed.
+ *
+ * <p>With a payload store configured ({@link #CLAIM_CHECK_STORE_CONFIG}) payloads reaching
+ * {@link #CLAIM_CHECK_THRESHOLD_CONFIG} are offloaded to the store and the envelope carries only a claim check.
  */
 public class A2AMessageSerializer implements Serializer<A2AMessageEnvelope> {
 
     private static final Logger logger = LoggerFactory.getLogger(A2AMessageSerializer.class);
-    
-    private final ObjectMapper objectMapper;
+
+    /**
+     * Serializer config key selecting the envelope codec ("json" or "binary").
+     */
+    public static final String CODEC_CONFIG = "a2a.serialization.codec";
+
+    /**
+     * Serializer config key controlling whether routing headers are written (default true).
+     */
+    public static final String ROUTING_HEADERS_CONFIG = "a2a.serialization.routing-headers";
+
+    /**
+     * Serializer config key selecting the payload compression ("none", "zstd" or "lz4"; default "none").
+     */
+    public static final String PAYLOAD_COMPRESSION_CONFIG = "a2a.serialization.payload-compression";
+
+    /**
+     * Serializer config key for the minimum encoded payload size in bytes that gets compressed.
+     */
+    public static final String PAYLOAD_COMPRESSION_THRESHOLD_CONFIG = "a2a.serialization.payload-compression-threshold";
+
+    /**
+     * Config key for the claim-check payload store: a {@link PayloadStore} instance or a directory path
+     * for a {@link FileSystemPayloadStore}. Also read by {@link A2AMessageDeserializer}.
+     */
+    public static final String CLAIM_CHECK_STORE_CONFIG = "a2a.serialization.claim-check.store";
+
+    /**
+     * Serializer config key for the minimum encoded payload size in bytes that is offloaded to the payload store.
+     */
+    public static final String CLAIM_CHECK_THRESHOLD_CONFIG = "a2a.serialization.claim-check.threshold";
+
+    private EnvelopeCodec codec;
+    private boolean routingHeaders = true;
 
     public A2AMessageSerializer() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
-        // Configure to write dates as ISO strings
-        this.objectMapper.findAndRegisterModules();
+        this.codec = EnvelopeCodecs.json();
     }
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No additional configuration needed
+        Object codecName = configs.get(CODEC_CONFIG);
+        Object compression = configs.get(PAYLOAD_COMPRESSION_CONFIG);
+        Object threshold = configs.get(PAYLOAD_COMPRESSION_THRESHOLD_CONFIG);
+        PayloadCompressor compressor = compression == null ? PayloadCompressor.NONE : PayloadCompressor.of(
+                compression.toString(),
+                threshold == null ? PayloadCompressor.DEFAULT_THRESHOLD : Integer.parseInt(threshold.toString()));
+        ClaimCheckPolicy claimChecks = claimCheckPolicy(configs);
+        if (codecName != null || compressor.isEnabled() || claimChecks.isEnabled()) {
+            this.codec = EnvelopeCodecs.forName(codecName == null ? codec.name() : codecName.toString(),
+                    compressor, claimChecks);
+        }
+        Object routing = configs.get(ROUTING_HEADERS_CONFIG);
+        if (routing != null) {
+            this.routingHeaders = Boolean.parseBoolean(routing.toString());
+        }
+    }
+
+    /**
+     * Builds the claim-check policy from {@link #CLAIM_CHECK_STORE_CONFIG} and {@link #CLAIM_CHECK_THRESHOLD_CONFIG}.
+     */
+    static ClaimCheckPolicy claimCheckPolicy(Map<String, ?> configs) {
+        Object store = configs.get(CLAIM_CHECK_STORE_CONFIG);
+        if (store == null) {
+            return ClaimCheckPolicy.NONE;
+        }
+        Object threshold = configs.get(CLAIM_CHECK_THRESHOLD_CONFIG);
+        return new ClaimCheckPolicy(
+                store instanceof PayloadStore payloadStore ? payloadStore : new FileSystemPayloadStore(Path.of(store.toString())),
+                threshold == null ? ClaimCheckPolicy.DEFAULT_THRESHOLD : Integer.parseInt(threshold.toString()));
+    }
+
+    /**
+     * @return the codec used to encode envelopes
+     */
+    public EnvelopeCodec getCodec() {
+        return codec;
     }
 
     @Override
     public byte[] serialize(String topic, A2AMessageEnvelope data) {
+        return encode(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, A2AMessageEnvelope data) {
+        byte[] result = encode(topic, headers, data);
+        if (result != null && headers != null) {
+            A2AKafkaHeaders.put(headers, A2AKafkaHeaders.CODEC, codec.name());
+            // A replayed task keeps its replay time through the retry topics
+            A2AKafkaHeaders.put(headers, A2AKafkaHeaders.REPLAYED_AT, data.getReplayedAt() == null ? null
+                    : Long.toString(data.getReplayedAt().toEpochMilli()));
+            if (routingHeaders) {
+                A2AKafkaHeaders.putRouting(headers, data);
+            }
+        }
+        return result;
+    }
+
+    private byte[] encode(String topic, Headers headers, A2AMessageEnvelope data) {
         if (data == null) {
             logger.debug("Null data received for serialization on topic: {}", topic);
             return null;
         }
 
         try {
-            byte[] result = objectMapper.writeValueAsBytes(data);
-            logger.debug("Serialized A2A message envelope with ID: {} for topic: {}", data.getId(), topic);
+            byte[] result = codec.encode(data, headers);
+            logger.debug("Serialized A2A message envelope with ID: {} for topic: {} using codec: {}",
+                    data.getId(), topic, codec.name());
             return result;
             
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             String errorMsg = String.format("Failed to serialize A2A message envelope with ID: %s for topic: %s", 
                     data.getId(), topic);
             logger.error(errorMsg, e);
@@ -57,4 +154,4 @@ public class A2AMessageSerializer implements Serializer<A2AMessageEnvelope> {
     public void close() {
         // No resources to close
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,532 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.claimcheck.ClaimCheckPolicy;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.ClaimCheck;
+import com.a2a.kafka.core.message.LazyPayload;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.PayloadReader;
+import com.a2a.kafka.core.validation.IdentifierCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.Headers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary envelope codec.
+ *
+ * <p>Layout (version 1):
+ * <pre>
+ * magic(1) version(1) flags(1) type(1) timestamp(8, epoch nanos)
+ * [ttl(zigzag varlong)]
+ * id from to taskId method correlationId replyTo   (varint length + 1, 0 = null, UTF-8)
+ *                                                  (id, taskId, correlationId: 16 bytes if flagged as UUID)
+ * [headerCount(varint) (key value)*]
+ * [compression(1) decompressedLength(varint)]
+ * payload                                          (varint length + 1, 0 = null, JSON or compressed JSON)
+ *   | reference contentHash length(varint)          (claim check instead of the payload)
+ * </pre>
+ * The routing fields are fixed-layout so that they can be read without touching the payload,
+ * which is kept as JSON because it is an open structure. In lazy payload mode the payload section is
+ * kept undecoded as a {@link LazyPayload} and written back verbatim if it is never accessed.
+ *
+ * <p>Payloads at or above the {@link PayloadCompressor} threshold are stored compressed and flagged
+ * in the header; they are decompressed when decoded, which in lazy payload mode is on first access.
+ * Payloads at or above the {@link ClaimCheckPolicy} threshold are offloaded to the payload store and only
+ * their claim check is written.
+ *
+ * <p>IDs in canonical lowercase UUID form, such as the default time-ordered message IDs, are written as
+ * 16 raw bytes instead of 37 and restored to the identical string when decoded.
+ */
+public class BinaryEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String NAME = "binary";
+
+    /**
+     * First byte of every binary envelope; never a valid first byte of a JSON document.
+     */
+    public static final byte MAGIC = (byte) 0xA2;
+
+    static final byte VERSION = 1;
+
+    private static final int FLAG_TTL = 1;
+    private static final int FLAG_HEADERS = 1 << 1;
+    private static final int FLAG_COMPRESSED = 1 << 2;
+    private static final int FLAG_CLAIM_CHECK = 1 << 3;
+    private static final int FLAG_ID_UUID = 1 << 4;
+    private static final int FLAG_TASK_ID_UUID = 1 << 5;
+    private static final int FLAG_CORRELATION_ID_UUID = 1 << 6;
+
+    private static final byte NO_TYPE = 0;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ObjectMapper objectMapper;
+    private final boolean lazyPayload;
+    private final PayloadCompressor compressor;
+    private final ClaimCheckPolicy claimChecks;
+    private final PayloadReader payloadReader;
+    private final LazyPayload.Decoder payloadDecoder;
+
+    public BinaryEnvelopeCodec() {
+        this(false);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     */
+    public BinaryEnvelopeCodec(boolean lazyPayload) {
+        this(lazyPayload, PayloadCompressor.NONE);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     * @param compressor  compression policy applied to payloads when encoding
+     */
+    public BinaryEnvelopeCodec(boolean lazyPayload, PayloadCompressor compressor) {
+        this(lazyPayload, compressor, ClaimCheckPolicy.NONE);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     * @param compressor  compression policy applied to payloads when encoding
+     * @param claimChecks payload store policy for offloading large payloads and resolving claim checks
+     */
+    public BinaryEnvelopeCodec(boolean lazyPayload, PayloadCompressor compressor, ClaimCheckPolicy claimChecks) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        this.lazyPayload = lazyPayload;
+        this.compressor = compressor;
+        this.claimChecks = claimChecks;
+        this.payloadReader = new PayloadReader(objectMapper);
+        this.payloadDecoder = payloadReader::read;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/octet-stream";
+    }
+
+    /**
+     * @return true if the data starts with the binary envelope magic byte
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(A2AMessageEnvelope envelope) throws IOException {
+        return encode(envelope, null);
+    }
+
+    @Override
+    public byte[] encode(A2AMessageEnvelope envelope, Headers recordHeaders) throws IOException {
+        Map<String, String> headers = envelope.getHeaders();
+        boolean hasHeaders = headers != null && !headers.isEmpty();
+
+        LazyPayload rawPayload = envelope.isPayloadUndecoded() ? envelope.getLazyPayload() : null;
+        byte[] payload = rawPayload != null || envelope.getPayload() == null
+                ? null : objectMapper.writeValueAsBytes(envelope.getPayload());
+        ClaimCheck claimCheck = rawPayload != null ? rawPayload.claimCheck() : claimChecks.offload(payload);
+        if (claimCheck != null) {
+            rawPayload = null;
+            payload = null;
+        }
+        PayloadCompression compression = PayloadCompression.NONE;
+        int decompressedLength = 0;
+        if (rawPayload != null && rawPayload.isCompressed()) {
+            compression = PayloadCompression.forName(rawPayload.compression());
+            decompressedLength = rawPayload.decompressedLength();
+        } else if (payload != null) {
+            byte[] compressed = compressor.compress(payload);
+            if (compressed != null) {
+                compression = compressor.getCompression();
+                decompressedLength = payload.length;
+                payload = compressed;
+            }
+        }
+
+        int flags = 0;
+        if (envelope.getTtl() != null) {
+            flags |= FLAG_TTL;
+        }
+        if (hasHeaders) {
+            flags |= FLAG_HEADERS;
+        }
+        if (compression != PayloadCompression.NONE) {
+            flags |= FLAG_COMPRESSED;
+        }
+        if (claimCheck != null) {
+            flags |= FLAG_CLAIM_CHECK;
+        }
+        if (isCanonicalUuid(envelope.getId())) {
+            flags |= FLAG_ID_UUID;
+        }
+        if (isCanonicalUuid(envelope.getTaskId())) {
+            flags |= FLAG_TASK_ID_UUID;
+        }
+        if (isCanonicalUuid(envelope.getCorrelationId())) {
+            flags |= FLAG_CORRELATION_ID_UUID;
+        }
+        int payloadLength = rawPayload != null ? rawPayload.length() : payload == null ? 0 : payload.length;
+        Writer out = new Writer(64 + payloadLength);
+        out.writeByte(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(flags);
+        out.writeByte(envelope.getType() == null ? NO_TYPE : envelope.getType().getCode());
+        out.writeLong(toEpochNanos(envelope.getTimestamp()));
+        if (envelope.getTtl() != null) {
+            out.writeVarLong(zigzag(envelope.getTtl()));
+        }
+        writeId(out, envelope.getId(), flags, FLAG_ID_UUID);
+        out.writeString(envelope.getFrom());
+        out.writeString(envelope.getTo());
+        writeId(out, envelope.getTaskId(), flags, FLAG_TASK_ID_UUID);
+        out.writeString(envelope.getMethod());
+        writeId(out, envelope.getCorrelationId(), flags, FLAG_CORRELATION_ID_UUID);
+        out.writeString(envelope.getReplyTo());
+        if (hasHeaders) {
+            out.writeVarLong(headers.size());
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                out.writeString(header.getKey());
+                out.writeString(header.getValue());
+            }
+        }
+        if (compression != PayloadCompression.NONE) {
+            out.writeByte(compression.getId());
+            out.writeVarLong(decompressedLength);
+        }
+        if (claimCheck != null) {
+            out.writeString(claimCheck.getReference());
+            out.writeString(claimCheck.getContentHash());
+            out.writeVarLong(claimCheck.getLength());
+        } else if (rawPayload != null) {
+            out.writeBytes(rawPayload.data(), rawPayload.offset(), rawPayload.length());
+        } else {
+            out.writeBytes(payload);
+        }
+        A2AKafkaHeaders.putPayloadCompression(recordHeaders, compression);
+        return out.toByteArray();
+    }
+
+    @Override
+    public A2AMessageEnvelope decode(byte[] data) throws IOException {
+        Reader in = new Reader(data);
+        try {
+            if (in.readByte() != MAGIC) {
+                throw new IOException("Not a binary A2A envelope (bad magic byte)");
+            }
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary A2A envelope version: " + version);
+            }
+            int flags = in.readByte();
+            byte typeCode = in.readByte();
+            long timestamp = in.readLong();
+
+            A2AMessageEnvelope envelope = A2AMessageEnvelope.empty();
+            envelope.setType(typeCode == NO_TYPE ? null : MessageType.fromCode(typeCode));
+            envelope.setTimestamp(timestamp == NO_TIMESTAMP ? null : fromEpochNanos(timestamp));
+            if ((flags & FLAG_TTL) != 0) {
+                envelope.setTtl(unzigzag(in.readVarLong()));
+            }
+            envelope.setId(readId(in, flags, FLAG_ID_UUID));
+            envelope.setFrom(in.readIdentifier());
+            envelope.setTo(in.readIdentifier());
+            envelope.setTaskId(readId(in, flags, FLAG_TASK_ID_UUID));
+            envelope.setMethod(in.readIdentifier());
+            envelope.setCorrelationId(readId(in, flags, FLAG_CORRELATION_ID_UUID));
+            envelope.setReplyTo(in.readString());
+            if ((flags & FLAG_HEADERS) != 0) {
+                int count = in.readCount();
+                Map<String, String> headers = new HashMap<>(Math.max(4, count * 2));
+                for (int i = 0; i < count; i++) {
+                    headers.put(in.readString(), in.readString());
+                }
+                envelope.setHeaders(headers);
+            }
+            if ((flags & FLAG_CLAIM_CHECK) != 0) {
+                String reference = in.readString();
+                String contentHash = in.readString();
+                if (reference == null || contentHash == null) {
+                    throw new IOException("Malformed claim check in binary A2A envelope");
+                }
+                ClaimCheck claimCheck = new ClaimCheck(reference, contentHash, in.readVarInt());
+                LazyPayload.Decoder decoder = claimCheckDecoder(claimCheck);
+                if (lazyPayload) {
+                    envelope.setLazyPayload(new LazyPayload(claimCheck, decoder));
+                } else {
+                    envelope.setPayload(decoder.decode(data, 0, 0));
+                }
+                return envelope;
+            }
+            PayloadCompression compression = PayloadCompression.NONE;
+            int decompressedLength = 0;
+            if ((flags & FLAG_COMPRESSED) != 0) {
+                compression = PayloadCompression.fromId(in.readByte());
+                decompressedLength = in.readVarInt();
+            }
+            int payloadLength = in.readLength();
+            if (payloadLength < 0) {
+                envelope.setPayload(null);
+                return envelope;
+            }
+            LazyPayload.Decoder decoder = compression == PayloadCompression.NONE
+                    ? payloadDecoder : compression.decoder(payloadDecoder, decompressedLength);
+            if (lazyPayload && compression == PayloadCompression.NONE) {
+                envelope.setLazyPayload(new LazyPayload(data, in.position, payloadLength, decoder));
+            } else if (lazyPayload) {
+                envelope.setLazyPayload(new LazyPayload(data, in.position, payloadLength,
+                        compression.getName(), decompressedLength, decoder));
+            } else {
+                envelope.setPayload(decoder.decode(data, in.position, payloadLength));
+            }
+            in.skip(payloadLength);
+            return envelope;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Malformed binary A2A envelope", e);
+        }
+    }
+
+    private LazyPayload.Decoder claimCheckDecoder(ClaimCheck claimCheck) {
+        return (data, offset, length) ->
+                payloadReader.read(new ByteBufferBackedInputStream(claimChecks.fetch(claimCheck)));
+    }
+
+    private static void writeId(Writer out, String id, int flags, int uuidFlag) {
+        if ((flags & uuidFlag) == 0) {
+            out.writeString(id);
+            return;
+        }
+        out.writeLong(hexBits(id, 0, 8) << 32 | hexBits(id, 9, 13) << 16 | hexBits(id, 14, 18));
+        out.writeLong(hexBits(id, 19, 23) << 48 | hexBits(id, 24, 36));
+    }
+
+    private static String readId(Reader in, int flags, int uuidFlag) {
+        if ((flags & uuidFlag) == 0) {
+            return in.readString();
+        }
+        // UUID.toString yields the canonical lowercase form the ID was written from
+        return new UUID(in.readLong(), in.readLong()).toString();
+    }
+
+    /**
+     * @return true if the value is a UUID in canonical lowercase form, so it survives a 16-byte round trip
+     */
+    static boolean isCanonicalUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hexBits(String value, int start, int end) {
+        long bits = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            bits = (bits << 4) | (c <= '9' ? c - '0' : c - 'a' + 10);
+        }
+        return bits;
+    }
+
+    private static long toEpochNanos(Instant timestamp) throws IOException {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), NANOS_PER_SECOND), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            throw new IOException("Timestamp out of range for epoch-nanos encoding: " + timestamp, e);
+        }
+    }
+
+    private static Instant fromEpochNanos(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Minimal growable big-endian writer with unsigned LEB128 varints.
+     */
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            writeBytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeBytes(byte[] value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeBytes(value, 0, value.length);
+        }
+
+        void writeBytes(byte[] value, int offset, int length) {
+            writeVarLong(length + 1L);
+            ensureCapacity(length);
+            System.arraycopy(value, offset, buffer, position, length);
+            position += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    /**
+     * Reader counterpart of {@link Writer}.
+     */
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        byte readByte() {
+            if (position >= data.length) {
+                throw new IndexOutOfBoundsException("Unexpected end of binary envelope");
+            }
+            return data[position++];
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int readVarInt() {
+            long value = readVarLong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Varint " + value + " out of int range");
+            }
+            return (int) value;
+        }
+
+        int readCount() {
+            long count = readVarLong();
+            if (count < 0 || count > data.length - position) {
+                throw new IndexOutOfBoundsException("Count " + count + " exceeds remaining envelope bytes");
+            }
+            return (int) count;
+        }
+
+        /**
+         * @return the decoded length, or -1 for a null value
+         */
+        int readLength() {
+            long length = readVarLong() - 1;
+            if (length < -1 || length > data.length - position) {
+                throw new IndexOutOfBoundsException("Length " + length + " exceeds remaining envelope bytes");
+            }
+            return (int) length;
+        }
+
+        String readString() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        /**
+         * Reads a string that repeats across envelopes (agent or method name), reusing the shared instance.
+         */
+        String readIdentifier() {
+            int length = readLength();
+            if (length < 0) {
+                return null;
+            }
+            String value = IdentifierCache.shared().intern(data, position, length);
+            position += length;
+            return value;
+        }
+
+        void skip(int length) {
+            position += length;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import org.apache.kafka.common.header.Headers;
+
+import java.io.IOException;
+
+/**
+ * Wire format for A2A message envelopes.
+ * The codec name is carried in the {@link A2AKafkaHeaders#CODEC} record header so that
+ * consumers can decode records produced with different codecs side by side.
+ */
+public interface EnvelopeCodec {
+
+    /**
+     * @return the codec name written to the {@link A2AKafkaHeaders#CODEC} header
+     */
+    String name();
+
+    /**
+     * @return the MIME type of the encoded bytes, set as the message content type by the bindings
+     */
+    String contentType();
+
+    /**
+     * Encodes the envelope to its wire representation.
+     */
+    byte[] encode(A2AMessageEnvelope envelope) throws IOException;
+
+    /**
+     * Encodes the envelope and records per-record encoding details, such as the
+     * {@link A2AKafkaHeaders#PAYLOAD_COMPRESSION} header, in the given headers.
+     *
+     * @param headers the record headers to update, may be null
+     */
+    default byte[] encode(A2AMessageEnvelope envelope, Headers headers) throws IOException {
+        return encode(envelope);
+    }
+
+    /**
+     * Decodes an envelope from its wire representation.
+     */
+    A2AMessageEnvelope decode(byte[] data) throws IOException;
+}
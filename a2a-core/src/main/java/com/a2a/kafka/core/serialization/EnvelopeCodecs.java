@@ -0,0 +1,66 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.claimcheck.ClaimCheckPolicy;
+
+/**
+ * Lookup of the built-in envelope codecs by name. Codecs are stateless and shared; codecs with
+ * payload compression or claim checks enabled are created per configuration.
+ */
+public final class EnvelopeCodecs {
+
+    private static final EnvelopeCodec JSON = new JsonEnvelopeCodec();
+    private static final EnvelopeCodec BINARY = new BinaryEnvelopeCodec();
+
+    private EnvelopeCodecs() {
+    }
+
+    public static EnvelopeCodec json() {
+        return JSON;
+    }
+
+    public static EnvelopeCodec binary() {
+        return BINARY;
+    }
+
+    /**
+     * @param name the codec name as written to the {@link A2AKafkaHeaders#CODEC} header
+     * @return the matching codec
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static EnvelopeCodec forName(String name) {
+        if (JsonEnvelopeCodec.NAME.equalsIgnoreCase(name)) {
+            return JSON;
+        }
+        if (BinaryEnvelopeCodec.NAME.equalsIgnoreCase(name)) {
+            return BINARY;
+        }
+        throw new IllegalArgumentException("Unknown A2A envelope codec: " + name);
+    }
+
+    /**
+     * @param name       the codec name as written to the {@link A2AKafkaHeaders#CODEC} header
+     * @param compressor payload compression policy applied when encoding
+     * @return the matching codec
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static EnvelopeCodec forName(String name, PayloadCompressor compressor) {
+        return forName(name, compressor, ClaimCheckPolicy.NONE);
+    }
+
+    /**
+     * @param name        the codec name as written to the {@link A2AKafkaHeaders#CODEC} header
+     * @param compressor  payload compression policy applied when encoding
+     * @param claimChecks payload store policy for offloading large payloads
+     * @return the matching codec
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static EnvelopeCodec forName(String name, PayloadCompressor compressor, ClaimCheckPolicy claimChecks) {
+        EnvelopeCodec codec = forName(name);
+        if (!compressor.isEnabled() && !claimChecks.isEnabled()) {
+            return codec;
+        }
+        return codec == BINARY
+                ? new BinaryEnvelopeCodec(false, compressor, claimChecks)
+                : new JsonEnvelopeCodec(false, compressor, claimChecks);
+    }
+}
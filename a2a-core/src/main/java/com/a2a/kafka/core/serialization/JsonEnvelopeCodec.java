@@ -0,0 +1,336 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.claimcheck.ClaimCheckPolicy;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.ClaimCheck;
+import com.a2a.kafka.core.message.LazyPayload;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.PayloadReader;
+import com.a2a.kafka.core.validation.IdentifierCache;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.Headers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * JSON envelope codec. This is the original A2A wire format and remains the default.
+ *
+ * <p>In lazy payload mode the routing fields are read with a streaming parser and the payload is
+ * kept as a {@link LazyPayload} slice of the record bytes. An envelope whose lazy payload was never
+ * decoded is written back with the original payload bytes.
+ *
+ * <p>A payload compressed by the {@link PayloadCompressor} is written in place of the payload value as
+ * <pre>
+ * {"@a2a.compression": "zstd", "length": &lt;decompressed bytes&gt;, "data": "&lt;base64 compressed JSON&gt;"}
+ * </pre>
+ * and decompressed when the envelope is decoded, or on first payload access in lazy payload mode.
+ * A payload offloaded by the {@link ClaimCheckPolicy} is replaced by
+ * <pre>
+ * {"@a2a.claim-check": "&lt;reference&gt;", "sha256": "&lt;content hash&gt;", "length": &lt;payload bytes&gt;}
+ * </pre>
+ * and fetched from the payload store at the same point.
+ */
+public class JsonEnvelopeCodec implements EnvelopeCodec {
+
+    public static final String NAME = "json";
+
+    /**
+     * First member of a compressed payload object; names the compression algorithm.
+     */
+    public static final String COMPRESSION_FIELD = "@a2a.compression";
+
+    /**
+     * First member of a claim-checked payload object; holds the payload store reference.
+     */
+    public static final String CLAIM_CHECK_FIELD = "@a2a.claim-check";
+
+    private static final String LENGTH_FIELD = "length";
+    private static final String COMPRESSED_DATA_FIELD = "data";
+    private static final String CONTENT_HASH_FIELD = "sha256";
+
+    private static final byte[] RAW_PAYLOAD_FIELD = ",\"payload\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final TypeReference<Map<String, String>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader envelopeReader;
+    private final boolean lazyPayload;
+    private final PayloadCompressor compressor;
+    private final ClaimCheckPolicy claimChecks;
+    private final PayloadReader payloadReader;
+    private final LazyPayload.Decoder payloadDecoder;
+
+    public JsonEnvelopeCodec() {
+        this(false);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     */
+    public JsonEnvelopeCodec(boolean lazyPayload) {
+        this(lazyPayload, PayloadCompressor.NONE);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     * @param compressor  compression policy applied to payloads when encoding
+     */
+    public JsonEnvelopeCodec(boolean lazyPayload, PayloadCompressor compressor) {
+        this(lazyPayload, compressor, ClaimCheckPolicy.NONE);
+    }
+
+    /**
+     * @param lazyPayload whether {@link #decode(byte[])} defers payload parsing until first access
+     * @param compressor  compression policy applied to payloads when encoding
+     * @param claimChecks payload store policy for offloading large payloads and resolving claim checks
+     */
+    public JsonEnvelopeCodec(boolean lazyPayload, PayloadCompressor compressor, ClaimCheckPolicy claimChecks) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        // Configure to read and write dates as ISO strings
+        this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Tolerate fields added by newer producers
+        this.objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.envelopeReader = objectMapper.readerFor(A2AMessageEnvelope.class);
+        this.lazyPayload = lazyPayload;
+        this.compressor = compressor;
+        this.claimChecks = claimChecks;
+        this.payloadReader = new PayloadReader(objectMapper);
+        this.payloadDecoder = payloadReader::read;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String contentType() {
+        return "application/json";
+    }
+
+    @Override
+    public byte[] encode(A2AMessageEnvelope envelope) throws IOException {
+        return encode(envelope, null);
+    }
+
+    @Override
+    public byte[] encode(A2AMessageEnvelope envelope, Headers recordHeaders) throws IOException {
+        LazyPayload lazy = envelope.isPayloadUndecoded() ? envelope.getLazyPayload() : null;
+        if (lazy == null && !compressor.isEnabled() && !claimChecks.isEnabled()) {
+            A2AKafkaHeaders.putPayloadCompression(recordHeaders, PayloadCompression.NONE);
+            return objectMapper.writeValueAsBytes(envelope);
+        }
+
+        PayloadCompression compression = PayloadCompression.NONE;
+        ClaimCheck claimCheck;
+        byte[] payload;
+        int offset = 0;
+        int length;
+        int decompressedLength;
+        if (lazy != null) {
+            claimCheck = lazy.claimCheck();
+            payload = lazy.data();
+            offset = lazy.offset();
+            length = lazy.length();
+            decompressedLength = lazy.decompressedLength();
+            if (lazy.isCompressed()) {
+                compression = PayloadCompression.forName(lazy.compression());
+            }
+        } else {
+            payload = objectMapper.writeValueAsBytes(envelope.getPayload());
+            length = payload.length;
+            decompressedLength = payload.length;
+            claimCheck = claimChecks.offload(payload);
+            byte[] compressed = claimCheck == null ? compressor.compress(payload) : null;
+            if (compressed != null) {
+                compression = compressor.getCompression();
+                payload = compressed;
+                length = compressed.length;
+            }
+        }
+        A2AKafkaHeaders.putPayloadCompression(recordHeaders, compression);
+
+        try (ByteArrayBuilder out = new ByteArrayBuilder(length + 256);
+             JsonGenerator gen = objectMapper.createGenerator(out)) {
+            // Same field order and null handling as the databind representation
+            gen.writeStartObject();
+            gen.writeStringField("id", envelope.getId());
+            gen.writeStringField("type", envelope.getType() == null ? null : envelope.getType().getValue());
+            gen.writeStringField("from", envelope.getFrom());
+            gen.writeStringField("to", envelope.getTo());
+            gen.writeStringField("taskId", envelope.getTaskId());
+            gen.writeStringField("method", envelope.getMethod());
+            if (claimCheck == null && compression == PayloadCompression.NONE) {
+                // Copy the payload bytes straight into the buffer, after the separator and field name; the
+                // generator still has "method" as its last member, so it separates "timestamp" itself
+                gen.flush();
+                out.write(RAW_PAYLOAD_FIELD);
+                out.write(payload, offset, length);
+            } else if (claimCheck != null) {
+                gen.writeFieldName("payload");
+                gen.writeStartObject();
+                gen.writeStringField(CLAIM_CHECK_FIELD, claimCheck.getReference());
+                gen.writeStringField(CONTENT_HASH_FIELD, claimCheck.getContentHash());
+                gen.writeNumberField(LENGTH_FIELD, claimCheck.getLength());
+                gen.writeEndObject();
+            } else {
+                gen.writeFieldName("payload");
+                gen.writeStartObject();
+                gen.writeStringField(COMPRESSION_FIELD, compression.getName());
+                gen.writeNumberField(LENGTH_FIELD, decompressedLength);
+                gen.writeFieldName(COMPRESSED_DATA_FIELD);
+                gen.writeBinary(payload, offset, length);
+                gen.writeEndObject();
+            }
+            gen.writeObjectField("timestamp", envelope.getTimestamp());
+            gen.writeObjectField("headers", envelope.getHeaders());
+            gen.writeStringField("correlationId", envelope.getCorrelationId());
+            gen.writeStringField("replyTo", envelope.getReplyTo());
+            gen.writeObjectField("ttl", envelope.getTtl());
+            gen.writeEndObject();
+            gen.flush();
+            return out.toByteArray();
+        }
+    }
+
+    @Override
+    public A2AMessageEnvelope decode(byte[] data) throws IOException {
+        if (!lazyPayload) {
+            // Decoded into an empty envelope, so no ID or timestamp is generated only to be overwritten
+            A2AMessageEnvelope envelope = envelopeReader.withValueToUpdate(A2AMessageEnvelope.empty()).readValue(data);
+            IdentifierCache identifiers = IdentifierCache.shared();
+            envelope.setFrom(identifiers.intern(envelope.getFrom()));
+            envelope.setTo(identifiers.intern(envelope.getTo()));
+            envelope.setMethod(identifiers.intern(envelope.getMethod()));
+            if (envelope.getPayload() instanceof Map<?, ?> payload
+                    && (payload.containsKey(COMPRESSION_FIELD) || payload.containsKey(CLAIM_CHECK_FIELD))) {
+                envelope.setPayload(decodeEncodedPayload(payload));
+            }
+            return envelope;
+        }
+        try (JsonParser parser = objectMapper.createParser(data)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object for A2A message envelope");
+            }
+            A2AMessageEnvelope envelope = A2AMessageEnvelope.empty();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                boolean isNull = token == JsonToken.VALUE_NULL;
+                switch (field) {
+                    case "id" -> envelope.setId(parser.getValueAsString());
+                    case "type" -> envelope.setType(isNull ? null : MessageType.fromValue(parser.getText()));
+                    case "from" -> envelope.setFrom(IdentifierCache.shared().intern(parser.getValueAsString()));
+                    case "to" -> envelope.setTo(IdentifierCache.shared().intern(parser.getValueAsString()));
+                    case "taskId" -> envelope.setTaskId(parser.getValueAsString());
+                    case "method" -> envelope.setMethod(IdentifierCache.shared().intern(parser.getValueAsString()));
+                    case "correlationId" -> envelope.setCorrelationId(parser.getValueAsString());
+                    case "replyTo" -> envelope.setReplyTo(parser.getValueAsString());
+                    case "ttl" -> envelope.setTtl(isNull ? null : parser.getValueAsLong());
+                    case "timestamp" -> envelope.setTimestamp(isNull ? null : objectMapper.readValue(parser, Instant.class));
+                    case "headers" -> envelope.setHeaders(isNull ? null : objectMapper.readValue(parser, HEADERS_TYPE));
+                    case "payload" -> {
+                        if (!isNull) {
+                            envelope.setLazyPayload(readLazyPayload(parser, data));
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return envelope;
+        }
+    }
+
+    private LazyPayload readLazyPayload(JsonParser parser, byte[] data) throws IOException {
+        int start = (int) parser.currentTokenLocation().getByteOffset();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.FIELD_NAME
+                    && (COMPRESSION_FIELD.equals(parser.currentName()) || CLAIM_CHECK_FIELD.equals(parser.currentName()))) {
+                return readEncodedPayload(parser);
+            }
+            // Skip the remaining members of a regular object payload
+            while (token != JsonToken.END_OBJECT) {
+                parser.skipChildren();
+                token = parser.nextToken();
+            }
+        } else {
+            parser.skipChildren();
+        }
+        parser.finishToken();
+        int end = (int) parser.currentLocation().getByteOffset();
+        return new LazyPayload(data, start, end - start, payloadDecoder);
+    }
+
+    /**
+     * Reads a compressed or claim-checked payload object, positioned on its first member, without decoding the payload.
+     */
+    private LazyPayload readEncodedPayload(JsonParser parser) throws IOException {
+        String algorithm = null;
+        String reference = null;
+        String contentHash = null;
+        int length = -1;
+        byte[] compressed = null;
+        for (JsonToken token = parser.currentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case COMPRESSION_FIELD -> algorithm = parser.getValueAsString();
+                case CLAIM_CHECK_FIELD -> reference = parser.getValueAsString();
+                case CONTENT_HASH_FIELD -> contentHash = parser.getValueAsString();
+                case LENGTH_FIELD -> length = parser.getValueAsInt(-1);
+                case COMPRESSED_DATA_FIELD -> compressed = parser.getBinaryValue();
+                default -> parser.skipChildren();
+            }
+        }
+        if (reference != null && contentHash != null && length >= 0) {
+            ClaimCheck claimCheck = new ClaimCheck(reference, contentHash, length);
+            return new LazyPayload(claimCheck, claimCheckDecoder(claimCheck));
+        }
+        if (algorithm == null || length < 0 || compressed == null) {
+            throw new IOException("Malformed encoded A2A message payload");
+        }
+        PayloadCompression compression = PayloadCompression.forName(algorithm);
+        return new LazyPayload(compressed, 0, compressed.length, compression.getName(), length,
+                compression.decoder(payloadDecoder, length));
+    }
+
+    private Object decodeEncodedPayload(Map<?, ?> payload) throws IOException {
+        if (!(payload.get(LENGTH_FIELD) instanceof Number length)) {
+            throw new IOException("Malformed encoded A2A message payload");
+        }
+        if (payload.get(CLAIM_CHECK_FIELD) instanceof String reference
+                && payload.get(CONTENT_HASH_FIELD) instanceof String contentHash) {
+            return claimCheckDecoder(new ClaimCheck(reference, contentHash, length.intValue())).decode(new byte[0], 0, 0);
+        }
+        if (!(payload.get(COMPRESSION_FIELD) instanceof String algorithm)
+                || !(payload.get(COMPRESSED_DATA_FIELD) instanceof String base64)) {
+            throw new IOException("Malformed encoded A2A message payload");
+        }
+        byte[] compressed = Base64.getDecoder().decode(base64);
+        return PayloadCompression.forName(algorithm)
+                .decoder(payloadDecoder, length.intValue())
+                .decode(compressed, 0, compressed.length);
+    }
+
+    private LazyPayload.Decoder claimCheckDecoder(ClaimCheck claimCheck) {
+        return (data, offset, length) ->
+                payloadReader.read(new ByteBufferBackedInputStream(claimChecks.fetch(claimCheck)));
+    }
+}
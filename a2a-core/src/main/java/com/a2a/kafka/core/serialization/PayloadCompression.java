@@ -0,0 +1,157 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.message.LazyPayload;
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compression algorithms for envelope payloads.
+ * The algorithm is recorded in the envelope itself (see the codecs) and mirrored into the
+ * {@link A2AKafkaHeaders#PAYLOAD_COMPRESSION} record header. Compressed payloads are stored as raw
+ * blocks; the decompressed length travels alongside them.
+ */
+public enum PayloadCompression {
+
+    NONE("none", (byte) 0),
+    ZSTD("zstd", (byte) 1),
+    LZ4("lz4", (byte) 2);
+
+    /**
+     * Upper bound for a declared decompressed payload length, guarding against corrupt or hostile records.
+     */
+    public static final int MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024;
+
+    private static final int ZSTD_LEVEL = 3;
+
+    private final String algorithm;
+    private final byte id;
+
+    PayloadCompression(String algorithm, byte id) {
+        this.algorithm = algorithm;
+        this.id = id;
+    }
+
+    /**
+     * @return the algorithm name used in configuration and in the record header
+     */
+    public String getName() {
+        return algorithm;
+    }
+
+    /**
+     * @return the identifier written to binary envelopes
+     */
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * Compresses the given range.
+     */
+    public byte[] compress(byte[] data, int offset, int length) throws IOException {
+        switch (this) {
+            case ZSTD -> {
+                byte[] out = new byte[(int) Zstd.compressBound(length)];
+                long size = Zstd.compressByteArray(out, 0, out.length, data, offset, length, ZSTD_LEVEL);
+                if (Zstd.isError(size)) {
+                    throw new IOException("zstd compression failed: " + Zstd.getErrorName(size));
+                }
+                return Arrays.copyOf(out, (int) size);
+            }
+            case LZ4 -> {
+                LZ4Compressor compressor = Lz4.FACTORY.fastCompressor();
+                byte[] out = new byte[compressor.maxCompressedLength(length)];
+                int size = compressor.compress(data, offset, length, out, 0, out.length);
+                return Arrays.copyOf(out, size);
+            }
+            default -> {
+                return Arrays.copyOfRange(data, offset, offset + length);
+            }
+        }
+    }
+
+    /**
+     * Decompresses the given range into a new array of exactly {@code decompressedLength} bytes.
+     *
+     * @throws IOException if the data is corrupt or does not match the declared length
+     */
+    public byte[] decompress(byte[] data, int offset, int length, int decompressedLength) throws IOException {
+        if (decompressedLength < 0 || decompressedLength > MAX_DECOMPRESSED_LENGTH) {
+            throw new IOException("Invalid decompressed payload length: " + decompressedLength);
+        }
+        byte[] out = new byte[decompressedLength];
+        switch (this) {
+            case ZSTD -> {
+                long size = Zstd.decompressByteArray(out, 0, decompressedLength, data, offset, length);
+                if (Zstd.isError(size)) {
+                    throw new IOException("zstd decompression failed: " + Zstd.getErrorName(size));
+                }
+                checkLength(size, decompressedLength);
+            }
+            case LZ4 -> {
+                try {
+                    checkLength(Lz4.FACTORY.safeDecompressor().decompress(data, offset, length, out, 0, decompressedLength),
+                            decompressedLength);
+                } catch (LZ4Exception e) {
+                    throw new IOException("lz4 decompression failed", e);
+                }
+            }
+            default -> {
+                checkLength(length, decompressedLength);
+                System.arraycopy(data, offset, out, 0, length);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Wraps a JSON payload decoder so that it decompresses the slice first.
+     */
+    public LazyPayload.Decoder decoder(LazyPayload.Decoder jsonDecoder, int decompressedLength) {
+        return (data, offset, length) -> {
+            byte[] json = decompress(data, offset, length, decompressedLength);
+            return jsonDecoder.decode(json, 0, json.length);
+        };
+    }
+
+    private static void checkLength(long actual, int expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Decompressed payload is " + actual + " bytes, expected " + expected);
+        }
+    }
+
+    /**
+     * @param name the algorithm name ("none", "zstd" or "lz4")
+     * @throws IllegalArgumentException if the name is not recognized
+     */
+    public static PayloadCompression forName(String name) {
+        for (PayloadCompression compression : values()) {
+            if (compression.algorithm.equalsIgnoreCase(name)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payload compression: " + name);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the identifier is not recognized
+     */
+    public static PayloadCompression fromId(byte id) {
+        for (PayloadCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payload compression id: " + id);
+    }
+
+    // Loaded on first LZ4 use only
+    private static final class Lz4 {
+        static final LZ4Factory FACTORY = LZ4Factory.fastestInstance();
+    }
+}
@@ -0,0 +1,65 @@
+package com.a2a.kafka.core.serialization;
+
+import java.io.IOException;
+
+/**
+ * Threshold-based payload compression policy used by the envelope codecs when encoding.
+ * Payloads smaller than the threshold are written as-is so that small control messages pay no
+ * compression cost; larger ones are compressed unless that does not make them smaller.
+ */
+public final class PayloadCompressor {
+
+    /**
+     * Policy that never compresses.
+     */
+    public static final PayloadCompressor NONE = new PayloadCompressor(PayloadCompression.NONE, Integer.MAX_VALUE);
+
+    /**
+     * Default minimum encoded payload size, in bytes, for compression to be attempted.
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private final PayloadCompression compression;
+    private final int threshold;
+
+    /**
+     * @param compression the algorithm
+     * @param threshold   minimum encoded payload size in bytes for compression to be attempted
+     */
+    public PayloadCompressor(PayloadCompression compression, int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Payload compression threshold must not be negative");
+        }
+        this.compression = compression;
+        this.threshold = threshold;
+    }
+
+    public static PayloadCompressor of(String compression, int threshold) {
+        PayloadCompression algorithm = PayloadCompression.forName(compression);
+        return algorithm == PayloadCompression.NONE ? NONE : new PayloadCompressor(algorithm, threshold);
+    }
+
+    public PayloadCompression getCompression() {
+        return compression;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public boolean isEnabled() {
+        return compression != PayloadCompression.NONE;
+    }
+
+    /**
+     * @param payload the encoded (JSON) payload
+     * @return the compressed payload, or null if it is below the threshold or does not shrink
+     */
+    public byte[] compress(byte[] payload) throws IOException {
+        if (!isEnabled() || payload == null || payload.length < threshold) {
+            return null;
+        }
+        byte[] compressed = compression.compress(payload, 0, payload.length);
+        return compressed.length < payload.length ? compressed : null;
+    }
+}
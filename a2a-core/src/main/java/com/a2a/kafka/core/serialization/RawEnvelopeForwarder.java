@@ -0,0 +1,107 @@
+package com.a2a.kafka.core.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+
+/**
+ * Forwards A2A records between topics without touching the record value.
+ *
+ * <p>The envelope bytes are passed through as-is (no decode, rebuild or re-encode); only forwarding
+ * metadata is added as record headers: the hop count ({@link A2AKafkaHeaders#HOPS}), the forwarder id
+ * ({@link A2AKafkaHeaders#FORWARDED_BY}) and the forwarding time in epoch millis
+ * ({@link A2AKafkaHeaders#FORWARDED_AT}). Records that already went through {@code maxHops} forwards
+ * are rejected to break forwarding loops.
+ */
+public class RawEnvelopeForwarder {
+
+    public static final int DEFAULT_MAX_HOPS = 16;
+
+    private final String forwarderId;
+    private final int maxHops;
+    private final Clock clock;
+
+    public RawEnvelopeForwarder(String forwarderId) {
+        this(forwarderId, DEFAULT_MAX_HOPS, Clock.systemUTC());
+    }
+
+    public RawEnvelopeForwarder(String forwarderId, int maxHops, Clock clock) {
+        if (forwarderId == null || forwarderId.isBlank()) {
+            throw new IllegalArgumentException("Forwarder id cannot be blank");
+        }
+        if (maxHops < 1) {
+            throw new IllegalArgumentException("Max hops must be at least 1");
+        }
+        this.forwarderId = forwarderId;
+        this.maxHops = maxHops;
+        this.clock = clock;
+    }
+
+    public String getForwarderId() {
+        return forwarderId;
+    }
+
+    /**
+     * Adds the forwarding metadata to the given record headers in place.
+     *
+     * @return false if the record has reached the hop limit and must not be forwarded
+     */
+    public boolean stamp(Headers headers) {
+        Long hops = A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.HOPS);
+        int next = nextHop(hops);
+        if (next < 0) {
+            return false;
+        }
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.HOPS, Integer.toString(next));
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.FORWARDED_BY, forwarderId);
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.FORWARDED_AT, Long.toString(clock.millis()));
+        return true;
+    }
+
+    /**
+     * Returns a copy of the message with the forwarding metadata added. The payload array is shared,
+     * not copied.
+     *
+     * @return the forwarded message, or null if the message has reached the hop limit
+     */
+    public Message<byte[]> forward(Message<byte[]> message) {
+        int next = nextHop(hopsOf(message.getHeaders().get(A2AKafkaHeaders.HOPS)));
+        if (next < 0) {
+            return null;
+        }
+        return MessageBuilder.fromMessage(message)
+                .setHeader(A2AKafkaHeaders.HOPS, utf8(Integer.toString(next)))
+                .setHeader(A2AKafkaHeaders.FORWARDED_BY, utf8(forwarderId))
+                .setHeader(A2AKafkaHeaders.FORWARDED_AT, utf8(Long.toString(clock.millis())))
+                .build();
+    }
+
+    private int nextHop(Long hops) {
+        long current = hops == null ? 0 : Math.max(0, hops);
+        return current >= maxHops ? -1 : (int) current + 1;
+    }
+
+    private static Long hopsOf(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        String text = value instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8)
+                : value != null ? value.toString() : null;
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Header values are written as raw bytes so the Kafka binder does not JSON-encode them
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
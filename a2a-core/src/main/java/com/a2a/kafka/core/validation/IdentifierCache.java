@@ -0,0 +1,118 @@
+package com.a2a.kafka.core.validation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded intern cache for the identifiers that repeat in nearly every envelope: agent names in
+ * {@code from}/{@code to} and method names. The set of such values is tiny, so the codecs use the cache
+ * to hand out one shared {@code String} per identifier instead of a fresh copy per envelope, and
+ * {@link A2AMessageValidator} reuses the agent-name check recorded with each entry.
+ *
+ * <p>The cache is a fixed-size, direct-mapped table: each identifier has exactly one slot and a colliding
+ * identifier simply replaces it. Lookups and updates take no locks; entries are immutable, so a racing
+ * reader sees either the old or the new entry and at worst misses. Identifiers longer than
+ * {@link #MAX_LENGTH} are never cached.
+ */
+public final class IdentifierCache {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Longest identifier, in characters or UTF-8 bytes, that is cached.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    private static final IdentifierCache SHARED = new IdentifierCache(DEFAULT_CAPACITY);
+
+    private record Entry(String value, byte[] utf8, boolean validAgentName) {
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public IdentifierCache(int capacity) {
+        if (capacity < 1 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Identifier cache capacity must be between 1 and 1048576");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the cache shared by the codecs and the validator
+     */
+    public static IdentifierCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return the shared instance equal to {@code value}, or {@code value} itself if it is not cacheable
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        return lookup(value).value();
+    }
+
+    /**
+     * Decodes a UTF-8 identifier, returning the shared instance without allocating when it is cached.
+     * Only ASCII identifiers are cached; agent names are ASCII by definition.
+     */
+    public String intern(byte[] data, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(data, offset, length, StandardCharsets.UTF_8);
+        }
+        // Same as String.hashCode() for ASCII text
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = data[i];
+            if (b < 0) {
+                return new String(data, offset, length, StandardCharsets.UTF_8);
+            }
+            hash = 31 * hash + b;
+        }
+        Entry entry = entries[slot(hash)];
+        if (entry != null && Arrays.equals(entry.utf8(), 0, entry.utf8().length, data, offset, offset + length)) {
+            return entry.value();
+        }
+        return store(new String(data, offset, length, StandardCharsets.US_ASCII), hash).value();
+    }
+
+    /**
+     * @return whether the value is a valid agent name, using the result recorded in the cache when present
+     */
+    public boolean isValidAgentName(String value) {
+        if (value.length() > MAX_LENGTH) {
+            return ValidationRules.isAgentName(value);
+        }
+        return lookup(value).validAgentName();
+    }
+
+    private Entry lookup(String value) {
+        int hash = value.hashCode();
+        Entry entry = entries[slot(hash)];
+        if (entry != null && (entry.value() == value || entry.value().equals(value))) {
+            return entry;
+        }
+        return store(value, hash);
+    }
+
+    private Entry store(String value, int hash) {
+        Entry entry = new Entry(value, value.getBytes(StandardCharsets.UTF_8), ValidationRules.isAgentName(value));
+        entries[slot(hash)] = entry;
+        return entry;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
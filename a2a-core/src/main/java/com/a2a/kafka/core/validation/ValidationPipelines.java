@@ -0,0 +1,91 @@
+package com.a2a.kafka.core.validation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The validation pipelines of the application, one per rule set, compiled once at startup.
+ * Each input binding is mapped to a rule set; bindings without a mapping use the default rule set.
+ *
+ * <p>Rule sets are resolved from the built-in ones (see {@link ValidationRules}) plus configured sets that
+ * list rule names. Configured sets may reuse a built-in name to replace it. Unknown rule or rule set
+ * names fail at startup.
+ */
+public final class ValidationPipelines {
+
+    private final Map<String, ValidationPipeline> ruleSets;
+    private final Map<String, ValidationPipeline> bindings;
+    private final ValidationPipeline defaultPipeline;
+
+    /**
+     * @param rules          available rules by name, including the built-in ones
+     * @param ruleSets       configured rule sets by name, listing rule names in the order they run
+     * @param defaultRuleSet rule set for bindings without a mapping
+     * @param bindings       rule set name by input binding name
+     * @param registry       registry for the per-rule meters, or null for no instrumentation
+     * @param clock          clock read by the pipelines
+     * @throws IllegalArgumentException if a rule or rule set name is unknown
+     */
+    public ValidationPipelines(Map<String, ValidationRule> rules, Map<String, List<String>> ruleSets,
+                               String defaultRuleSet, Map<String, String> bindings,
+                               MeterRegistry registry, Clock clock) {
+        Map<String, List<ValidationRule>> resolved = new LinkedHashMap<>(ValidationRules.builtInRuleSets());
+        ruleSets.forEach((name, ruleNames) -> {
+            List<ValidationRule> ruleSet = new ArrayList<>(ruleNames.size());
+            for (String ruleName : ruleNames) {
+                ValidationRule rule = rules.get(ruleName);
+                if (rule == null) {
+                    throw new IllegalArgumentException("Unknown validation rule '" + ruleName + "' in rule set '"
+                            + name + "', available rules: " + rules.keySet());
+                }
+                ruleSet.add(rule);
+            }
+            resolved.put(name, ruleSet);
+        });
+
+        this.ruleSets = new HashMap<>();
+        resolved.forEach((name, ruleSet) ->
+                this.ruleSets.put(name, ValidationPipeline.compile(name, ruleSet, registry, clock)));
+        this.defaultPipeline = forRuleSet(defaultRuleSet);
+        this.bindings = new HashMap<>();
+        bindings.forEach((binding, ruleSet) -> this.bindings.put(binding, forRuleSet(ruleSet)));
+    }
+
+    /**
+     * @return pipelines for the built-in rule sets with {@code strict} as default, without instrumentation
+     */
+    public static ValidationPipelines defaults() {
+        return new ValidationPipelines(ValidationRules.builtInRules(), Map.of(), ValidationRules.STRICT, Map.of(),
+                null, Clock.systemUTC());
+    }
+
+    /**
+     * @param binding input binding name, e.g. {@code processAgentTasks-in-0}
+     * @return the pipeline configured for the binding, or the default pipeline
+     */
+    public ValidationPipeline forBinding(String binding) {
+        return bindings.getOrDefault(binding, defaultPipeline);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule set is unknown
+     */
+    public ValidationPipeline forRuleSet(String ruleSet) {
+        ValidationPipeline pipeline = ruleSets.get(ruleSet);
+        if (pipeline == null) {
+            throw new IllegalArgumentException("Unknown validation rule set '" + ruleSet + "', available rule sets: "
+                    + ruleSets.keySet());
+        }
+        return pipeline;
+    }
+
+    public ValidationPipeline getDefault() {
+        return defaultPipeline;
+    }
+}
@@ -0,0 +1,72 @@
+package com.a2a.kafka.core.validation;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single envelope validation rule. Rules are combined into rule sets and compiled into a
+ * {@link ValidationPipeline}; define a {@code ValidationRule} bean to make a custom rule available to
+ * {@code a2a.validation.rule-sets} under its {@link #name()}.
+ *
+ * <p>Rules must be stateless and thread-safe. To keep validation of valid envelopes allocation-free,
+ * errors are collected in a list that is only created by the first failing rule: a rule receives the
+ * list so far (possibly null) and returns it, extended through {@link #addError(List, String)}.
+ */
+public interface ValidationRule {
+
+    /**
+     * @return the name used in rule set configuration and in the rule's metric tags
+     */
+    String name();
+
+    /**
+     * @param envelope  the envelope, never null
+     * @param nowMillis current time in epoch milliseconds
+     * @param errors    errors reported by earlier rules, or null if there are none
+     * @return {@code errors}, or a list with this rule's errors added
+     */
+    List<String> validate(A2AMessageEnvelope envelope, long nowMillis, List<String> errors);
+
+    /**
+     * Adds an error, creating the list on first use.
+     */
+    static List<String> addError(List<String> errors, String error) {
+        if (errors == null) {
+            errors = new ArrayList<>(4);
+        }
+        errors.add(error);
+        return errors;
+    }
+
+    /**
+     * Creates a rule from a lambda.
+     */
+    static ValidationRule of(String name, Check check) {
+        return new ValidationRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public List<String> validate(A2AMessageEnvelope envelope, long nowMillis, List<String> errors) {
+                return check.validate(envelope, nowMillis, errors);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Rule body, see {@link #validate(A2AMessageEnvelope, long, List)}.
+     */
+    @FunctionalInterface
+    interface Check {
+        List<String> validate(A2AMessageEnvelope envelope, long nowMillis, List<String> errors);
+    }
+}
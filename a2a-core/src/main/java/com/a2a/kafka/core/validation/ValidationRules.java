@@ -0,0 +1,261 @@
+package com.a2a.kafka.core.validation;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.a2a.kafka.core.validation.ValidationRule.addError;
+
+/**
+ * The built-in validation rules and rule sets.
+ *
+ * <p>Rule sets, in the order their rules run:
+ * <ul>
+ *   <li>{@code strict}: {@code required-fields}, {@code field-formats}, {@code message-type}, {@code timestamps},
+ *   the full protocol check for envelopes entering the system</li>
+ *   <li>{@code internal}: {@code required-fields}, {@code message-type}, for trusted hops between our own
+ *   components that already passed the strict check at the edge</li>
+ *   <li>{@code none}: no rules</li>
+ * </ul>
+ *
+ * <p>The checks use character scans instead of regular expressions and trimmed copies, and compare epoch
+ * milliseconds instead of building {@link Instant}s, so a valid envelope passes without allocation.
+ */
+public final class ValidationRules {
+
+    public static final String STRICT = "strict";
+    public static final String INTERNAL = "internal";
+    public static final String NONE = "none";
+
+    private static final long MAX_FUTURE_SKEW_MILLIS = 3_600_000L;
+    private static final long MAX_AGE_MILLIS = 86_400_000L;
+
+    /**
+     * ID, type, sender, payload and timestamp are present.
+     */
+    public static final ValidationRule REQUIRED_FIELDS = ValidationRule.of("required-fields",
+            ValidationRules::validateRequiredFields);
+
+    /**
+     * ID and task ID lengths and agent name characters, using the shared {@link IdentifierCache}.
+     */
+    public static final ValidationRule FIELD_FORMATS = fieldFormats(IdentifierCache.shared());
+
+    /**
+     * Commands name a method and a target, replies carry a task ID, events have a non-blank payload.
+     */
+    public static final ValidationRule MESSAGE_TYPE = ValidationRule.of("message-type",
+            ValidationRules::validateMessageTypeRules);
+
+    /**
+     * Timestamp is neither more than an hour ahead nor more than a day old, and the TTL has not elapsed. For
+     * an envelope replayed from a dead-letter topic, age and TTL count from the replay instead.
+     */
+    public static final ValidationRule TIMESTAMPS = ValidationRule.of("timestamps",
+            ValidationRules::validateTimestamps);
+
+    private ValidationRules() {
+    }
+
+    /**
+     * @return the field format rule checking agent names through the given cache
+     */
+    public static ValidationRule fieldFormats(IdentifierCache identifiers) {
+        return ValidationRule.of("field-formats",
+                (envelope, nowMillis, errors) -> validateFieldFormats(envelope, identifiers, errors));
+    }
+
+    /**
+     * @return the built-in rules by name
+     */
+    public static Map<String, ValidationRule> builtInRules() {
+        Map<String, ValidationRule> rules = new LinkedHashMap<>();
+        for (ValidationRule rule : List.of(REQUIRED_FIELDS, FIELD_FORMATS, MESSAGE_TYPE, TIMESTAMPS)) {
+            rules.put(rule.name(), rule);
+        }
+        return rules;
+    }
+
+    /**
+     * @return the built-in rule sets by name
+     */
+    public static Map<String, List<ValidationRule>> builtInRuleSets() {
+        Map<String, List<ValidationRule>> ruleSets = new LinkedHashMap<>();
+        ruleSets.put(STRICT, List.of(REQUIRED_FIELDS, FIELD_FORMATS, MESSAGE_TYPE, TIMESTAMPS));
+        ruleSets.put(INTERNAL, List.of(REQUIRED_FIELDS, MESSAGE_TYPE));
+        ruleSets.put(NONE, List.of());
+        return ruleSets;
+    }
+
+    private static List<String> validateRequiredFields(A2AMessageEnvelope envelope, long nowMillis, List<String> errors) {
+        if (isBlank(envelope.getId())) {
+            errors = addError(errors, "Message ID is required and cannot be blank");
+        }
+
+        if (envelope.getType() == null) {
+            errors = addError(errors, "Message type is required");
+        }
+
+        if (isBlank(envelope.getFrom())) {
+            errors = addError(errors, "From field is required and cannot be blank");
+        }
+
+        if (!envelope.hasPayload()) {
+            errors = addError(errors, "Payload is required");
+        }
+
+        if (envelope.getTimestamp() == null) {
+            errors = addError(errors, "Timestamp is required");
+        }
+        return errors;
+    }
+
+    private static List<String> validateFieldFormats(A2AMessageEnvelope envelope, IdentifierCache identifiers,
+                                                     List<String> errors) {
+        // Validate ID format (should be a valid UUID or similar identifier)
+        if (envelope.getId() != null && trimmedLength(envelope.getId()) < 3) {
+            errors = addError(errors, "Message ID must be at least 3 characters long");
+        }
+
+        // Validate agent names (from/to fields)
+        if (envelope.getFrom() != null && !identifiers.isValidAgentName(envelope.getFrom())) {
+            errors = addError(errors, "From field contains invalid characters");
+        }
+
+        if (envelope.getTo() != null && !identifiers.isValidAgentName(envelope.getTo())) {
+            errors = addError(errors, "To field contains invalid characters");
+        }
+
+        // Validate task ID format if present
+        if (envelope.getTaskId() != null && trimmedLength(envelope.getTaskId()) < 3) {
+            errors = addError(errors, "Task ID must be at least 3 characters long when provided");
+        }
+        return errors;
+    }
+
+    private static List<String> validateMessageTypeRules(A2AMessageEnvelope envelope, long nowMillis,
+                                                         List<String> errors) {
+        if (envelope.getType() == null) {
+            return errors; // Already handled in required fields validation
+        }
+
+        return switch (envelope.getType()) {
+            case COMMAND -> validateCommandMessage(envelope, errors);
+            case REPLY -> validateReplyMessage(envelope, errors);
+            case EVENT -> validateEventMessage(envelope, errors);
+        };
+    }
+
+    private static List<String> validateCommandMessage(A2AMessageEnvelope envelope, List<String> errors) {
+        // Commands should have a method specified
+        if (isBlank(envelope.getMethod())) {
+            errors = addError(errors, "Command messages must specify a method");
+        }
+
+        // Commands should have a target agent (to field)
+        if (isBlank(envelope.getTo())) {
+            errors = addError(errors, "Command messages must specify a target agent (to field)");
+        }
+        return errors;
+    }
+
+    private static List<String> validateReplyMessage(A2AMessageEnvelope envelope, List<String> errors) {
+        // Replies should have a task ID to correlate with the original command
+        if (isBlank(envelope.getTaskId())) {
+            errors = addError(errors, "Reply messages should have a task ID for correlation");
+        }
+        return errors;
+    }
+
+    private static List<String> validateEventMessage(A2AMessageEnvelope envelope, List<String> errors) {
+        // Events can be more flexible, but should have meaningful payload.
+        // Undecoded payloads are only decoded when they are JSON strings.
+        if (envelope.isPayloadUndecoded() && !envelope.getLazyPayload().isJsonString()) {
+            return errors;
+        }
+        if (envelope.getPayload() instanceof String payload && isBlank(payload)) {
+            errors = addError(errors, "Event messages should have meaningful payload content");
+        }
+        return errors;
+    }
+
+    private static List<String> validateTimestamps(A2AMessageEnvelope envelope, long nowMillis, List<String> errors) {
+        if (envelope.getTimestamp() == null) {
+            return errors; // Already handled in required fields validation
+        }
+
+        long messageMillis = toEpochMillis(envelope.getTimestamp());
+
+        // Check if timestamp is too far in the future (more than 1 hour)
+        if (messageMillis > nowMillis + MAX_FUTURE_SKEW_MILLIS) {
+            errors = addError(errors, "Message timestamp is too far in the future");
+        }
+
+        // A replayed task ages from its reinjection, so tasks older than their TTL can be replayed
+        long ageFromMillis = envelope.getReplayedAt() != null
+                ? Math.max(messageMillis, toEpochMillis(envelope.getReplayedAt())) : messageMillis;
+
+        // Check if timestamp is too old (more than 24 hours)
+        if (ageFromMillis < nowMillis - MAX_AGE_MILLIS) {
+            errors = addError(errors, "Message timestamp is too old (more than 24 hours)");
+        }
+
+        // Check TTL if specified
+        Long ttl = envelope.getTtl();
+        if (ttl != null && ageFromMillis > Long.MIN_VALUE && nowMillis - ageFromMillis > ttl) {
+            errors = addError(errors, "Message has expired according to its TTL");
+        }
+        return errors;
+    }
+
+    // Saturates instead of overflowing for timestamps millions of years away
+    private static long toEpochMillis(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        if (seconds >= Long.MAX_VALUE / 1000) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1000) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1000 + instant.getNano() / 1_000_000;
+    }
+
+    // Same result as value.trim().isEmpty() without the copy
+    private static boolean isBlank(String value) {
+        return value == null || trimmedLength(value) == 0;
+    }
+
+    // Same result as value.trim().length() without the copy
+    private static int trimmedLength(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+
+    // Uncached check behind IdentifierCache#isValidAgentName
+    static boolean isAgentName(String agentName) {
+        if (agentName.isEmpty()) {
+            return false;
+        }
+
+        // Agent names should contain only alphanumeric characters, hyphens, underscores, and dots
+        for (int i = 0; i < agentName.length(); i++) {
+            char c = agentName.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
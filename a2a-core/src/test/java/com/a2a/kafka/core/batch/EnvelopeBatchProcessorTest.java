@@ -0,0 +1,161 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeBatchProcessorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+    private final List<A2AMessageEnvelope> replies = new ArrayList<>();
+    private final List<byte[]> deadLetters = new ArrayList<>();
+    private final List<Long> clockReadings = new ArrayList<>();
+
+    private EnvelopeBatchProcessor<byte[]> processor() {
+        return new EnvelopeBatchProcessor<>(
+                value -> deserializer.deserialize("a2a.tasks", value),
+                (input, now) -> {
+                    clockReadings.add(now);
+                    if ("fail".equals(input.getMethod())) {
+                        throw new IllegalStateException("handler failed");
+                    }
+                    return input.isCommand() ? A2AMessageBuilder.replyTo(input, "processor",
+                            A2AMessageBuilder.Payloads.success("ok")).build() : null;
+                },
+                (source, reply) -> {
+                    if (reply.getTaskId().startsWith("unsendable")) {
+                        throw new IllegalStateException("send failed");
+                    }
+                    replies.add(reply);
+                },
+                (value, cause) -> deadLetters.add(value),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static byte[] command(String id, String method) {
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", "agent-x", method, Map.of("text", "hi"))
+                .id(id)
+                .build();
+        return new A2AMessageSerializer().serialize("a2a.tasks", command);
+    }
+
+    @Test
+    void handlesTheBatchAgainstOneClockReadingAndRepliesInOrder() {
+        EnvelopeBatchProcessor.Result result = processor().process(List.of(
+                command("task-1", "do"),
+                new A2AMessageSerializer().serialize("a2a.tasks",
+                        A2AMessageBuilder.event("tester", Map.of("status", "UP")).build()),
+                command("task-2", "do")));
+
+        assertEquals(new EnvelopeBatchProcessor.Result(3, 2, 0), result);
+        assertEquals(List.of("task-1", "task-2"), replies.stream().map(A2AMessageEnvelope::getTaskId).toList());
+        assertEquals(List.of(NOW.toEpochMilli(), NOW.toEpochMilli(), NOW.toEpochMilli()), clockReadings);
+        assertTrue(deadLetters.isEmpty());
+    }
+
+    @Test
+    void deadLettersOnlyTheRecordsThatFail() {
+        byte[] corrupt = "{not an envelope".getBytes(StandardCharsets.UTF_8);
+        byte[] failing = command("task-2", "fail");
+        byte[] unsendable = command("unsendable-3", "do");
+
+        EnvelopeBatchProcessor.Result result = processor().process(List.of(
+                command("task-1", "do"), corrupt, failing, unsendable, command("task-5", "do")));
+
+        assertEquals(new EnvelopeBatchProcessor.Result(5, 2, 3), result);
+        assertEquals(List.of("task-1", "task-5"), replies.stream().map(A2AMessageEnvelope::getTaskId).toList());
+        assertEquals(List.of(corrupt, failing, unsendable), deadLetters);
+    }
+
+    @Test
+    void failingDeadLetterSinkFailsTheBatch() {
+        EnvelopeBatchProcessor<byte[]> processor = new EnvelopeBatchProcessor<>(
+                value -> deserializer.deserialize("a2a.tasks", value),
+                (input, now) -> input,
+                (source, reply) -> replies.add(reply),
+                (value, cause) -> {
+                    throw new IllegalStateException("dead-letter destination unavailable", cause);
+                },
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThrows(IllegalStateException.class, () -> processor.process(List.of(
+                "{not an envelope".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void asyncRepliesAreSentAsEachTaskCompletes() {
+        Map<String, CompletableFuture<A2AMessageEnvelope>> running = new HashMap<>();
+        EnvelopeBatchProcessor<byte[]> processor = EnvelopeBatchProcessor.async(
+                value -> deserializer.deserialize("a2a.tasks", value),
+                (input, now) -> running.computeIfAbsent(input.getId(), id -> new CompletableFuture<>()),
+                (source, reply) -> replies.add(reply),
+                (value, cause) -> deadLetters.add(value),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        A2AMessageEnvelope first = A2AMessageBuilder.command("tester", "agent-x", "do", Map.of()).id("task-1").build();
+        A2AMessageEnvelope second = A2AMessageBuilder.command("tester", "agent-x", "do", Map.of()).id("task-2").build();
+        byte[] failing = new A2AMessageSerializer().serialize("a2a.tasks",
+                A2AMessageBuilder.command("tester", "agent-x", "do", Map.of()).id("task-3").build());
+
+        CompletableFuture<Boolean> firstDone = processor.processAsync(new A2AMessageSerializer().serialize("a2a.tasks", first));
+        CompletableFuture<Boolean> secondDone = processor.processAsync(new A2AMessageSerializer().serialize("a2a.tasks", second));
+        CompletableFuture<Boolean> failed = processor.processAsync(failing);
+        assertTrue(replies.isEmpty());
+
+        running.get("task-2").complete(A2AMessageBuilder.replyTo(second, "agent-x", "two").build());
+        assertTrue(secondDone.join());
+        assertFalse(firstDone.isDone());
+        running.get("task-3").completeExceptionally(new IllegalStateException("agent failed"));
+        running.get("task-1").complete(A2AMessageBuilder.replyTo(first, "agent-x", "one").build());
+
+        assertTrue(firstDone.join());
+        assertFalse(failed.join());
+        assertEquals(List.of("task-2", "task-1"), replies.stream().map(A2AMessageEnvelope::getTaskId).toList());
+        assertEquals(List.of(failing), deadLetters);
+    }
+
+    @Test
+    void recoversFailedHandlersOnTheAwaitingThread() {
+        List<Thread> recoveries = new ArrayList<>();
+        EnvelopeBatchProcessor<byte[]> processor = EnvelopeBatchProcessor.async(
+                value -> deserializer.deserialize("a2a.tasks", value),
+                (input, now) -> CompletableFuture.supplyAsync(() -> {
+                    throw new IllegalStateException("agent failed");
+                }),
+                (value, input, cause) -> {
+                    recoveries.add(Thread.currentThread());
+                    if ("drop".equals(input.getMethod())) {
+                        return null;
+                    }
+                    return A2AMessageBuilder.replyTo(input, "processor",
+                            A2AMessageBuilder.Payloads.error("PROCESSING_ERROR", cause.getMessage())).build();
+                },
+                (source, reply) -> replies.add(reply),
+                (value, cause) -> deadLetters.add(value),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        byte[] corrupt = "{not an envelope".getBytes(StandardCharsets.UTF_8);
+
+        EnvelopeBatchProcessor.Result result = processor.process(List.of(
+                command("task-1", "do"), command("task-2", "drop"), corrupt));
+
+        assertEquals(new EnvelopeBatchProcessor.Result(3, 1, 1), result);
+        assertEquals(List.of("task-1"), replies.stream().map(A2AMessageEnvelope::getTaskId).toList());
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), recoveries);
+        assertEquals(List.of(corrupt), deadLetters);
+    }
+}
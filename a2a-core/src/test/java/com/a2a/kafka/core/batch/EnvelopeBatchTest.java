@@ -0,0 +1,157 @@
+package com.a2a.kafka.core.batch;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeBatchTest {
+
+    private final A2AMessageSerializer serializer = new A2AMessageSerializer();
+    private final List<ConsumerRecord<Object, Object>> sent = new ArrayList<>();
+
+    private EnvelopeBatcher batcher(int maxCount, int maxBytes, Duration linger) {
+        return new EnvelopeBatcher((envelope, headers) -> serializer.serialize("a2a.events", headers, envelope),
+                this::record, maxCount, maxBytes, linger);
+    }
+
+    private synchronized void record(String key, byte[] value, Headers headers) {
+        sent.add(new ConsumerRecord<>("a2a.events", 0, sent.size(), 0L, TimestampType.CREATE_TIME, 0, value.length,
+                key, value, headers, Optional.empty()));
+    }
+
+    private A2AMessageEnvelope heartbeat(String agent) {
+        return A2AMessageBuilder.event("registry", Map.of("agent", agent, "status", "UP")).ttlSeconds(30).build();
+    }
+
+    private List<ConsumerRecord<Object, Object>> split(List<ConsumerRecord<Object, Object>> records) {
+        ConsumerRecords<Object, Object> split = new BatchSplittingConsumerInterceptor()
+                .onConsume(new ConsumerRecords<>(Map.of(new TopicPartition("a2a.events", 0), records)));
+        List<ConsumerRecord<Object, Object>> out = new ArrayList<>();
+        split.forEach(out::add);
+        return out;
+    }
+
+    @Test
+    void envelopesAreSplitBackInOrderWithTheirOwnIdsAndHeaders() {
+        List<A2AMessageEnvelope> envelopes = List.of(heartbeat("translator"), heartbeat("summarizer"), heartbeat("gp"));
+        try (EnvelopeBatcher batcher = batcher(3, 64 * 1024, Duration.ofMinutes(1))) {
+            envelopes.forEach(envelope -> batcher.add("registry", envelope));
+        }
+
+        assertEquals(1, sent.size());
+        assertEquals("3", A2AKafkaHeaders.get(sent.get(0).headers(), A2AKafkaHeaders.BATCH));
+
+        List<ConsumerRecord<Object, Object>> records = split(sent);
+        A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+        assertEquals(3, records.size());
+        for (int i = 0; i < 3; i++) {
+            ConsumerRecord<Object, Object> record = records.get(i);
+            A2AMessageEnvelope decoded = deserializer.deserialize(record.topic(), record.headers(), (byte[]) record.value());
+            assertEquals(envelopes.get(i).getId(), decoded.getId());
+            assertEquals(30_000L, decoded.getTtl());
+            assertEquals(envelopes.get(i).getId(), A2AKafkaHeaders.get(record.headers(), A2AKafkaHeaders.ID));
+            assertNull(record.headers().lastHeader(A2AKafkaHeaders.BATCH));
+            assertEquals("registry", record.key());
+            assertEquals(0L, record.offset());
+        }
+    }
+
+    @Test
+    void byteLimitStartsANewBatchAndSingleEnvelopesAreSentPlain() {
+        int size = serializer.serialize("a2a.events", new RecordHeaders(), heartbeat("translator")).length;
+        try (EnvelopeBatcher batcher = batcher(100, size * 2, Duration.ofMinutes(1))) {
+            for (String agent : List.of("translator", "summarizer", "gp")) {
+                batcher.add(heartbeat(agent));
+            }
+        }
+
+        assertEquals(2, sent.size());
+        assertEquals("2", A2AKafkaHeaders.get(sent.get(0).headers(), A2AKafkaHeaders.BATCH));
+        assertFalse(EnvelopeBatch.isBatch((byte[]) sent.get(1).value()));
+        assertEquals(3, split(sent).size());
+    }
+
+    @Test
+    void lingerSendsAPartialBatch() throws Exception {
+        CountDownLatch flushed = new CountDownLatch(1);
+        try (EnvelopeBatcher batcher = new EnvelopeBatcher(
+                (envelope, headers) -> serializer.serialize("a2a.events", headers, envelope),
+                (key, value, headers) -> {
+                    record(key, value, headers);
+                    flushed.countDown();
+                }, 100, 64 * 1024, Duration.ofMillis(20))) {
+            batcher.add(heartbeat("translator"));
+            batcher.add(heartbeat("summarizer"));
+
+            assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, sent.size());
+        assertEquals("2", A2AKafkaHeaders.get(sent.get(0).headers(), A2AKafkaHeaders.BATCH));
+    }
+
+    @Test
+    void envelopesAreBatchedPerKey() {
+        try (EnvelopeBatcher batcher = batcher(2, 64 * 1024, Duration.ofMinutes(1))) {
+            batcher.add("translator", heartbeat("translator"));
+            batcher.add("summarizer", heartbeat("summarizer"));
+            batcher.add("translator", heartbeat("translator"));
+
+            assertEquals(1, sent.size());
+            assertEquals("translator", sent.get(0).key());
+            assertEquals("2", A2AKafkaHeaders.get(sent.get(0).headers(), A2AKafkaHeaders.BATCH));
+        }
+        assertEquals(2, sent.size());
+        assertEquals("summarizer", sent.get(1).key());
+        assertFalse(EnvelopeBatch.isBatch((byte[]) sent.get(1).value()));
+    }
+
+    @Test
+    void failedLingerFlushesAreCounted() throws Exception {
+        CountDownLatch attempted = new CountDownLatch(1);
+        try (EnvelopeBatcher batcher = new EnvelopeBatcher(
+                (envelope, headers) -> serializer.serialize("a2a.events", headers, envelope),
+                (key, value, headers) -> {
+                    attempted.countDown();
+                    throw new IllegalStateException("broker unavailable");
+                }, 100, 64 * 1024, Duration.ofMillis(20))) {
+            batcher.add("translator", heartbeat("translator"));
+            batcher.add("translator", heartbeat("translator"));
+
+            assertTrue(attempted.await(5, TimeUnit.SECONDS));
+            synchronized (batcher) {
+                assertEquals(2, batcher.getFailedSends());
+            }
+        }
+    }
+
+    @Test
+    void batchRecordsAreRejectedWithoutTheInterceptor() {
+        try (EnvelopeBatcher batcher = batcher(2, 64 * 1024, Duration.ofMinutes(1))) {
+            batcher.add(heartbeat("translator"));
+            batcher.add(heartbeat("summarizer"));
+        }
+
+        assertThrows(SerializationException.class,
+                () -> new A2AMessageDeserializer().deserialize("a2a.events", (byte[]) sent.get(0).value()));
+    }
+}
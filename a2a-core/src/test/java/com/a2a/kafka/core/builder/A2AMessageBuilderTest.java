@@ -0,0 +1,99 @@
+package com.a2a.kafka.core.builder;
+
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class A2AMessageBuilderTest {
+
+    @Test
+    void buildGeneratesIdAndTimestampOnlyWhenUnset() {
+        Instant timestamp = Instant.parse("2025-01-02T03:04:05Z");
+        A2AMessageEnvelope explicit = A2AMessageBuilder.event("tester", "payload").id("msg-1").timestamp(timestamp).build();
+        A2AMessageEnvelope generated = A2AMessageBuilder.event("tester", "payload").build();
+
+        assertEquals("msg-1", explicit.getId());
+        assertEquals(timestamp, explicit.getTimestamp());
+        assertNotNull(generated.getId());
+        assertNotNull(generated.getTimestamp());
+    }
+
+    @Test
+    void envelopesWithoutHeadersShareOneEmptyMap() {
+        A2AMessageEnvelope first = A2AMessageBuilder.event("tester", "a").build();
+        A2AMessageEnvelope second = A2AMessageBuilder.event("tester", "b").headers(Map.of()).build();
+        A2AMessageEnvelope withHeader = A2AMessageBuilder.event("tester", "c").header("tenant", "acme").build();
+
+        assertSame(first.getHeaders(), second.getHeaders());
+        assertTrue(first.getHeaders().isEmpty());
+        assertEquals(Map.of("tenant", "acme"), withHeader.getHeaders());
+    }
+
+    @Test
+    void headersAddedAfterBuildDoNotChangeBuiltEnvelopes() {
+        A2AMessageBuilder builder = A2AMessageBuilder.event("tester", "a").header("tenant", "acme");
+        A2AMessageEnvelope first = builder.build();
+
+        A2AMessageEnvelope second = builder.header("region", "eu").build();
+
+        assertEquals(Map.of("tenant", "acme"), first.getHeaders());
+        assertEquals(Map.of("tenant", "acme", "region", "eu"), second.getHeaders());
+    }
+
+    @Test
+    void envelopeHeadersAreReadOnly() {
+        A2AMessageEnvelope empty = A2AMessageBuilder.event("tester", "a").build();
+        A2AMessageEnvelope withHeader = A2AMessageBuilder.event("tester", "b").header("tenant", "acme").build();
+        A2AMessageEnvelope bean = A2AMessageEnvelope.empty();
+        bean.setHeaders(new HashMap<>(Map.of("tenant", "acme")));
+
+        for (A2AMessageEnvelope envelope : List.of(empty, withHeader, bean)) {
+            assertThrows(UnsupportedOperationException.class, () -> envelope.getHeaders().put("region", "eu"));
+        }
+        assertEquals(Map.of("tenant", "acme", "region", "eu"), withHeader.withHeader("region", "eu").getHeaders());
+    }
+
+    @Test
+    void copyMethodsLeaveTheSourceUntouched() {
+        A2AMessageEnvelope command = A2AMessageBuilder.command("orchestrator", "translator", "translate", "hello")
+                .correlationId("corr-1")
+                .build();
+
+        A2AMessageEnvelope retargeted = command.withTo("summarizer").withHeader("tenant", "acme");
+
+        assertEquals("translator", command.getTo());
+        assertTrue(command.getHeaders().isEmpty());
+        assertEquals("summarizer", retargeted.getTo());
+        assertEquals("acme", retargeted.getHeaders().get("tenant"));
+        assertEquals(command.getId(), retargeted.getId());
+        assertEquals(command.getTimestamp(), retargeted.getTimestamp());
+    }
+
+    @Test
+    void replyAndForwardDerivations() {
+        A2AMessageEnvelope command = A2AMessageBuilder.command("orchestrator", "translator", "translate", "hello")
+                .correlationId("corr-1")
+                .ttlSeconds(30)
+                .build();
+
+        A2AMessageEnvelope reply = A2AMessageBuilder.replyTo(command, "translator", "hola").build();
+        A2AMessageEnvelope event = command.forwardAs("evt-1", MessageType.EVENT, "processor", Instant.now());
+
+        assertEquals(command.getId(), reply.getTaskId());
+        assertEquals("corr-1", reply.getCorrelationId());
+        assertEquals("evt-1", event.getId());
+        assertEquals(MessageType.EVENT, event.getType());
+        assertEquals("processor", event.getFrom());
+        assertEquals("corr-1", event.getCorrelationId());
+        assertEquals("hello", event.getPayload());
+        assertNull(event.getTo());
+        assertNull(event.getTtl());
+    }
+}
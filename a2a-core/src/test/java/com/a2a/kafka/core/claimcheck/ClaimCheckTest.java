@@ -0,0 +1,105 @@
+package com.a2a.kafka.core.claimcheck;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.A2AMessageDeserializer;
+import com.a2a.kafka.core.serialization.A2AMessageSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimCheckTest {
+
+    private static final String DOCUMENT = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(1000);
+
+    @TempDir
+    Path storeDir;
+
+    private A2AMessageSerializer serializer(String codec) {
+        A2AMessageSerializer serializer = new A2AMessageSerializer();
+        serializer.configure(Map.of(
+                A2AMessageSerializer.CODEC_CONFIG, codec,
+                A2AMessageSerializer.CLAIM_CHECK_STORE_CONFIG, storeDir.toString(),
+                A2AMessageSerializer.CLAIM_CHECK_THRESHOLD_CONFIG, "16384"), false);
+        return serializer;
+    }
+
+    private A2AMessageDeserializer deserializer(boolean lazy) {
+        A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+        deserializer.configure(Map.of(
+                A2AMessageDeserializer.LAZY_PAYLOAD_CONFIG, lazy,
+                A2AMessageSerializer.CLAIM_CHECK_STORE_CONFIG, new FileSystemPayloadStore(storeDir)), false);
+        return deserializer;
+    }
+
+    private long storedFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(storeDir)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    @Test
+    void largePayloadIsReplacedByReferenceAndFetchedLazily() throws Exception {
+        for (String codec : new String[]{"json", "binary"}) {
+            A2AMessageEnvelope command = A2AMessageBuilder
+                    .command("orchestrator", "summarizer", "summarize", Map.of("text", DOCUMENT))
+                    .build();
+
+            byte[] data = serializer(codec).serialize("a2a.tasks", command);
+            assertTrue(data.length < 512, codec + " record is " + data.length + " bytes");
+
+            A2AMessageEnvelope lazy = deserializer(true).deserialize("a2a.tasks", data);
+            assertTrue(lazy.getLazyPayload().isClaimCheck());
+            assertEquals(DOCUMENT, ((Map<?, ?>) lazy.getPayload()).get("text"));
+
+            A2AMessageEnvelope eager = deserializer(false).deserialize("a2a.tasks", data);
+            assertEquals(DOCUMENT, ((Map<?, ?>) eager.getPayload()).get("text"));
+        }
+    }
+
+    @Test
+    void sameDocumentIsStoredOnce() throws Exception {
+        A2AMessageSerializer serializer = serializer("json");
+        Map<String, Object> payload = Map.of("text", DOCUMENT);
+
+        serializer.serialize("a2a.tasks", A2AMessageBuilder.command("orchestrator", "translator", "translate", payload).build());
+        serializer.serialize("a2a.tasks", A2AMessageBuilder.command("orchestrator", "summarizer", "summarize", payload).build());
+
+        assertEquals(1, storedFiles());
+    }
+
+    @Test
+    void smallPayloadStaysInline() throws Exception {
+        A2AMessageEnvelope event = A2AMessageBuilder.event("translator", Map.of("status", "UP")).build();
+
+        byte[] data = serializer("binary").serialize("a2a.events", event);
+
+        assertEquals(0, storedFiles());
+        assertEquals("UP", ((Map<?, ?>) deserializer(false).deserialize("a2a.events", data).getPayload()).get("status"));
+    }
+
+    @Test
+    void missingOrTamperedPayloadIsRejected() throws Exception {
+        byte[] data = serializer("json").serialize("a2a.tasks",
+                A2AMessageBuilder.command("orchestrator", "summarizer", "summarize", Map.of("text", DOCUMENT)).build());
+        Path stored;
+        try (Stream<Path> files = Files.walk(storeDir)) {
+            stored = files.filter(Files::isRegularFile).findFirst().orElseThrow();
+        }
+        Files.writeString(stored, "{\"text\":\"tampered\"}");
+
+        assertThrows(SerializationException.class, () -> deserializer(false).deserialize("a2a.tasks", data));
+
+        Files.delete(stored);
+        A2AMessageEnvelope lazy = deserializer(true).deserialize("a2a.tasks", data);
+        assertThrows(java.io.UncheckedIOException.class, lazy::getPayload);
+    }
+}
@@ -0,0 +1,48 @@
+package com.a2a.kafka.core.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingConfigurationTest {
+
+    private final A2ASystemProperties.ProcessingConfiguration processing =
+            new A2ASystemProperties.ProcessingConfiguration();
+
+    @Test
+    void parallelModeCannotBeCombinedWithTransactions() {
+        processing.setParallelMode(true);
+        processing.setTransactionIdPrefix("a2a-tx-");
+
+        assertTrue(processing.isTransactional());
+        assertFalse(processing.isTransactionCompatible());
+    }
+
+    @Test
+    void transactionsAreCompatibleWithRecordAndBatchMode() {
+        processing.setTransactionIdPrefix("a2a-tx-");
+        assertTrue(processing.isTransactionCompatible());
+
+        processing.setBatchMode(true);
+        assertTrue(processing.isTransactionCompatible());
+    }
+
+    @Test
+    void parallelModeWithoutTransactionsIsCompatible() {
+        processing.setParallelMode(true);
+        assertTrue(processing.isTransactionCompatible());
+
+        processing.setTransactionIdPrefix("  ");
+        assertFalse(processing.isTransactional());
+        assertTrue(processing.isTransactionCompatible());
+    }
+
+    @Test
+    void batchModeAndParallelModeCannotBothBeEnabled() {
+        processing.setBatchMode(true);
+        assertTrue(processing.isSingleMode());
+
+        processing.setParallelMode(true);
+        assertFalse(processing.isSingleMode());
+    }
+}
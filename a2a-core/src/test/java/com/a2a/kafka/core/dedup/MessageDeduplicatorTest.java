@@ -0,0 +1,150 @@
+package com.a2a.kafka.core.dedup;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageDeduplicatorTest {
+
+    private static final long NOW = Instant.parse("2025-06-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    void idsAreRememberedForTheWindowAndThenForgotten() {
+        MessageIdWindow window = new MessageIdWindow(Duration.ofSeconds(10), 10, 1000);
+
+        assertTrue(window.add("msg-1", NOW));
+        assertFalse(window.add("msg-1", NOW + 5_000));
+        assertTrue(window.contains("msg-1", NOW + 8_999));
+        assertFalse(window.contains("msg-1", NOW + 10_000));
+        assertTrue(window.add("msg-1", NOW + 10_000));
+        assertFalse(window.contains("msg-2", NOW));
+    }
+
+    @Test
+    void fullSlicesStopRecordingInsteadOfGrowing() {
+        MessageIdWindow window = new MessageIdWindow(Duration.ofSeconds(10), 2, 4);
+
+        for (int i = 0; i < 5; i++) {
+            window.add("msg-" + i, NOW);
+        }
+
+        assertEquals(2, window.size());
+        assertEquals(3, window.getOverflows());
+        assertTrue(window.contains("msg-0", NOW));
+        assertFalse(window.contains("msg-4", NOW));
+    }
+
+    @Test
+    void checkpointRestoresOnlyLiveSlices() throws Exception {
+        MessageIdWindow window = new MessageIdWindow(Duration.ofSeconds(10), 10, 1000);
+        window.add("old", NOW);
+        window.add("recent", NOW + 6_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        window.writeCheckpoint(out, NOW + 6_000);
+
+        MessageIdWindow restored = new MessageIdWindow(Duration.ofSeconds(10), 10, 1000);
+        restored.readCheckpoint(new ByteArrayInputStream(out.toByteArray()), NOW + 12_000);
+
+        assertFalse(restored.contains("old", NOW + 12_000));
+        assertTrue(restored.contains("recent", NOW + 12_000));
+        assertEquals(1, restored.size());
+    }
+
+    @Test
+    void duplicateCommandsAreAnsweredFromTheReplyCache() {
+        MessageDeduplicator deduplicator = deduplicator(null);
+        AtomicInteger calls = new AtomicInteger();
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", "translator", "translate", Map.of("text", "Hi"))
+                .build();
+
+        A2AMessageEnvelope first = deduplicator.process(command, input -> {
+            calls.incrementAndGet();
+            return A2AMessageBuilder.replyTo(input, "processor", "done").build();
+        });
+        A2AMessageEnvelope second = deduplicator.process(command, input -> {
+            calls.incrementAndGet();
+            return null;
+        });
+
+        assertEquals(1, calls.get());
+        assertSame(first, second);
+        assertEquals(1, deduplicator.getDuplicates());
+        A2AMessageEnvelope event = A2AMessageBuilder.event("tester", Map.of("status", "UP")).build();
+        assertNotNull(deduplicator.process(event, input -> input));
+        assertNull(deduplicator.process(event, input -> input));
+    }
+
+    @Test
+    void failedMessagesAreNotRecorded() {
+        MessageDeduplicator deduplicator = deduplicator(null);
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", "translator", "translate", Map.of("text", "Hi"))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> deduplicator.process(command, input -> {
+            throw new IllegalStateException("LLM unavailable");
+        }));
+
+        assertNotNull(deduplicator.process(command, input -> A2AMessageBuilder.replyTo(input, "processor", "done").build()));
+    }
+
+    @Test
+    void copiesArrivingWhileAMessageIsHandledAreDuplicates() {
+        MessageDeduplicator deduplicator = deduplicator(null);
+        A2AMessageEnvelope command = A2AMessageBuilder.command("tester", "translator", "translate", Map.of("text", "Hi"))
+                .build();
+        CompletableFuture<A2AMessageEnvelope> pending = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<A2AMessageEnvelope> first = deduplicator.processAsync(command, input -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<A2AMessageEnvelope> copy = deduplicator.processAsync(command, input -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(1, calls.get());
+        assertTrue(copy.isDone());
+        assertNull(copy.join());
+        assertEquals(1, deduplicator.getDuplicates());
+
+        pending.completeExceptionally(new IllegalStateException("LLM unavailable"));
+        assertTrue(first.isCompletedExceptionally());
+        assertNotNull(deduplicator.process(command, input -> A2AMessageBuilder.replyTo(input, "processor", "done").build()));
+    }
+
+    @Test
+    void windowSurvivesRestartThroughTheCheckpointFile(@TempDir Path dir) {
+        Path checkpoint = dir.resolve("dedup.bin");
+        A2AMessageEnvelope event = A2AMessageBuilder.event("tester", Map.of("status", "UP")).build();
+        try (MessageDeduplicator before = deduplicator(checkpoint)) {
+            before.process(event, input -> input);
+        }
+
+        try (MessageDeduplicator after = deduplicator(checkpoint)) {
+            assertTrue(after.getWindow().contains(event.getId(), NOW));
+            assertNull(after.process(event, input -> input));
+        }
+    }
+
+    private static MessageDeduplicator deduplicator(Path checkpoint) {
+        return new MessageDeduplicator(new MessageIdWindow(Duration.ofMinutes(10), 10, 10_000),
+                new ReplyCache(100, Duration.ofMinutes(10).toMillis()),
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), checkpoint, Duration.ofMinutes(1));
+    }
+}
@@ -0,0 +1,73 @@
+package com.a2a.kafka.core.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private final TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+
+    @Test
+    void idsAreVersion7UuidsCarryingTheCreationTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UUID.fromString(generator.nextId());
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = TimeOrderedIdGenerator.timestampOf(id);
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+    }
+
+    @Test
+    void idsFromOneThreadAreStrictlyIncreasing() {
+        UUID previous = generator.nextUuid();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = generator.nextUuid();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0
+                    || (next.getMostSignificantBits() == previous.getMostSignificantBits()
+                    && Long.compareUnsigned(next.getLeastSignificantBits(), previous.getLeastSignificantBits()) > 0));
+            previous = next;
+        }
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400_000, ids.size());
+    }
+
+    @Test
+    void generatorsAreSelectedByName() {
+        assertInstanceOf(TimeOrderedIdGenerator.class, MessageIds.forName("time-ordered"));
+        assertInstanceOf(RandomUuidGenerator.class, MessageIds.forName("RANDOM"));
+        assertThrows(IllegalArgumentException.class, () -> MessageIds.forName("snowflake"));
+    }
+}
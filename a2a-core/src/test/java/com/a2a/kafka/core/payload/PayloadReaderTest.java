@@ -0,0 +1,78 @@
+package com.a2a.kafka.core.payload;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.BinaryEnvelopeCodec;
+import com.a2a.kafka.core.serialization.EnvelopeCodec;
+import com.a2a.kafka.core.serialization.JsonEnvelopeCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadReaderTest {
+
+    private final PayloadReader reader = new PayloadReader(new ObjectMapper());
+
+    private Object read(String json) throws Exception {
+        byte[] data = json.getBytes(StandardCharsets.UTF_8);
+        return reader.read(data, 0, data.length);
+    }
+
+    @Test
+    void everyPayloadTypeRoundTripsThroughBothCodecs() throws Exception {
+        List<Object> payloads = List.of(
+                A2AMessageBuilder.Payloads.text("hello"),
+                A2AMessageBuilder.Payloads.error("PROCESSING_ERROR", "boom"),
+                A2AMessageBuilder.Payloads.success(A2AMessageBuilder.Payloads.text("done")),
+                A2AMessageBuilder.Payloads.translationRequest("Hello world", "es"),
+                A2AMessageBuilder.Payloads.summarizationRequest("Long document", "short"));
+        for (EnvelopeCodec codec : List.of(new JsonEnvelopeCodec(), new BinaryEnvelopeCodec(), new JsonEnvelopeCodec(true))) {
+            for (Object payload : payloads) {
+                A2AMessageEnvelope envelope = A2AMessageBuilder.event("tester", payload).build();
+                assertEquals(payload, codec.decode(codec.encode(envelope)).getPayload(), codec.name());
+            }
+        }
+    }
+
+    @Test
+    void discriminatorIsWrittenFirstWithSnakeCaseFields() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(A2AMessageBuilder.Payloads.translationRequest("Hi", "de"));
+
+        assertEquals("{\"type\":\"translation_request\",\"text\":\"Hi\",\"target_language\":\"de\"}", json);
+    }
+
+    @Test
+    void discriminatorAfterOtherMembersIsFound() throws Exception {
+        Object payload = read("{\"length_hint\":\"short\",\"extra\":[1,{\"a\":2}],\"type\":\"summarization_request\",\"text\":\"doc\"}");
+
+        assertEquals(new SummarizationRequest("doc", "short"), payload);
+    }
+
+    @Test
+    void unknownOrMissingDiscriminatorFallsBackToMap() throws Exception {
+        assertEquals(Map.of("type", "agent_card", "name", "translator"), read("{\"type\":\"agent_card\",\"name\":\"translator\"}"));
+        assertEquals(Map.of("type", 7, "k", "v"), read("{\"type\":7,\"k\":\"v\"}"));
+        assertEquals(Map.of("agent", "translator"), read("{\"agent\":\"translator\"}"));
+        assertEquals(List.of("a", "b"), read("[\"a\",\"b\"]"));
+        assertEquals("plain", read("\"plain\""));
+    }
+
+    @Test
+    void envelopeBoundByObjectMapperUsesTypedPayloads() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        A2AMessageEnvelope envelope = A2AMessageBuilder
+                .command("orchestrator", "translator", "translate", A2AMessageBuilder.Payloads.translationRequest("Hi", "de"))
+                .build();
+
+        A2AMessageEnvelope decoded = mapper.readValue(mapper.writeValueAsBytes(envelope), A2AMessageEnvelope.class);
+
+        assertEquals(new TranslationRequest("Hi", "de"), decoded.getPayload());
+        assertEquals(envelope.getId(), decoded.getId());
+    }
+}
@@ -0,0 +1,199 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.TranslationRequest;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvelopeCodecTest {
+
+    private A2AMessageEnvelope sampleCommand() {
+        return A2AMessageBuilder
+                .command("orchestrator", "translator", "translate",
+                        A2AMessageBuilder.Payloads.translationRequest("Hello world", "es"))
+                .taskId("task-123")
+                .correlationId("corr-1")
+                .replyTo("a2a.replies")
+                .header("tenant", "acme")
+                .timestamp(Instant.parse("2025-01-02T03:04:05.123456789Z"))
+                .ttlSeconds(30)
+                .build();
+    }
+
+    @Test
+    void binaryRoundTripPreservesAllFields() throws Exception {
+        A2AMessageEnvelope original = sampleCommand();
+        BinaryEnvelopeCodec codec = new BinaryEnvelopeCodec();
+
+        A2AMessageEnvelope decoded = codec.decode(codec.encode(original));
+
+        assertEquals(original.getId(), decoded.getId());
+        assertEquals(MessageType.COMMAND, decoded.getType());
+        assertEquals("orchestrator", decoded.getFrom());
+        assertEquals("translator", decoded.getTo());
+        assertEquals("task-123", decoded.getTaskId());
+        assertEquals("translate", decoded.getMethod());
+        assertEquals("corr-1", decoded.getCorrelationId());
+        assertEquals("a2a.replies", decoded.getReplyTo());
+        assertEquals(original.getTimestamp(), decoded.getTimestamp());
+        assertEquals(30_000L, decoded.getTtl());
+        assertEquals(Map.of("tenant", "acme"), decoded.getHeaders());
+        assertEquals("Hello world", ((TranslationRequest) decoded.getPayload()).text());
+    }
+
+    @Test
+    void jsonDecodingGeneratesNoIdOrTimestamp() throws Exception {
+        byte[] data = "{\"type\":\"event\",\"from\":\"tester\",\"payload\":\"x\"}".getBytes();
+
+        for (JsonEnvelopeCodec codec : new JsonEnvelopeCodec[]{new JsonEnvelopeCodec(), new JsonEnvelopeCodec(true)}) {
+            A2AMessageEnvelope decoded = codec.decode(data);
+
+            assertNull(decoded.getId());
+            assertNull(decoded.getTimestamp());
+            assertEquals("tester", decoded.getFrom());
+        }
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() throws Exception {
+        A2AMessageEnvelope envelope = A2AMessageBuilder
+                .event("translator", Map.of("agent", "translator", "status", "UP"))
+                .correlationId("0b6f9a3c-2d4e-4f1a-8b7c-6e5d4c3b2a19")
+                .build();
+
+        int jsonSize = new JsonEnvelopeCodec().encode(envelope).length;
+        int binarySize = new BinaryEnvelopeCodec().encode(envelope).length;
+        System.out.println("[DEBUG_LOG] json=" + jsonSize + " binary=" + binarySize);
+
+        assertTrue(binarySize < jsonSize * 0.75, "binary " + binarySize + " vs json " + jsonSize);
+    }
+
+    @Test
+    void deserializerHonoursCodecHeaderAndDetectsBinaryWithoutIt() {
+        A2AMessageSerializer serializer = new A2AMessageSerializer();
+        serializer.configure(Map.of(A2AMessageSerializer.CODEC_CONFIG, "binary"), false);
+        A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = serializer.serialize("a2a.events", headers, sampleCommand());
+
+        assertEquals("binary", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.CODEC));
+        assertEquals("translator", deserializer.deserialize("a2a.events", headers, data).getTo());
+        assertEquals("translator", deserializer.deserialize("a2a.events", new RecordHeaders(), data).getTo());
+    }
+
+    @Test
+    void deserializerReadsJsonWithoutCodecHeader() {
+        byte[] json = new A2AMessageSerializer().serialize("a2a.tasks", sampleCommand());
+
+        A2AMessageEnvelope decoded = new A2AMessageDeserializer().deserialize("a2a.tasks", new RecordHeaders(), json);
+
+        assertEquals("translate", decoded.getMethod());
+        assertEquals(Instant.parse("2025-01-02T03:04:05.123456789Z"), decoded.getTimestamp());
+    }
+
+    @Test
+    void truncatedBinaryEnvelopeIsRejected() throws Exception {
+        byte[] data = new BinaryEnvelopeCodec().encode(sampleCommand());
+        byte[] truncated = java.util.Arrays.copyOf(data, data.length / 2);
+
+        assertThrows(SerializationException.class,
+                () -> new A2AMessageDeserializer().deserialize("a2a.tasks", truncated));
+    }
+
+    @Test
+    void serializerMirrorsRoutingFieldsIntoHeaders() {
+        A2AMessageEnvelope command = sampleCommand();
+        RecordHeaders headers = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.tasks", headers, command);
+
+        assertEquals(command.getId(), A2AKafkaHeaders.get(headers, A2AKafkaHeaders.ID));
+        assertEquals("command", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TYPE));
+        assertEquals("orchestrator", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.FROM));
+        assertEquals("translator", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TO));
+        assertEquals("translate", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.METHOD));
+        assertEquals("task-123", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TASK_ID));
+        assertEquals("corr-1", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.CORRELATION_ID));
+        assertEquals(30_000L, A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.TTL));
+
+        A2AMessageSerializer withoutRouting = new A2AMessageSerializer();
+        withoutRouting.configure(Map.of(A2AMessageSerializer.ROUTING_HEADERS_CONFIG, "false"), false);
+        RecordHeaders codecOnly = new RecordHeaders();
+        withoutRouting.serialize("a2a.tasks", codecOnly, command);
+        assertNull(codecOnly.lastHeader(A2AKafkaHeaders.TO));
+        assertEquals("json", A2AKafkaHeaders.get(codecOnly, A2AKafkaHeaders.CODEC));
+    }
+
+    @Test
+    void replayTimeIsReadFromTheHeaderAndCarriedOnToTheNextRecord() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] data = new A2AMessageSerializer().serialize("a2a.tasks", headers, sampleCommand());
+        assertNull(headers.lastHeader(A2AKafkaHeaders.REPLAYED_AT));
+
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.REPLAYED_AT, "1748779200000");
+        A2AMessageEnvelope replayed = new A2AMessageDeserializer().deserialize("a2a.tasks", headers, data);
+        assertEquals(Instant.ofEpochMilli(1_748_779_200_000L), replayed.getReplayedAt());
+
+        RecordHeaders retried = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.tasks.retry.1s", retried, replayed);
+        assertEquals(1_748_779_200_000L, A2AKafkaHeaders.getLong(retried, A2AKafkaHeaders.REPLAYED_AT));
+    }
+
+    @Test
+    void routingHeadersOfNullFieldsReplaceStaleValues() {
+        RecordHeaders headers = new RecordHeaders();
+        A2AKafkaHeaders.putRouting(headers, sampleCommand());
+
+        A2AMessageEnvelope event = A2AMessageBuilder.event("translator", Map.of("status", "done")).build();
+        A2AKafkaHeaders.putRouting(headers, event);
+
+        assertEquals(event.getId(), A2AKafkaHeaders.get(headers, A2AKafkaHeaders.ID));
+        assertNull(headers.lastHeader(A2AKafkaHeaders.TO));
+        assertNull(headers.lastHeader(A2AKafkaHeaders.TASK_ID));
+        assertNull(headers.lastHeader(A2AKafkaHeaders.CORRELATION_ID));
+    }
+
+    @Test
+    void binaryWritesCanonicalUuidIdsCompactly() throws Exception {
+        A2AMessageEnvelope envelope = A2AMessageBuilder
+                .reply("translator", "5d3b1f0e-8c1a-4a6e-9f0e-3f7c2b9d8a41", Map.of("status", "done"))
+                .correlationId("0B6F9A3C-2D4E-4F1A-8B7C-6E5D4C3B2A19")
+                .build();
+        BinaryEnvelopeCodec codec = new BinaryEnvelopeCodec();
+
+        A2AMessageEnvelope decoded = codec.decode(codec.encode(envelope));
+
+        assertEquals(envelope.getId(), decoded.getId());
+        assertEquals("5d3b1f0e-8c1a-4a6e-9f0e-3f7c2b9d8a41", decoded.getTaskId());
+        // Non-canonical (uppercase) IDs are kept as strings so they round-trip unchanged
+        assertEquals("0B6F9A3C-2D4E-4F1A-8B7C-6E5D4C3B2A19", decoded.getCorrelationId());
+        assertTrue(BinaryEnvelopeCodec.isCanonicalUuid(envelope.getId()));
+        assertFalse(BinaryEnvelopeCodec.isCanonicalUuid(envelope.getCorrelationId()));
+    }
+
+    @Test
+    void converterSetsTheContentTypeOfTheCodecUsed() {
+        A2AMessageSerializer binary = new A2AMessageSerializer();
+        binary.configure(Map.of(A2AMessageSerializer.CODEC_CONFIG, "binary"), false);
+        MessageHeaders inbound = new MessageHeaders(Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON));
+
+        Message<?> binaryMessage = new A2AEnvelopeMessageConverter(binary, new A2AMessageDeserializer())
+                .toMessage(sampleCommand(), inbound);
+        Message<?> jsonMessage = new A2AEnvelopeMessageConverter(new A2AMessageSerializer(), new A2AMessageDeserializer())
+                .toMessage(sampleCommand(), null);
+
+        assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, binaryMessage.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, jsonMessage.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    }
+}
@@ -0,0 +1,107 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import com.a2a.kafka.core.payload.TranslationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyPayloadTest {
+
+    private static final String RAW = "{\"id\":\"msg-1\",\"type\":\"command\",\"from\":\"orchestrator\",\"to\":\"summarizer\","
+            + "\"method\":\"summarize\",\"payload\":{ \"text\" : \"Long document\",  \"length_hint\":\"short\" },"
+            + "\"timestamp\":\"2025-01-02T03:04:05Z\",\"ttl\":60000,\"extra\":{\"ignored\":[1,2]}}";
+
+    @Test
+    void routingFieldsAreReadWithoutDecodingPayload() throws Exception {
+        A2AMessageEnvelope envelope = new JsonEnvelopeCodec(true).decode(RAW.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("msg-1", envelope.getId());
+        assertEquals(MessageType.COMMAND, envelope.getType());
+        assertEquals("summarizer", envelope.getTo());
+        assertEquals("summarize", envelope.getMethod());
+        assertEquals(60_000L, envelope.getTtl());
+        assertTrue(envelope.isPayloadUndecoded());
+        assertTrue(envelope.hasPayload());
+
+        assertEquals("Long document", ((Map<?, ?>) envelope.getPayload()).get("text"));
+        assertFalse(envelope.isPayloadUndecoded());
+    }
+
+    @Test
+    void undecodedPayloadIsReEmittedVerbatim() throws Exception {
+        JsonEnvelopeCodec codec = new JsonEnvelopeCodec(true);
+        A2AMessageEnvelope input = codec.decode(RAW.getBytes(StandardCharsets.UTF_8));
+
+        A2AMessageEnvelope forwarded = A2AMessageBuilder.create()
+                .type(MessageType.EVENT)
+                .from("processor")
+                .payloadFrom(input)
+                .build();
+        String json = new String(codec.encode(forwarded), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"payload\":{ \"text\" : \"Long document\",  \"length_hint\":\"short\" }"), json);
+        A2AMessageEnvelope roundTrip = new JsonEnvelopeCodec().decode(json.getBytes(StandardCharsets.UTF_8));
+        assertEquals("processor", roundTrip.getFrom());
+        assertEquals("short", ((Map<?, ?>) roundTrip.getPayload()).get("length_hint"));
+    }
+
+    @Test
+    void undecodedPayloadBytesAreCopiedUnchanged() throws Exception {
+        A2AMessageEnvelope envelope = A2AMessageBuilder
+                .command("orchestrator", "translator", "translate",
+                        A2AMessageBuilder.Payloads.translationRequest("Gr\u00fc\u00dfe \ud83d\udc4b", "ja"))
+                .correlationId("corr-1")
+                .build();
+        byte[] encoded = new JsonEnvelopeCodec().encode(envelope);
+
+        JsonEnvelopeCodec lazy = new JsonEnvelopeCodec(true);
+        A2AMessageEnvelope decoded = lazy.decode(encoded);
+        byte[] reEncoded = lazy.encode(decoded);
+
+        assertTrue(decoded.isPayloadUndecoded());
+        assertArrayEquals(encoded, reEncoded);
+    }
+
+    @Test
+    void scalarAndArrayPayloadsAreSlicedCorrectly() throws Exception {
+        JsonEnvelopeCodec codec = new JsonEnvelopeCodec(true);
+        for (Object payload : List.of("plain text", 42, List.of("a", "b"))) {
+            A2AMessageEnvelope envelope = A2AMessageBuilder.event("tester", payload).build();
+            A2AMessageEnvelope decoded = codec.decode(new JsonEnvelopeCodec().encode(envelope));
+
+            assertEquals(payload, decoded.getPayload());
+        }
+    }
+
+    @Test
+    void binaryCodecKeepsPayloadLazyAndVerbatim() throws Exception {
+        A2AMessageEnvelope envelope = A2AMessageBuilder
+                .command("orchestrator", "translator", "translate", A2AMessageBuilder.Payloads.translationRequest("Hi", "de"))
+                .build();
+        byte[] encoded = new BinaryEnvelopeCodec().encode(envelope);
+
+        BinaryEnvelopeCodec lazy = new BinaryEnvelopeCodec(true);
+        A2AMessageEnvelope decoded = lazy.decode(encoded);
+
+        assertTrue(decoded.isPayloadUndecoded());
+        assertArrayEquals(encoded, lazy.encode(decoded));
+        assertEquals(new TranslationRequest("Hi", "de"), decoded.getPayload());
+    }
+
+    @Test
+    void deserializerHonoursLazyPayloadConfig() {
+        A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+        deserializer.configure(Map.of(A2AMessageDeserializer.LAZY_PAYLOAD_CONFIG, "true"), false);
+
+        A2AMessageEnvelope envelope = deserializer.deserialize("a2a.tasks", RAW.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(envelope.isPayloadUndecoded());
+    }
+}
@@ -0,0 +1,99 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCompressionTest {
+
+    private static final String DOCUMENT = "The quick brown fox jumps over the lazy dog. ".repeat(400);
+
+    private A2AMessageEnvelope largeCommand() {
+        return A2AMessageBuilder
+                .command("orchestrator", "summarizer", "summarize", Map.of("text", DOCUMENT, "length_hint", "short"))
+                .build();
+    }
+
+    private A2AMessageSerializer serializer(String codec, String compression) {
+        A2AMessageSerializer serializer = new A2AMessageSerializer();
+        serializer.configure(Map.of(
+                A2AMessageSerializer.CODEC_CONFIG, codec,
+                A2AMessageSerializer.PAYLOAD_COMPRESSION_CONFIG, compression,
+                A2AMessageSerializer.PAYLOAD_COMPRESSION_THRESHOLD_CONFIG, "1024"), false);
+        return serializer;
+    }
+
+    @Test
+    void largePayloadsRoundTripCompressedWithEveryCodecAndAlgorithm() {
+        for (String codec : new String[]{"json", "binary"}) {
+            for (String compression : new String[]{"zstd", "lz4"}) {
+                RecordHeaders headers = new RecordHeaders();
+                byte[] compressed = serializer(codec, compression).serialize("a2a.tasks", headers, largeCommand());
+                byte[] plain = new A2AMessageSerializer().serialize("a2a.tasks", largeCommand());
+
+                assertEquals(compression, A2AKafkaHeaders.get(headers, A2AKafkaHeaders.PAYLOAD_COMPRESSION));
+                assertTrue(compressed.length < plain.length / 4, codec + "/" + compression + ": " + compressed.length);
+
+                A2AMessageEnvelope decoded = new A2AMessageDeserializer().deserialize("a2a.tasks", headers, compressed);
+                assertEquals("summarize", decoded.getMethod());
+                assertEquals(DOCUMENT, ((Map<?, ?>) decoded.getPayload()).get("text"));
+            }
+        }
+    }
+
+    @Test
+    void smallPayloadsStayUncompressed() {
+        A2AMessageEnvelope event = A2AMessageBuilder.event("translator", Map.of("status", "UP")).build();
+        RecordHeaders headers = new RecordHeaders();
+
+        byte[] data = serializer("json", "zstd").serialize("a2a.events", headers, event);
+
+        assertNull(headers.lastHeader(A2AKafkaHeaders.PAYLOAD_COMPRESSION));
+        assertTrue(new String(data, StandardCharsets.UTF_8).contains("\"payload\":{\"status\":\"UP\"}"));
+    }
+
+    @Test
+    void lazyCompressedPayloadIsForwardedWithoutDecompression() throws Exception {
+        for (String codec : new String[]{"json", "binary"}) {
+            byte[] data = serializer(codec, "zstd").serialize("a2a.tasks", largeCommand());
+            A2AMessageDeserializer deserializer = new A2AMessageDeserializer();
+            deserializer.configure(Map.of(A2AMessageDeserializer.LAZY_PAYLOAD_CONFIG, "true"), false);
+            A2AMessageEnvelope input = deserializer.deserialize("a2a.tasks", data);
+
+            assertTrue(input.isPayloadUndecoded());
+            assertTrue(input.getLazyPayload().isCompressed());
+
+            // Relay through the other codec without touching the payload
+            A2AMessageEnvelope forwarded = A2AMessageBuilder.create()
+                    .type(input.getType())
+                    .from("processor")
+                    .payloadFrom(input)
+                    .build();
+            RecordHeaders headers = new RecordHeaders();
+            String target = "json".equals(codec) ? "binary" : "json";
+            byte[] relayed = serializer(target, "none").serialize("a2a.tasks", headers, forwarded);
+
+            assertTrue(input.isPayloadUndecoded());
+            assertEquals("zstd", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.PAYLOAD_COMPRESSION));
+            A2AMessageEnvelope decoded = new A2AMessageDeserializer().deserialize("a2a.tasks", headers, relayed);
+            assertEquals(DOCUMENT, ((Map<?, ?>) decoded.getPayload()).get("text"));
+        }
+    }
+
+    @Test
+    void corruptCompressedPayloadFailsOnAccess() throws Exception {
+        JsonEnvelopeCodec codec = new JsonEnvelopeCodec(false, new PayloadCompressor(PayloadCompression.LZ4, 0));
+        String json = new String(codec.encode(largeCommand()), StandardCharsets.UTF_8)
+                .replaceFirst("\"length\":\\d+", "\"length\":12");
+
+        A2AMessageEnvelope lazy = new JsonEnvelopeCodec(true).decode(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(java.io.UncheckedIOException.class, lazy::getPayload);
+    }
+}
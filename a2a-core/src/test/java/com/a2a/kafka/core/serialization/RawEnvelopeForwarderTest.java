@@ -0,0 +1,61 @@
+package com.a2a.kafka.core.serialization;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawEnvelopeForwarderTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-02T03:04:05Z"), ZoneOffset.UTC);
+
+    @Test
+    void stampsForwardingHeadersAndKeepsRoutingHeaders() {
+        A2AMessageEnvelope event = A2AMessageBuilder.event("translator", Map.of("status", "UP")).build();
+        RecordHeaders headers = new RecordHeaders();
+        new A2AMessageSerializer().serialize("a2a.events", headers, event);
+
+        RawEnvelopeForwarder forwarder = new RawEnvelopeForwarder("relay-1", 3, clock);
+        assertTrue(forwarder.stamp(headers));
+        assertTrue(forwarder.stamp(headers));
+
+        assertEquals(2L, A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.HOPS));
+        assertEquals("relay-1", A2AKafkaHeaders.get(headers, A2AKafkaHeaders.FORWARDED_BY));
+        assertEquals(clock.millis(), A2AKafkaHeaders.getLong(headers, A2AKafkaHeaders.FORWARDED_AT));
+        assertEquals(event.getId(), A2AKafkaHeaders.get(headers, A2AKafkaHeaders.ID));
+        assertEquals(1, StreamSupport.stream(headers.headers(A2AKafkaHeaders.HOPS).spliterator(), false).count());
+    }
+
+    @Test
+    void rejectsRecordsAtTheHopLimit() {
+        RawEnvelopeForwarder forwarder = new RawEnvelopeForwarder("relay-1", 1, clock);
+        RecordHeaders headers = new RecordHeaders();
+        assertTrue(forwarder.stamp(headers));
+        assertFalse(forwarder.stamp(headers));
+    }
+
+    @Test
+    void forwardedMessageSharesThePayloadBytes() {
+        byte[] value = "{\"id\":\"m-1\"}".getBytes();
+        Message<byte[]> message = MessageBuilder.withPayload(value)
+                .setHeader(A2AKafkaHeaders.HOPS, "4".getBytes())
+                .build();
+
+        Message<byte[]> forwarded = new RawEnvelopeForwarder("relay-1", 16, clock).forward(message);
+
+        assertNotNull(forwarded);
+        assertSame(value, forwarded.getPayload());
+        assertArrayEquals("5".getBytes(), (byte[]) forwarded.getHeaders().get(A2AKafkaHeaders.HOPS));
+        assertArrayEquals("relay-1".getBytes(), (byte[]) forwarded.getHeaders().get(A2AKafkaHeaders.FORWARDED_BY));
+    }
+}
@@ -0,0 +1,94 @@
+package com.a2a.kafka.core.validation;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.message.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class A2AMessageValidatorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final A2AMessageValidator validator = new A2AMessageValidator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private A2AMessageEnvelope command() {
+        return A2AMessageBuilder.command("orchestrator", "translator", "translate", Map.of("text", "Hi"))
+                .timestamp(NOW.minusSeconds(5))
+                .build();
+    }
+
+    @Test
+    void validMessagesShareOneResult() {
+        A2AMessageValidator.ValidationResult first = validator.validate(command());
+        A2AMessageValidator.ValidationResult second = validator.validate(command());
+
+        assertTrue(first.isValid());
+        assertSame(first, second);
+        assertTrue(first.getErrors().isEmpty());
+    }
+
+    @Test
+    void agentNamesAreCheckedCharacterByCharacter() {
+        assertTrue(validator.validate(command().withFrom("agent-1.eu_west")).isValid());
+        assertEquals("From field contains invalid characters",
+                validator.validate(command().withFrom("agent one")).getErrorsAsString());
+        assertEquals("To field contains invalid characters",
+                validator.validate(command().withTo("translator/de")).getErrorsAsString());
+        assertFalse(validator.validate(command().withTo("\u00fcbersetzer")).isValid());
+    }
+
+    @Test
+    void blankAndShortFieldsIgnoreSurroundingWhitespace() {
+        A2AMessageValidator.ValidationResult result = validator.validate(command().withId("  ab  ").withMethod("   "));
+
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().contains("Message ID must be at least 3 characters long"));
+        assertTrue(result.getErrors().contains("Command messages must specify a method"));
+        assertFalse(validator.validate(A2AMessageBuilder.event("tester", " \t ").timestamp(NOW).build()).isValid());
+    }
+
+    @Test
+    void timestampsAndTtlAreCheckedAgainstTheGivenClockReading() {
+        long now = NOW.toEpochMilli();
+        A2AMessageEnvelope ttl = command().withTtl(10_000L);
+
+        assertTrue(validator.validate(ttl, now).isValid());
+        assertEquals("Message has expired according to its TTL",
+                validator.validate(ttl, now + 10_000L).getErrorsAsString());
+        assertEquals("Message timestamp is too far in the future",
+                validator.validate(command().withTimestamp(NOW.plusSeconds(3601))).getErrorsAsString());
+        assertEquals("Message timestamp is too old (more than 24 hours)",
+                validator.validate(command().withTimestamp(NOW.minusSeconds(86_401))).getErrorsAsString());
+        assertFalse(validator.validate(command().withTimestamp(Instant.MAX)).isValid());
+    }
+
+    @Test
+    void replayedEnvelopesAgeFromTheirReplay() {
+        A2AMessageEnvelope stale = command().withTimestamp(NOW.minus(Duration.ofDays(3))).withTtl(60_000L);
+        stale.setReplayedAt(NOW.minusSeconds(30));
+
+        assertTrue(validator.validate(stale).isValid());
+        assertEquals("Message has expired according to its TTL",
+                validator.validate(stale, NOW.plusSeconds(31).toEpochMilli()).getErrorsAsString());
+        stale.setReplayedAt(null);
+        assertFalse(validator.validate(stale).isValid());
+    }
+
+    @Test
+    void missingFieldsAreAllReported() {
+        A2AMessageEnvelope empty = A2AMessageEnvelope.empty().withType(MessageType.REPLY);
+
+        A2AMessageValidator.ValidationResult result = validator.validate(empty);
+
+        assertFalse(result.isValid());
+        assertEquals(5, result.getErrors().size(), result.getErrorsAsString());
+    }
+}
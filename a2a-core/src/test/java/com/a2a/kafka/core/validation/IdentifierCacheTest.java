@@ -0,0 +1,82 @@
+package com.a2a.kafka.core.validation;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import com.a2a.kafka.core.serialization.BinaryEnvelopeCodec;
+import com.a2a.kafka.core.serialization.EnvelopeCodec;
+import com.a2a.kafka.core.serialization.JsonEnvelopeCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierCacheTest {
+
+    @Test
+    void internReturnsTheSameInstanceForEqualStrings() {
+        IdentifierCache cache = new IdentifierCache(16);
+        String first = cache.intern(new String("translator"));
+
+        assertSame(first, cache.intern(new String("translator")));
+        assertNull(cache.intern((String) null));
+    }
+
+    @Test
+    void byteLookupMatchesStringEntries() {
+        IdentifierCache cache = new IdentifierCache(16);
+        String name = cache.intern("summarizer");
+        byte[] data = "..summarizer..".getBytes(StandardCharsets.US_ASCII);
+
+        assertSame(name, cache.intern(data, 2, 10));
+    }
+
+    @Test
+    void nonAsciiAndLongIdentifiersAreDecodedButNotCached() {
+        IdentifierCache cache = new IdentifierCache(16);
+        byte[] nonAscii = "agent-\u00fc".getBytes(StandardCharsets.UTF_8);
+        byte[] tooLong = "a".repeat(IdentifierCache.MAX_LENGTH + 1).getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("agent-\u00fc", cache.intern(nonAscii, 0, nonAscii.length));
+        assertNotSame(cache.intern(nonAscii, 0, nonAscii.length), cache.intern(nonAscii, 0, nonAscii.length));
+        assertNotSame(cache.intern(tooLong, 0, tooLong.length), cache.intern(tooLong, 0, tooLong.length));
+    }
+
+    @Test
+    void collidingIdentifiersReplaceEachOther() {
+        IdentifierCache cache = new IdentifierCache(1);
+
+        assertEquals("translator", cache.intern("translator"));
+        assertEquals("summarizer", cache.intern("summarizer"));
+        assertTrue(cache.isValidAgentName("translator"));
+        assertFalse(cache.isValidAgentName("bad name"));
+        assertFalse(cache.isValidAgentName("bad name"));
+    }
+
+    @Test
+    void agentNameValidityMatchesUncachedCheck() {
+        IdentifierCache cache = new IdentifierCache(64);
+        for (String name : new String[]{"translator", "agent_1.v2", "a-b", "", "with space", "x".repeat(100)}) {
+            assertEquals(ValidationRules.isAgentName(name), cache.isValidAgentName(name), name);
+            assertEquals(ValidationRules.isAgentName(name), cache.isValidAgentName(name), name);
+        }
+    }
+
+    @Test
+    void codecsShareIdentifierInstancesAcrossDecodedEnvelopes() throws Exception {
+        for (EnvelopeCodec codec : new EnvelopeCodec[]{
+                new JsonEnvelopeCodec(), new JsonEnvelopeCodec(true), new BinaryEnvelopeCodec()}) {
+            byte[] data = codec.encode(A2AMessageBuilder
+                    .command("orchestrator", "translator", "translate", Map.of("text", "hi"))
+                    .build());
+
+            A2AMessageEnvelope first = codec.decode(data);
+            A2AMessageEnvelope second = codec.decode(data);
+
+            assertSame(first.getFrom(), second.getFrom(), codec.name());
+            assertSame(first.getTo(), second.getTo(), codec.name());
+            assertSame(first.getMethod(), second.getMethod(), codec.name());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.a2a.kafka.core.validation;
+
+import com.a2a.kafka.core.builder.A2AMessageBuilder;
+import com.a2a.kafka.core.message.A2AMessageEnvelope;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationPipelinesTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private static final ValidationRule TENANT_HEADER = ValidationRule.of("tenant-header", (envelope, now, errors) ->
+            envelope.getHeaders() != null && envelope.getHeaders().containsKey("tenant")
+                    ? errors
+                    : ValidationRule.addError(errors, "Tenant header is required"));
+
+    private A2AMessageEnvelope command() {
+        return A2AMessageBuilder.command("orchestrator", "translator", "translate", Map.of("text", "Hi"))
+                .timestamp(NOW.minusSeconds(5))
+                .build();
+    }
+
+    private ValidationPipelines pipelines(SimpleMeterRegistry registry) {
+        Map<String, ValidationRule> rules = ValidationRules.builtInRules();
+        rules.put(TENANT_HEADER.name(), TENANT_HEADER);
+        return new ValidationPipelines(rules,
+                Map.of("edge", List.of("required-fields", "tenant-header")),
+                ValidationRules.STRICT,
+                Map.of("registryUpdates-in-0", ValidationRules.INTERNAL, "ingress-in-0", "edge"),
+                registry, CLOCK);
+    }
+
+    @Test
+    void bindingsUseTheirRuleSetAndOthersTheDefault() {
+        ValidationPipelines pipelines = pipelines(null);
+        A2AMessageEnvelope badName = command().withFrom("orchestrator one").withTimestamp(NOW.minusSeconds(90_000));
+
+        assertEquals(List.of("required-fields", "message-type"),
+                pipelines.forBinding("registryUpdates-in-0").getRuleNames());
+        assertTrue(pipelines.forBinding("registryUpdates-in-0").validate(badName).isValid());
+        assertEquals(2, pipelines.forBinding("processAgentTasks-in-0").validate(badName).getErrors().size());
+        assertSame(pipelines.getDefault(), pipelines.forBinding("processAgentTasks-in-0"));
+        assertEquals("Tenant header is required",
+                pipelines.forBinding("ingress-in-0").validate(command()).getErrorsAsString());
+        assertTrue(pipelines.forRuleSet(ValidationRules.NONE).validate(A2AMessageEnvelope.empty()).isValid());
+    }
+
+    @Test
+    void unknownNamesFailWhenCompiling() {
+        assertThrows(IllegalArgumentException.class, () -> new ValidationPipelines(ValidationRules.builtInRules(),
+                Map.of("edge", List.of("no-such-rule")), ValidationRules.STRICT, Map.of(), null, CLOCK));
+        assertThrows(IllegalArgumentException.class, () -> new ValidationPipelines(ValidationRules.builtInRules(),
+                Map.of(), ValidationRules.STRICT, Map.of("tasks-in-0", "lenient"), null, CLOCK));
+    }
+
+    @Test
+    void eachRuleRecordsItsTimeAndFailures() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationPipeline strict = pipelines(registry).forRuleSet(ValidationRules.STRICT);
+
+        assertSame(A2AMessageValidator.ValidationResult.valid(), strict.validate(command()));
+        assertFalse(strict.validate(command().withTo("translator/de").withMethod(" ")).isValid());
+
+        for (String rule : strict.getRuleNames()) {
+            assertEquals(2, registry.get(ValidationPipeline.RULE_TIMER)
+                    .tags("rule", rule, "rule-set", ValidationRules.STRICT).timer().count(), rule);
+        }
+        assertEquals(1.0, registry.get(ValidationPipeline.RULE_FAILURES)
+                .tags("rule", "field-formats", "rule-set", ValidationRules.STRICT).counter().count());
+        assertEquals(1.0, registry.get(ValidationPipeline.RULE_FAILURES)
+                .tags("rule", "message-type", "rule-set", ValidationRules.STRICT).counter().count());
+        assertEquals(0.0, registry.get(ValidationPipeline.RULE_FAILURES)
+                .tags("rule", "timestamps", "rule-set", ValidationRules.STRICT).counter().count());
+    }
+}
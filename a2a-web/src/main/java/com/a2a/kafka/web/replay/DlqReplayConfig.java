@@ -0,0 +1,81 @@
+package com.a2a.kafka.web.replay;
+
+import com.a2a.kafka.agents.config.AgentConfigurationService;
+import com.a2a.kafka.core.config.A2ASystemProperties;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class DlqReplayConfig {
+
+    static final String PRODUCER_FACTORY = "dlqReplayProducerFactory";
+    static final String EXECUTOR = "dlqReplayExecutor";
+
+    /**
+     * Writes replayed records as raw bytes; closed with the context. Not a default candidate, so the
+     * auto-configured Kafka producer factory and template do not back off.
+     */
+    @Bean(name = PRODUCER_FACTORY, destroyMethod = "destroy", defaultCandidate = false)
+    public DefaultKafkaProducerFactory<byte[], byte[]> dlqReplayProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> producerProperties = kafkaProperties.buildProducerProperties(null);
+        producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(producerProperties);
+    }
+
+    /**
+     * Runs replays; replays still running at shutdown are interrupted rather than waited for. Not a default
+     * candidate, so the auto-configured application task executor does not back off.
+     */
+    @Bean(name = EXECUTOR, destroyMethod = "shutdownNow", defaultCandidate = false)
+    public ExecutorService dlqReplayExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Reads dead-letter records and writes them back as raw bytes, so nothing is decoded or re-encoded.
+     * The consumer has no group: partitions are assigned directly and offsets never committed.
+     */
+    @Bean
+    public DlqReplayService dlqReplayService(A2ASystemProperties properties, AgentConfigurationService agents,
+                                             KafkaProperties kafkaProperties,
+                                             @Qualifier(PRODUCER_FACTORY)
+                                             DefaultKafkaProducerFactory<byte[], byte[]> producerFactory,
+                                             @Qualifier(EXECUTOR) ExecutorService executor) {
+        Map<String, Object> consumerProperties = kafkaProperties.buildConsumerProperties(null);
+        consumerProperties.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        consumerProperties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumerProperties.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProperties.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        KafkaTemplate<byte[], byte[]> template = new KafkaTemplate<>(producerFactory);
+
+        A2ASystemProperties.ReplayConfiguration replay = properties.getReplay();
+        return new DlqReplayService(
+                () -> new KafkaConsumer<>(consumerProperties),
+                record -> template.send(record).get(replay.getSendTimeout().toMillis(),
+                        TimeUnit.MILLISECONDS),
+                properties.getProcessing().getDlqDestination(),
+                properties.getTopics().getTasks(),
+                agents.maxConcurrentByAgent(),
+                replay.getRatePerSlot(),
+                replay.getPollTimeout(),
+                replay.getRetainedReplays(),
+                executor);
+    }
+}
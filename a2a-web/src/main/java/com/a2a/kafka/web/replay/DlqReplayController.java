@@ -0,0 +1,50 @@
+package com.a2a.kafka.web.replay;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(path = "/dlq/replay", produces = MediaType.APPLICATION_JSON_VALUE)
+public class DlqReplayController {
+
+    private final DlqReplayService service;
+
+    public DlqReplayController(DlqReplayService service) {
+        this.service = service;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ReplayProgress> start(@RequestBody ReplayRequest request) {
+        try {
+            return ResponseEntity.accepted().body(service.start(request));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping
+    public List<ReplayProgress> list() {
+        return service.list();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReplayProgress> get(@PathVariable("id") String id) {
+        return ResponseEntity.ofNullable(service.get(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReplayProgress> cancel(@PathVariable("id") String id) {
+        return ResponseEntity.ofNullable(service.cancel(id));
+    }
+}
@@ -0,0 +1,383 @@
+package com.a2a.kafka.web.replay;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Reinjects records from a dead-letter topic into the tasks topic. A replay reads every partition from a
+ * start offset or time up to an end offset or time, fixed when it starts, so records dead-lettered again
+ * during the replay are not picked up. Records are filtered on their headers and forwarded with their
+ * original key, value and A2A headers, byte for byte; the dead-letter headers are dropped so that a task
+ * failing again is dead-lettered afresh. Each carries {@link A2AKafkaHeaders#REPLAYED_AT}, from which
+ * validation counts the age and TTL of the task, so that a task older than its TTL can still be replayed.
+ *
+ * <p>Reinjection is throttled per target agent by a token bucket holding {@code max-concurrent} tokens
+ * and refilled at {@code max-concurrent * ratePerSlot} per second, so a replay cannot bury an agent
+ * under more tasks than it can run. Agents without a known limit get one slot.
+ */
+public class DlqReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(DlqReplayService.class);
+
+    private static final String DLT_HEADER_PREFIX = "kafka_dlt-";
+
+    /**
+     * Where replayed records go; normally a producer.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        /**
+         * Sends the record, returning once the broker has acknowledged it.
+         */
+        void send(ProducerRecord<byte[], byte[]> record) throws Exception;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final Supplier<Consumer<byte[], byte[]>> consumers;
+    private final Sink sink;
+    private final String defaultTopic;
+    private final String defaultTarget;
+    private final Map<String, Integer> capacities;
+    private final double ratePerSlot;
+    private final Duration pollTimeout;
+    private final int retainedReplays;
+    private final Executor executor;
+    private final LongSupplier nanoTime;
+    private final Sleeper sleeper;
+    private final Clock clock;
+    private final Map<String, TokenBucket> agentBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * @param consumers     creates a consumer for each replay; it is assigned partitions directly and never commits
+     * @param sink          sends replayed records
+     * @param defaultTopic  dead-letter topic read when the request does not name one
+     * @param defaultTarget topic replayed into when the request does not name one
+     * @param capacities    max-concurrent tasks per agent name
+     * @param ratePerSlot   records per second for each max-concurrent slot
+     * @param pollTimeout     how long one poll of the dead-letter topic waits for records
+     * @param retainedReplays finished replays whose progress is kept
+     * @param executor        runs replays
+     */
+    public DlqReplayService(Supplier<Consumer<byte[], byte[]>> consumers, Sink sink, String defaultTopic,
+                            String defaultTarget, Map<String, Integer> capacities, double ratePerSlot,
+                            Duration pollTimeout, int retainedReplays, Executor executor) {
+        this(consumers, sink, defaultTopic, defaultTarget, capacities, ratePerSlot, pollTimeout, retainedReplays,
+                executor, System::nanoTime, TimeUnit.NANOSECONDS::sleep, Clock.systemUTC());
+    }
+
+    DlqReplayService(Supplier<Consumer<byte[], byte[]>> consumers, Sink sink, String defaultTopic,
+                     String defaultTarget, Map<String, Integer> capacities, double ratePerSlot,
+                     Duration pollTimeout, int retainedReplays, Executor executor, LongSupplier nanoTime,
+                     Sleeper sleeper, Clock clock) {
+        if (ratePerSlot <= 0) {
+            throw new IllegalArgumentException("ratePerSlot must be positive");
+        }
+        this.consumers = consumers;
+        this.sink = sink;
+        this.defaultTopic = defaultTopic;
+        this.defaultTarget = defaultTarget;
+        this.capacities = Map.copyOf(capacities);
+        this.ratePerSlot = ratePerSlot;
+        this.pollTimeout = pollTimeout;
+        this.retainedReplays = retainedReplays;
+        this.executor = executor;
+        this.nanoTime = nanoTime;
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a replay in the background.
+     *
+     * @return its progress when started
+     */
+    public ReplayProgress start(ReplayRequest request) {
+        Job job = new Job(UUID.randomUUID().toString(), request,
+                blankToDefault(request.topic(), defaultTopic), blankToDefault(request.target(), defaultTarget),
+                clock.instant());
+        if (job.topic.equals(job.target)) {
+            throw new IllegalArgumentException("Cannot replay " + job.topic + " into itself");
+        }
+        jobs.put(job.id, job);
+        executor.execute(() -> run(job));
+        return job.progress();
+    }
+
+    /**
+     * @return progress of the replay, or null if there is no such replay
+     */
+    public ReplayProgress get(String id) {
+        Job job = jobs.get(id);
+        return job == null ? null : job.progress();
+    }
+
+    /**
+     * @return progress of the running replays and the last finished ones, oldest first
+     */
+    public List<ReplayProgress> list() {
+        return jobs.values().stream()
+                .map(Job::progress)
+                .sorted(Comparator.comparing(ReplayProgress::startedAt))
+                .toList();
+    }
+
+    /**
+     * Asks a running replay to stop after the record in hand.
+     *
+     * @return its progress, or null if there is no such replay
+     */
+    public ReplayProgress cancel(String id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return null;
+        }
+        job.cancelled = true;
+        return job.progress();
+    }
+
+    private void run(Job job) {
+        log.info("Replay {} started from {} to {}", job.id, job.topic, job.target);
+        try (Consumer<byte[], byte[]> consumer = consumers.get()) {
+            replay(job, consumer);
+            job.finish(job.cancelled ? ReplayProgress.Status.CANCELLED : ReplayProgress.Status.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ReplayProgress.Status.CANCELLED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Replay {} from {} failed", job.id, job.topic, e);
+            job.finish(ReplayProgress.Status.FAILED, e.getMessage());
+        }
+        log.info("Replay {} {}: scanned {}, replayed {}, skipped {}, failed {}", job.id, job.status,
+                job.scanned, job.replayed, job.skipped, job.failed);
+        forgetOldReplays();
+    }
+
+    /**
+     * Drops the progress of the oldest finished replays beyond {@code retainedReplays}.
+     */
+    private void forgetOldReplays() {
+        List<Job> finished = jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing((Job job) -> job.finishedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedReplays; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private void replay(Job job, Consumer<byte[], byte[]> consumer) throws InterruptedException {
+        ReplayRequest request = job.request;
+        List<TopicPartition> partitions = consumer.partitionsFor(job.topic).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        if (partitions.isEmpty()) {
+            throw new IllegalStateException("Topic " + job.topic + " not found");
+        }
+        consumer.assign(partitions);
+        Map<TopicPartition, Long> ends = endOffsets(consumer, partitions, request);
+        seekToStart(consumer, partitions, request, ends);
+
+        Set<TopicPartition> remaining = new HashSet<>(partitions);
+        Map<String, TokenBucket> buckets = request.ratePerSecond() == null ? agentBuckets : new HashMap<>();
+        while (!job.cancelled && !drained(consumer, remaining, ends)) {
+            ConsumerRecords<byte[], byte[]> records = consumer.poll(pollTimeout);
+            for (TopicPartition partition : records.partitions()) {
+                long end = ends.get(partition);
+                for (ConsumerRecord<byte[], byte[]> record : records.records(partition)) {
+                    if (record.offset() >= end || job.cancelled) {
+                        break;
+                    }
+                    job.scanned.incrementAndGet();
+                    if (!request.matches(record.headers())) {
+                        job.skipped.incrementAndGet();
+                        continue;
+                    }
+                    String agent = A2AKafkaHeaders.get(record.headers(), A2AKafkaHeaders.TO);
+                    if (!acquire(buckets.computeIfAbsent(agent == null ? "" : agent,
+                            name -> bucket(name, request.ratePerSecond())), job)) {
+                        break;
+                    }
+                    forward(job, record);
+                }
+            }
+        }
+    }
+
+    private Map<TopicPartition, Long> endOffsets(Consumer<byte[], byte[]> consumer,
+                                                 List<TopicPartition> partitions, ReplayRequest request) {
+        Map<TopicPartition, Long> ends = new HashMap<>(consumer.endOffsets(partitions));
+        if (request.toOffset() != null) {
+            ends.replaceAll((partition, end) -> Math.min(end, request.toOffset()));
+        } else if (request.toTime() != null) {
+            offsetsForTimes(consumer, partitions, request.toTime())
+                    .forEach((partition, offset) -> ends.merge(partition, offset, Math::min));
+        }
+        return ends;
+    }
+
+    private void seekToStart(Consumer<byte[], byte[]> consumer, List<TopicPartition> partitions,
+                             ReplayRequest request, Map<TopicPartition, Long> ends) {
+        if (request.fromOffset() != null) {
+            consumer.beginningOffsets(partitions).forEach((partition, beginning) -> consumer.seek(partition,
+                    Math.min(Math.max(beginning, request.fromOffset()), ends.get(partition))));
+        } else if (request.fromTime() != null) {
+            Map<TopicPartition, Long> starts = offsetsForTimes(consumer, partitions, request.fromTime());
+            // A partition with nothing at or after fromTime has nothing to replay
+            partitions.forEach(partition -> consumer.seek(partition,
+                    Math.min(starts.getOrDefault(partition, Long.MAX_VALUE), ends.get(partition))));
+        } else {
+            consumer.seekToBeginning(partitions);
+        }
+    }
+
+    private static Map<TopicPartition, Long> offsetsForTimes(Consumer<byte[], byte[]> consumer,
+                                                             Collection<TopicPartition> partitions, Instant time) {
+        Map<TopicPartition, Long> query = new HashMap<>();
+        partitions.forEach(partition -> query.put(partition, time.toEpochMilli()));
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        consumer.offsetsForTimes(query).forEach((partition, found) -> {
+            if (found != null) {
+                offsets.put(partition, found.offset());
+            }
+        });
+        return offsets;
+    }
+
+    /**
+     * Stops fetching from partitions that have reached their end offset.
+     *
+     * @return whether every partition has
+     */
+    private static boolean drained(Consumer<byte[], byte[]> consumer, Set<TopicPartition> remaining,
+                                   Map<TopicPartition, Long> ends) {
+        Set<TopicPartition> done = new HashSet<>();
+        for (TopicPartition partition : remaining) {
+            if (consumer.position(partition) >= ends.get(partition)) {
+                done.add(partition);
+            }
+        }
+        if (!done.isEmpty()) {
+            consumer.pause(done);
+            remaining.removeAll(done);
+        }
+        return remaining.isEmpty();
+    }
+
+    private TokenBucket bucket(String agent, Double ratePerSecond) {
+        int slots = capacities.getOrDefault(agent, 1);
+        return new TokenBucket(ratePerSecond != null ? ratePerSecond : slots * ratePerSlot, slots, nanoTime);
+    }
+
+    /**
+     * Waits for a token.
+     *
+     * @return false if the replay was cancelled meanwhile
+     */
+    private boolean acquire(TokenBucket bucket, Job job) throws InterruptedException {
+        long wait;
+        while ((wait = bucket.tryTake()) > 0) {
+            if (job.cancelled) {
+                return false;
+            }
+            sleeper.sleep(wait);
+        }
+        return true;
+    }
+
+    private void forward(Job job, ConsumerRecord<byte[], byte[]> record) throws InterruptedException {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!isDeadLetterHeader(header.key())) {
+                headers.add(header);
+            }
+        }
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.REPLAYED_AT, Long.toString(clock.millis()));
+        try {
+            sink.send(new ProducerRecord<>(job.target, null, record.key(), record.value(), headers));
+            job.replayed.incrementAndGet();
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            job.failed.incrementAndGet();
+            log.warn("Replay {} could not reinject {}-{}@{}: {}", job.id, record.topic(), record.partition(),
+                    record.offset(), e.getMessage());
+        }
+    }
+
+    private static boolean isDeadLetterHeader(String name) {
+        return name.startsWith(DLT_HEADER_PREFIX)
+                || name.equals(A2AKafkaHeaders.DLQ_REASON)
+                || name.equals(A2AKafkaHeaders.RETRY_ATTEMPT)
+                || name.equals(A2AKafkaHeaders.ORIGINAL_TOPIC);
+    }
+
+    private static String blankToDefault(String value, String defaultValue) {
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private final class Job {
+        final String id;
+        final ReplayRequest request;
+        final String topic;
+        final String target;
+        final Instant startedAt;
+        final AtomicLong scanned = new AtomicLong();
+        final AtomicLong replayed = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        volatile boolean cancelled;
+        volatile ReplayProgress.Status status = ReplayProgress.Status.RUNNING;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String id, ReplayRequest request, String topic, String target, Instant startedAt) {
+            this.id = id;
+            this.request = request;
+            this.topic = topic;
+            this.target = target;
+            this.startedAt = startedAt;
+        }
+
+        void finish(ReplayProgress.Status status, String error) {
+            this.error = error;
+            this.finishedAt = clock.instant();
+            this.status = status;
+        }
+
+        ReplayProgress progress() {
+            return new ReplayProgress(id, status, topic, target, scanned.get(), replayed.get(), skipped.get(),
+                    failed.get(), startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.a2a.kafka.web.replay;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of a replay.
+ *
+ * @param scanned  records read from the dead-letter topic
+ * @param replayed records reinjected into the target topic
+ * @param skipped  records left out by the filters
+ * @param failed   records that could not be reinjected
+ * @param error    why the replay failed, if it did
+ */
+public record ReplayProgress(String id, Status status, String topic, String target, long scanned, long replayed,
+                             long skipped, long failed, Instant startedAt, Instant finishedAt, String error) {
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+}
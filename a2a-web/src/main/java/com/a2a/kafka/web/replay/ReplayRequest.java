@@ -0,0 +1,58 @@
+package com.a2a.kafka.web.replay;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.time.Instant;
+
+/**
+ * What to replay. Every field is optional.
+ *
+ * @param topic         dead-letter topic to read; defaults to {@code a2a.processing.dlq-destination}
+ * @param target        topic to reinject into; defaults to the tasks topic
+ * @param fromOffset    first offset to read in each partition
+ * @param toOffset      offset to stop before in each partition; defaults to the end offset when the replay starts
+ * @param fromTime      read records with a timestamp at or after this time; ignored with {@code fromOffset}
+ * @param toTime        stop before records with a timestamp at or after this time; ignored with {@code toOffset}
+ * @param to            only records addressed to this agent ({@code a2a_to})
+ * @param method        only records for this method ({@code a2a_method})
+ * @param reason        only records dead-lettered for this reason ({@code a2a_dlq_reason}, e.g. {@code retries-exhausted})
+ * @param exception     only records that failed with this exception class, simple or fully qualified name
+ * @param ratePerSecond records per second for each agent, instead of the rate derived from its capacity
+ */
+public record ReplayRequest(String topic, String target, Long fromOffset, Long toOffset, Instant fromTime,
+                            Instant toTime, String to, String method, String reason, String exception,
+                            Double ratePerSecond) {
+
+    public ReplayRequest {
+        if (fromOffset != null && fromOffset < 0 || toOffset != null && toOffset < 0) {
+            throw new IllegalArgumentException("Offsets cannot be negative");
+        }
+        if (ratePerSecond != null && ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+    }
+
+    /**
+     * @return whether a dead-lettered record passes the {@code to}, {@code method}, {@code reason} and
+     * {@code exception} filters, judged from its headers alone
+     */
+    boolean matches(Headers headers) {
+        return matches(to, A2AKafkaHeaders.get(headers, A2AKafkaHeaders.TO))
+                && matches(method, A2AKafkaHeaders.get(headers, A2AKafkaHeaders.METHOD))
+                && matches(reason, A2AKafkaHeaders.get(headers, A2AKafkaHeaders.DLQ_REASON))
+                && matchesException(A2AKafkaHeaders.get(headers, KafkaHeaders.DLT_EXCEPTION_FQCN));
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return expected == null || expected.isBlank() || expected.equals(actual);
+    }
+
+    private boolean matchesException(String fqcn) {
+        if (exception == null || exception.isBlank()) {
+            return true;
+        }
+        return fqcn != null && (fqcn.equals(exception) || fqcn.endsWith("." + exception));
+    }
+}
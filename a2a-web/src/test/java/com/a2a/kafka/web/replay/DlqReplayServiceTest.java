@@ -0,0 +1,175 @@
+package com.a2a.kafka.web.replay;
+
+import com.a2a.kafka.core.serialization.A2AKafkaHeaders;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DlqReplayServiceTest {
+
+    private static final String DLQ = "a2a.tasks.dlq";
+    private static final TopicPartition PARTITION = new TopicPartition(DLQ, 0);
+
+    private final MockConsumer<byte[], byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    private final List<ProducerRecord<byte[], byte[]>> sent = new ArrayList<>();
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private DlqReplayService service(Map<String, Integer> capacities, double ratePerSlot) {
+        return new DlqReplayService(() -> consumer, sent::add, DLQ, "a2a.tasks", capacities, ratePerSlot,
+                Duration.ofMillis(10), 100, Runnable::run, nanos::get, wait -> {
+                    sleeps.add(wait);
+                    nanos.addAndGet(wait);
+                }, Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneOffset.UTC));
+    }
+
+    /**
+     * Puts records addressed to the given agents at offsets 0.. of the dead-letter topic, and one more past
+     * the end offset as seen when the replay starts.
+     */
+    private void deadLetters(String reason, String... agents) {
+        consumer.updatePartitions(DLQ, List.of(new PartitionInfo(DLQ, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, (long) agents.length));
+        consumer.schedulePollTask(() -> {
+            for (int i = 0; i <= agents.length; i++) {
+                consumer.addRecord(record(i, i < agents.length ? agents[i] : "late", reason));
+            }
+        });
+    }
+
+    private static ConsumerRecord<byte[], byte[]> record(long offset, String to, String reason) {
+        RecordHeaders headers = new RecordHeaders();
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.TO, to);
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.METHOD, "translate");
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.DLQ_REASON, reason);
+        A2AKafkaHeaders.put(headers, A2AKafkaHeaders.RETRY_ATTEMPT, "4");
+        A2AKafkaHeaders.put(headers, KafkaHeaders.DLT_EXCEPTION_FQCN, "java.util.concurrent.TimeoutException");
+        return new ConsumerRecord<>(DLQ, 0, offset, 0L, TimestampType.CREATE_TIME, 0, 0,
+                ("key-" + offset).getBytes(StandardCharsets.UTF_8),
+                ("{\"offset\":" + offset + "}").getBytes(StandardCharsets.UTF_8), headers, Optional.empty());
+    }
+
+    private static ReplayRequest request(Long fromOffset, Long toOffset, String to, String exception) {
+        return new ReplayRequest(null, null, fromOffset, toOffset, null, null, to, null, null, exception, null);
+    }
+
+    @Test
+    void replaysMatchingRecordsUpToTheEndOffsetAsRawBytesWithoutDeadLetterHeaders() {
+        deadLetters("retries-exhausted", "translator", "summarizer", "translator");
+
+        service(Map.of(), 1000).start(request(null, null, "translator", "TimeoutException"));
+
+        assertEquals(List.of("key-0", "key-2"),
+                sent.stream().map(record -> new String(record.key(), StandardCharsets.UTF_8)).toList());
+        ProducerRecord<byte[], byte[]> first = sent.get(0);
+        assertEquals("a2a.tasks", first.topic());
+        assertEquals("{\"offset\":0}", new String(first.value(), StandardCharsets.UTF_8));
+        assertEquals("translator", A2AKafkaHeaders.get(first.headers(), A2AKafkaHeaders.TO));
+        assertNull(first.headers().lastHeader(A2AKafkaHeaders.DLQ_REASON));
+        assertNull(first.headers().lastHeader(A2AKafkaHeaders.RETRY_ATTEMPT));
+        assertNull(first.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN));
+        assertEquals(Instant.parse("2025-06-01T12:00:00Z").toEpochMilli(),
+                A2AKafkaHeaders.getLong(first.headers(), A2AKafkaHeaders.REPLAYED_AT));
+    }
+
+    @Test
+    void reportsProgressAndSkipCounts() {
+        deadLetters("retries-exhausted", "translator", "summarizer", "llm", "translator");
+        DlqReplayService service = service(Map.of(), 1000);
+
+        ReplayProgress progress = service.get(service.start(request(1L, 3L, null, "IllegalStateException")).id());
+
+        assertEquals(ReplayProgress.Status.COMPLETED, progress.status());
+        assertEquals(2, progress.scanned());
+        assertEquals(0, progress.replayed());
+        assertEquals(2, progress.skipped());
+        assertEquals(0, progress.failed());
+        assertEquals(List.of(progress), service.list());
+    }
+
+    @Test
+    void throttlesEachAgentToItsCapacity() {
+        deadLetters("retries-exhausted", "llm", "llm", "llm", "llm", "llm");
+
+        service(Map.of("llm", 2), 1.0).start(request(null, null, null, null));
+
+        // Two tokens up front, then one every half second
+        assertEquals(5, sent.size());
+        assertEquals(1.5e9, sleeps.stream().mapToLong(Long::longValue).sum(), 10);
+    }
+
+    @Test
+    void countsRecordsThatCannotBeReinjected() {
+        deadLetters("retries-exhausted", "translator", "summarizer");
+        DlqReplayService service = new DlqReplayService(() -> consumer, record -> {
+            throw new IllegalStateException("broker unavailable");
+        }, DLQ, "a2a.tasks", Map.of(), 1000, Duration.ofMillis(10), 100, Runnable::run);
+
+        ReplayProgress progress = service.get(service.start(request(null, null, null, null)).id());
+
+        assertEquals(ReplayProgress.Status.COMPLETED, progress.status());
+        assertEquals(2, progress.failed());
+        assertEquals(0, progress.replayed());
+    }
+
+    @Test
+    void keepsOnlyTheLastFinishedReplays() {
+        AtomicLong millis = new AtomicLong();
+        Clock ticking = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.incrementAndGet());
+            }
+        };
+        DlqReplayService service = new DlqReplayService(() -> {
+            throw new IllegalStateException("broker unavailable");
+        }, sent::add, DLQ, "a2a.tasks", Map.of(), 1000, Duration.ofMillis(10), 2, Runnable::run, nanos::get,
+                sleeps::add, ticking);
+
+        service.start(request(null, null, null, null));
+        String second = service.start(request(null, null, null, null)).id();
+        String third = service.start(request(null, null, null, null)).id();
+
+        assertEquals(List.of(second, third), service.list().stream().map(ReplayProgress::id).toList());
+        assertEquals(ReplayProgress.Status.FAILED, service.get(third).status());
+    }
+
+    @Test
+    void refusesToReplayATopicIntoItself() {
+        ReplayRequest request = new ReplayRequest(DLQ, DLQ, null, null, null, null, null, null, null, null, null);
+
+        assertThrows(IllegalArgumentException.class, () -> service(Map.of(), 1).start(request));
+    }
+}